@@ -0,0 +1,18 @@
+package com.bankapp.backend.config;
+
+import java.util.Locale;
+
+/**
+ * Isolated lanes for database work, each with its own connection pool and concurrency
+ * limit (see {@link BulkheadConfig}). Work outside any bulkhead uses the WRITE pool.
+ */
+public enum Bulkhead {
+    WRITE,        // interactive money movement and other user-initiated changes
+    READ,         // interactive read endpoints
+    BATCH,        // nightly jobs and other long-running batch work
+    MAINTENANCE;  // short periodic reloads, polls and sweeps that must not queue behind BATCH
+
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
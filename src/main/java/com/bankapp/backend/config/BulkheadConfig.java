@@ -0,0 +1,96 @@
+package com.bankapp.backend.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bulkheaded database access: one Hikari pool per {@link Bulkhead} behind a routing
+ * DataSource that picks the pool of the bulkhead the calling thread is in, so a long
+ * batch run can exhaust its own pool without starving IMPS. {@link UseBulkhead} methods
+ * are admitted by {@link Bulkheads}; that advice runs before @Transactional, so the
+ * transaction's connection comes from the right pool.
+ */
+@Configuration(proxyBeanMethods = false)
+public class BulkheadConfig {
+
+    /** The per-bulkhead pools; a separate bean so they are closed on shutdown. */
+    public static final class BulkheadPools implements AutoCloseable {
+        private final Map<Bulkhead, HikariDataSource> pools = new EnumMap<>(Bulkhead.class);
+
+        public HikariDataSource get(Bulkhead bulkhead) {
+            return pools.get(bulkhead);
+        }
+
+        @Override
+        public void close() {
+            pools.values().forEach(HikariDataSource::close);
+        }
+    }
+
+    @Bean
+    BulkheadPools bulkheadPools(BulkheadProperties properties,
+                                ObjectProvider<MeterRegistry> meterRegistry,
+                                @Value("${spring.datasource.url}") String url,
+                                @Value("${spring.datasource.username}") String username,
+                                @Value("${spring.datasource.password}") String password) {
+        var pools = new BulkheadPools();
+        for (Bulkhead bulkhead : Bulkhead.values()) {
+            var config = new HikariConfig();
+            config.setPoolName("bulkhead-" + bulkhead.tag());
+            config.setJdbcUrl(url);
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(properties.of(bulkhead).getPoolSize());
+            meterRegistry.ifAvailable(config::setMetricRegistry);
+            pools.pools.put(bulkhead, new HikariDataSource(config));
+        }
+        return pools;
+    }
+
+    @Bean
+    DataSource dataSource(BulkheadPools pools) {
+        var routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return Bulkheads.current();
+            }
+        };
+        Map<Object, Object> targets = new HashMap<>();
+        for (Bulkhead bulkhead : Bulkhead.values()) targets.put(bulkhead, pools.get(bulkhead));
+        routing.setTargetDataSources(targets);
+        // Flyway, startup work and unannotated callers
+        routing.setDefaultTargetDataSource(pools.get(Bulkhead.WRITE));
+        return routing;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor bulkheadAdvisor(ObjectProvider<Bulkheads> bulkheads) {
+        var pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(UseBulkhead.class, true))
+                .union(new AnnotationMatchingPointcut(null, UseBulkhead.class, true));
+        var advisor = new DefaultPointcutAdvisor(pointcut,
+                (MethodInterceptor) invocation -> bulkheads.getObject().invoke(invocation));
+        // outside the transaction advice, so the bulkhead is known before a connection is taken
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
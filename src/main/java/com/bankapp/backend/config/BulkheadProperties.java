@@ -0,0 +1,41 @@
+package com.bankapp.backend.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits per {@link Bulkhead} (app.bulkheads.*). Interactive bulkheads fail fast when
+ * full; the batch bulkhead queues for a long time instead, since jobs can wait. A rejected
+ * maintenance run is simply retried on its next tick, so that lane waits only briefly.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.bulkheads")
+public class BulkheadProperties {
+
+    private Limits write = new Limits(20, 120, 2_000);
+    private Limits read = new Limits(10, 60, 1_000);
+    private Limits batch = new Limits(20, 4, 600_000);
+    private Limits maintenance = new Limits(4, 4, 5_000);
+
+    public Limits of(Bulkhead bulkhead) {
+        return switch (bulkhead) {
+            case WRITE -> write;
+            case READ -> read;
+            case BATCH -> batch;
+            case MAINTENANCE -> maintenance;
+        };
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limits {
+        private int poolSize;        // connections in this bulkhead's Hikari pool
+        private int maxConcurrent;   // callers running inside the bulkhead at once
+        private long maxWaitMs;      // how long a caller queues for a slot before it is rejected
+    }
+}
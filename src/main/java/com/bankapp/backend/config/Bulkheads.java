@@ -0,0 +1,116 @@
+package com.bankapp.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for {@link UseBulkhead} methods. Each bulkhead has a fair semaphore
+ * of {@code maxConcurrent} slots; callers queue for up to {@code maxWaitMs} and are then
+ * rejected, so a saturated bulkhead cannot tie up the request threads of the others.
+ * The bulkhead of the running call is kept in a thread local, which
+ * {@link BulkheadConfig} uses to pick the connection pool.
+ * <p>
+ * Meters, tagged by bulkhead: bulkhead.active, bulkhead.queued, bulkhead.utilisation
+ * (active / maxConcurrent), bulkhead.wait and bulkhead.rejected. Pool usage shows up as
+ * hikaricp.* with pool=bulkhead-&lt;name&gt;.
+ */
+@Component
+public class Bulkheads {
+
+    private static final ThreadLocal<Bulkhead> CURRENT = new ThreadLocal<>();
+
+    private record Lane(Semaphore slots, long maxWaitMs, Timer wait, Counter rejected) {}
+
+    private final Map<Bulkhead, Lane> lanes = new EnumMap<>(Bulkhead.class);
+    private final Map<Method, Bulkhead> resolved = new ConcurrentHashMap<>();
+
+    public Bulkheads(BulkheadProperties properties, MeterRegistry registry) {
+        for (Bulkhead bulkhead : Bulkhead.values()) {
+            var limits = properties.of(bulkhead);
+            int max = limits.getMaxConcurrent();
+            var slots = new Semaphore(max, true);
+            String tag = bulkhead.tag();
+            Gauge.builder("bulkhead.active", slots, s -> max - s.availablePermits())
+                    .tag("bulkhead", tag).register(registry);
+            Gauge.builder("bulkhead.queued", slots, Semaphore::getQueueLength)
+                    .tag("bulkhead", tag).register(registry);
+            Gauge.builder("bulkhead.utilisation", slots, s -> (double) (max - s.availablePermits()) / max)
+                    .tag("bulkhead", tag).register(registry);
+            lanes.put(bulkhead, new Lane(slots, limits.getMaxWaitMs(),
+                    Timer.builder("bulkhead.wait").tag("bulkhead", tag).register(registry),
+                    Counter.builder("bulkhead.rejected").tag("bulkhead", tag).register(registry)));
+        }
+    }
+
+    /** The bulkhead the current thread is running in, or null outside any bulkhead. */
+    public static Bulkhead current() {
+        return CURRENT.get();
+    }
+
+    /** Wraps a task handed to another thread so it runs in the caller's bulkhead. */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        Bulkhead bulkhead = CURRENT.get();
+        return () -> {
+            Bulkhead previous = CURRENT.get();
+            CURRENT.set(bulkhead);
+            try {
+                return task.call();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    Object invoke(MethodInvocation invocation) throws Throwable {
+        // nested calls run in the caller's bulkhead on the slot (and connection) it already holds
+        if (CURRENT.get() != null) return invocation.proceed();
+
+        Bulkhead bulkhead = resolved.computeIfAbsent(invocation.getMethod(), m -> resolve(invocation));
+        Lane lane = lanes.get(bulkhead);
+        long start = System.nanoTime();
+        boolean admitted;
+        try {
+            admitted = lane.slots().tryAcquire(lane.maxWaitMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for the " + bulkhead.tag() + " bulkhead", e);
+        }
+        lane.wait().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!admitted) {
+            lane.rejected().increment();
+            throw new RuntimeException("Service busy (" + bulkhead.tag() + " bulkhead full), please retry");
+        }
+
+        CURRENT.set(bulkhead);
+        try {
+            return invocation.proceed();
+        } finally {
+            CURRENT.remove();
+            lane.slots().release();
+        }
+    }
+
+    private static Bulkhead resolve(MethodInvocation invocation) {
+        Class<?> target = invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis())
+                : invocation.getMethod().getDeclaringClass();
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), target);
+        UseBulkhead annotation = AnnotatedElementUtils.findMergedAnnotation(method, UseBulkhead.class);
+        if (annotation == null) annotation = AnnotatedElementUtils.findMergedAnnotation(target, UseBulkhead.class);
+        return annotation != null ? annotation.value() : Bulkhead.WRITE;
+    }
+}
@@ -0,0 +1,42 @@
+package com.bankapp.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Velocity rules for card spends (app.fraud.*). A rule trips when the attempts in its
+ * window, including the current one, exceed maxCount or maxAmount.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.fraud")
+public class FraudProperties {
+
+    private boolean enabled = true;
+
+    // upper bound on cards + merchants tracked in memory; least recently used are evicted
+    private long maxTrackedKeys = 200_000;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    public enum Scope { CARD, MERCHANT }
+
+    public enum Window { MINUTE, HOUR, DAY }
+
+    public enum Action { STEP_UP, DECLINE }
+
+    @Data
+    public static class Rule {
+        private String name;
+        private Scope scope = Scope.CARD;
+        private Window window = Window.MINUTE;
+        private Integer maxCount;       // optional
+        private BigDecimal maxAmount;   // optional
+        private Action action = Action.DECLINE;
+    }
+}
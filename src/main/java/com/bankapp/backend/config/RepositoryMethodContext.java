@@ -0,0 +1,54 @@
+package com.bankapp.backend.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Which repository method the current thread is executing, e.g. "CardRepository.findByIdForUpdate".
+ * Set by an interceptor on every Spring Data repository (see {@link SqlInstrumentationConfig});
+ * read by the SQL timing wrapper to tag metrics and by {@link SqlCommentInspector} to prefix
+ * statements with a comment, so the method also shows up in MySQL's slow log and processlist.
+ */
+public final class RepositoryMethodContext {
+
+    static final String NONE = "none";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+    private static final Map<Method, String> NAMES = new ConcurrentHashMap<>();
+
+    private RepositoryMethodContext() {
+    }
+
+    /** The innermost repository method on this thread, or {@value #NONE} (plain JdbcTemplate, Hibernate internals). */
+    static String current() {
+        String name = CURRENT.get();
+        return name == null ? NONE : name;
+    }
+
+    static MethodInterceptor interceptor(Class<?> repositoryInterface) {
+        String repository = repositoryInterface.getSimpleName();
+        return invocation -> {
+            String previous = CURRENT.get();
+            CURRENT.set(NAMES.computeIfAbsent(invocation.getMethod(), m -> repository + "." + m.getName()));
+            try {
+                return invocation.proceed();
+            } finally {
+                if (previous == null) CURRENT.remove();
+                else CURRENT.set(previous);
+            }
+        };
+    }
+
+    /** Registered through hibernate.session_factory.statement_inspector in application.properties. */
+    public static class SqlCommentInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            String name = CURRENT.get();
+            return name == null ? sql : "/* " + name + " */ " + sql;
+        }
+    }
+}
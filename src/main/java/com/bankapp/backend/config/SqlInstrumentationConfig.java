@@ -0,0 +1,47 @@
+package com.bankapp.backend.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import javax.sql.DataSource;
+
+/**
+ * SQL statement instrumentation: times every JDBC statement per repository method
+ * ({@link SqlTimingDataSource}, {@link SqlStatementMetrics}) and marks each repository
+ * call in {@link RepositoryMethodContext}. Both post-processors are static so they do not
+ * pull this configuration (or the metrics registry) into early bean creation.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SqlInstrumentationConfig {
+
+    @Bean
+    static BeanPostProcessor sqlTimingDataSourcePostProcessor(ObjectProvider<SqlStatementMetrics> metrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource ds && !(bean instanceof SqlTimingDataSource)) {
+                    return new SqlTimingDataSource(ds, metrics);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    static BeanPostProcessor repositoryMethodContextPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, info) -> proxyFactory.addAdvice(
+                                    RepositoryMethodContext.interceptor(info.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.bankapp.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Records the latency of every JDBC statement as db.statement (tags: method = repository
+ * method or "none", kind = select/insert/update/delete/other) and logs statements slower
+ * than app.sql.slow-threshold-ms. A sampled fraction of slow-statement logs include the
+ * bind values, with card-number-like values masked.
+ */
+@Slf4j
+@Component
+public class SqlStatementMetrics {
+
+    private static final Pattern PAN_LIKE = Pattern.compile("\\d{12,19}");
+    private static final int MAX_SQL_LOG = 500;
+
+    private final MeterRegistry registry;
+    private final long slowNanos;
+    private final double paramSampleRate;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public SqlStatementMetrics(MeterRegistry registry,
+                               @Value("${app.sql.slow-threshold-ms:200}") long slowThresholdMs,
+                               @Value("${app.sql.slow-log-param-sample-rate:0.1}") double paramSampleRate) {
+        this.registry = registry;
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.paramSampleRate = paramSampleRate;
+    }
+
+    void record(String method, String sql, long nanos, Object[] params) {
+        String kind = kind(sql);
+        timers.computeIfAbsent(method + '|' + kind, k -> Timer.builder("db.statement")
+                        .description("JDBC statement execution time by repository method")
+                        .tag("method", method)
+                        .tag("kind", kind)
+                        .publishPercentiles(0.5, 0.99)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(10))
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        if (nanos >= slowNanos) {
+            String text = sql.length() > MAX_SQL_LOG ? sql.substring(0, MAX_SQL_LOG) + "..." : sql;
+            if (params != null && ThreadLocalRandom.current().nextDouble() < paramSampleRate) {
+                log.warn("Slow SQL ({} ms) in {}: {} params={}", TimeUnit.NANOSECONDS.toMillis(nanos), method, text,
+                        Arrays.toString(Arrays.stream(params).map(SqlStatementMetrics::mask).toArray()));
+            } else {
+                log.warn("Slow SQL ({} ms) in {}: {}", TimeUnit.NANOSECONDS.toMillis(nanos), method, text);
+            }
+        }
+    }
+
+    private static Object mask(Object value) {
+        if (!(value instanceof String s)) return value;
+        if (PAN_LIKE.matcher(s).matches()) return "****" + s.substring(s.length() - 4);
+        return s.length() > 64 ? s.substring(0, 64) + "..." : s;
+    }
+
+    // first keyword after any leading /* comment */
+    static String kind(String sql) {
+        int i = 0;
+        int n = sql.length();
+        while (i < n) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c) || c == '(') {
+                i++;
+            } else if (c == '/' && i + 1 < n && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                if (end < 0) return "other";
+                i = end + 2;
+            } else {
+                break;
+            }
+        }
+        int j = i;
+        while (j < n && Character.isLetter(sql.charAt(j))) j++;
+        String word = sql.substring(i, j).toLowerCase(Locale.ROOT);
+        return switch (word) {
+            case "select", "insert", "update", "delete" -> word;
+            case "with" -> "select";
+            default -> "other";
+        };
+    }
+}
@@ -0,0 +1,124 @@
+package com.bankapp.backend.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Wraps the pool so every Statement it hands out times its execute* calls and reports
+ * them to {@link SqlStatementMetrics}, tagged with the current repository method.
+ * Prepared statements also remember their bind values for the slow-statement log.
+ */
+class SqlTimingDataSource extends DelegatingDataSource {
+
+    private static final int MAX_PARAMS = 64;
+
+    private final ObjectProvider<SqlStatementMetrics> metrics;
+
+    SqlTimingDataSource(DataSource target, ObjectProvider<SqlStatementMetrics> metrics) {
+        super(target);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection target) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(target));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlTimingDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> statement(Statement.class, (Statement) result, null);
+                case "prepareStatement" -> statement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "prepareCall" -> statement(CallableStatement.class, (Statement) result, (String) args[0]);
+                default -> result;
+            };
+        }
+
+        private Object statement(Class<? extends Statement> type, Statement target, String sql) {
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler(target, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private String sql;
+        private Object[] params;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index
+                    && method.getDeclaringClass() != Statement.class) {
+                remember(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                params = null;
+            } else if (name.startsWith("execute") || name.equals("addBatch")) {
+                if (args != null && args.length > 0 && args[0] instanceof String text) sql = text;
+                if (name.startsWith("execute")) return timed(method, args);
+            }
+            return SqlTimingDataSource.invoke(target, method, args);
+        }
+
+        private Object timed(Method method, Object[] args) throws Throwable {
+            String repositoryMethod = RepositoryMethodContext.current();
+            long started = System.nanoTime();
+            try {
+                return SqlTimingDataSource.invoke(target, method, args);
+            } finally {
+                SqlStatementMetrics m = metrics.getIfAvailable();
+                if (m != null && sql != null) m.record(repositoryMethod, sql, System.nanoTime() - started, params);
+            }
+        }
+
+        private void remember(int index, Object value) {
+            if (index < 1 || index > MAX_PARAMS) return;
+            if (params == null) params = new Object[Math.max(index, 8)];
+            else if (params.length < index) params = Arrays.copyOf(params, Math.max(index, params.length * 2));
+            params[index - 1] = value;
+        }
+    }
+}
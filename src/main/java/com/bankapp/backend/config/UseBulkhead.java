@@ -0,0 +1,15 @@
+package com.bankapp.backend.config;
+
+import java.lang.annotation.*;
+
+/**
+ * Runs the annotated service method (or every public method of the annotated class) in
+ * the given {@link Bulkhead}. A method annotation overrides the class annotation, and
+ * calls made from inside a bulkhead stay in the caller's bulkhead.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UseBulkhead {
+    Bulkhead value();
+}
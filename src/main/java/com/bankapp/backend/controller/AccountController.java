@@ -4,13 +4,16 @@ import com.bankapp.backend.dto.AccountResponse;
 import com.bankapp.backend.dto.DepositRequest;
 import com.bankapp.backend.dto.DepositResponse;
 import com.bankapp.backend.dto.OpenAccountRequest;
+import com.bankapp.backend.dto.SpendSummaryResponse;
 import com.bankapp.backend.service.AccountService;
+import com.bankapp.backend.service.SpendAggregates;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
 import java.util.List;
 
 @RestController
@@ -19,6 +22,7 @@ import java.util.List;
 public class AccountController {
 
     private final AccountService accountService;
+    private final SpendAggregates spendAggregates;
 
     // POST /api/accounts/open
     @PostMapping("/open")
@@ -58,4 +62,14 @@ public class AccountController {
         var response = accountService.getAccountDetails(id, username);
         return ResponseEntity.ok(response);
     }
+
+    // GET /api/accounts/{id}/spend-summary?month=2025-11 (defaults to the current month)
+    @GetMapping("/{id}/spend-summary")
+    public SpendSummaryResponse getSpendSummary(
+            @PathVariable Long id,
+            @RequestParam(required = false) YearMonth month,
+            Authentication authentication
+    ) {
+        return spendAggregates.summary(id, month != null ? month : YearMonth.now(), authentication.getName());
+    }
 }
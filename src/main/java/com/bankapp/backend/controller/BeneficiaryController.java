@@ -2,6 +2,8 @@ package com.bankapp.backend.controller;
 
 import com.bankapp.backend.dto.AddBeneficiaryRequest;
 import com.bankapp.backend.dto.BeneficiaryResponse;
+import com.bankapp.backend.dto.BulkBeneficiaryImportResponse;
+import com.bankapp.backend.service.BeneficiaryImportService;
 import com.bankapp.backend.service.BeneficiaryService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +11,7 @@ import org.springframework.http.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -17,6 +20,7 @@ import java.util.List;
 public class BeneficiaryController {
 
     private final BeneficiaryService beneficiaryService;
+    private final BeneficiaryImportService importService;
 
     @PostMapping
     public ResponseEntity<BeneficiaryResponse> addBeneficiary(
@@ -28,12 +32,37 @@ public class BeneficiaryController {
         return ResponseEntity.status(HttpStatus.CREATED).body(resp);
     }
 
+    // POST /api/beneficiaries/bulk with a JSON array of AddBeneficiaryRequest
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkBeneficiaryImportResponse bulkImportJson(
+            @RequestBody List<AddBeneficiaryRequest> requests,
+            Authentication authentication
+    ) {
+        return importService.importRows(requests, authentication.getName());
+    }
+
+    // POST /api/beneficiaries/bulk as text/csv: header beneficiaryName,accountNumber,bankName,ifsc,nickname
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public BulkBeneficiaryImportResponse bulkImportCsv(InputStream body, Authentication authentication) {
+        return importService.importCsv(body, authentication.getName());
+    }
+
     @GetMapping("/my")
     public List<BeneficiaryResponse> listMy(Authentication authentication) {
         String username = authentication.getName();
         return beneficiaryService.listMyBeneficiaries(username);
     }
 
+    // GET /api/beneficiaries/search?q=ram&limit=10
+    @GetMapping("/search")
+    public List<BeneficiaryResponse> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication authentication
+    ) {
+        return beneficiaryService.searchMyBeneficiaries(q, Math.max(1, Math.min(limit, 50)), authentication.getName());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BeneficiaryResponse> getOne(
             @PathVariable Long id,
@@ -0,0 +1,34 @@
+package com.bankapp.backend.controller;
+
+import com.bankapp.backend.dto.BulkBlockResponse;
+import com.bankapp.backend.dto.CardResponse;
+import com.bankapp.backend.service.CardBulkBlockService;
+import com.bankapp.backend.service.CardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+// ROLE_ADMIN only (see SecurityConfig)
+@RestController
+@RequestMapping("/api/admin/cards")
+@RequiredArgsConstructor
+public class CardAdminController {
+
+    private final CardBulkBlockService bulkBlockService;
+    private final CardService cardService;
+
+    // POST /api/admin/cards/bulk-block?reason=... with one PAN per line (text/plain), read as a stream
+    @PostMapping(value = "/bulk-block", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public BulkBlockResponse bulkBlock(@RequestParam String reason, InputStream body, Authentication auth) {
+        return bulkBlockService.blockAll(body, reason, auth.getName());
+    }
+
+    // lifts a bulk (compromise) block, which the card owner cannot undo
+    @PostMapping("/{id}/unblock")
+    public CardResponse liftBankBlock(@PathVariable Long id) {
+        return cardService.liftBankBlock(id);
+    }
+}
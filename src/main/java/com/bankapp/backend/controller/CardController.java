@@ -1,12 +1,14 @@
 package com.bankapp.backend.controller;
 
 import com.bankapp.backend.dto.*;
+import com.bankapp.backend.service.AuthorizationHoldService;
 import com.bankapp.backend.service.CardService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,6 +18,7 @@ import java.util.List;
 public class CardController {
 
     private final CardService cardService;
+    private final AuthorizationHoldService holdService;
 
     @PostMapping("/apply")
     public ResponseEntity<CardResponse> apply(@Valid @RequestBody ApplyCardRequest req, Authentication auth) {
@@ -76,6 +79,25 @@ public class CardController {
         return ResponseEntity.ok(resp);
     }
 
+    /* Authorization holds: reserve now, capture or release later */
+    @PostMapping("/holds")
+    public ResponseEntity<HoldResponse> placeHold(@Valid @RequestBody PlaceHoldRequest req, Authentication auth) {
+        var resp = holdService.placeHold(req, auth.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(resp);
+    }
+
+    @PostMapping("/holds/{id}/capture")
+    public ResponseEntity<HoldResponse> captureHold(@PathVariable Long id, @Valid @RequestBody(required = false) CaptureHoldRequest req,
+                                                    Authentication auth) {
+        var resp = holdService.captureHold(id, req, auth.getName());
+        return ResponseEntity.ok(resp);
+    }
+
+    @PostMapping("/holds/{id}/release")
+    public ResponseEntity<HoldResponse> releaseHold(@PathVariable Long id, Authentication auth) {
+        var resp = holdService.releaseHold(id, auth.getName());
+        return ResponseEntity.ok(resp);
+    }
 
     @GetMapping("/my")
     public ResponseEntity<List<CardResponse>> listMy(Authentication auth) {
@@ -84,11 +106,14 @@ public class CardController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CardResponse> getOne(@PathVariable Long id, Authentication auth) {
-        // reuse listMy & service to check ownership - or add getOne method
-        var user = auth.getName();
-        var resp = cardService.listMyCards(user).stream().filter(c -> c.getId().equals(id)).findFirst()
-                .orElseThrow(() -> new RuntimeException("Not found or not owner"));
-        return ResponseEntity.ok(resp);
+    public ResponseEntity<CardResponse> getOne(@PathVariable Long id, Authentication auth, WebRequest request) {
+        var card = cardService.getMyCard(id, auth.getName());
+        String etag = CardService.etag(card);
+        // private + no-cache: clients may keep the card but must revalidate with If-None-Match
+        var cacheControl = CacheControl.noCache().cachePrivate();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(card);
     }
 }
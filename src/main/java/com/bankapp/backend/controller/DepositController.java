@@ -17,6 +17,11 @@ public class DepositController {
 
     private final DepositService depositService;
 
+    @GetMapping("/rates")
+    public List<DepositRateSlabResponse> listRates() {
+        return depositService.listRates();
+    }
+
     @PostMapping("/fd")
     public ResponseEntity<FDResponse> createFD(@Valid @RequestBody CreateFDRequest req, Authentication auth) {
         var resp = depositService.createFD(req, auth.getName());
@@ -0,0 +1,52 @@
+package com.bankapp.backend.controller;
+
+import com.bankapp.backend.dto.DepositRateSlabRequest;
+import com.bankapp.backend.dto.DepositRateSlabResponse;
+import com.bankapp.backend.service.DepositRateAdminService;
+import com.bankapp.backend.service.DepositRateCatalog;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.*;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// ROLE_ADMIN only (see SecurityConfig)
+@RestController
+@RequestMapping("/api/admin/deposit-rates")
+@RequiredArgsConstructor
+public class DepositRateAdminController {
+
+    private final DepositRateAdminService adminService;
+    private final DepositRateCatalog catalog;
+
+    @GetMapping
+    public List<DepositRateSlabResponse> list() {
+        return adminService.listActive();
+    }
+
+    @PostMapping
+    public ResponseEntity<DepositRateSlabResponse> create(@Valid @RequestBody DepositRateSlabRequest req, Authentication auth) {
+        var resp = adminService.createSlab(req, auth.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(resp);
+    }
+
+    @PutMapping("/{id}")
+    public DepositRateSlabResponse update(@PathVariable Long id, @Valid @RequestBody DepositRateSlabRequest req, Authentication auth) {
+        return adminService.updateSlab(id, req, auth.getName());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deactivate(@PathVariable Long id, Authentication auth) {
+        adminService.deactivateSlab(id, auth.getName());
+        return ResponseEntity.noContent().build();
+    }
+
+    // force a reload, e.g. after rates were changed directly in the database
+    @PostMapping("/reload")
+    public ResponseEntity<Void> reload() {
+        catalog.reload();
+        return ResponseEntity.noContent().build();
+    }
+}
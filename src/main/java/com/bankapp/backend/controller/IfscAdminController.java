@@ -0,0 +1,23 @@
+package com.bankapp.backend.controller;
+
+import com.bankapp.backend.service.IfscDirectory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+// ROLE_ADMIN only (see SecurityConfig)
+@RestController
+@RequestMapping("/api/admin/ifsc")
+@RequiredArgsConstructor
+public class IfscAdminController {
+
+    private final IfscDirectory ifscDirectory;
+
+    // re-read app.ifsc.file after it was replaced; lookups keep using the old index until the swap
+    @PostMapping("/reload")
+    public Map<String, Integer> reload() {
+        ifscDirectory.reload();
+        return Map.of("branches", ifscDirectory.size());
+    }
+}
@@ -0,0 +1,33 @@
+package com.bankapp.backend.controller;
+
+import com.bankapp.backend.dto.IfscBranch;
+import com.bankapp.backend.service.IfscDirectory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.*;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/ifsc")
+@RequiredArgsConstructor
+public class IfscController {
+
+    private static final int MAX_RESULTS = 50;
+
+    private final IfscDirectory ifscDirectory;
+
+    // GET /api/ifsc/HDFC0000001
+    @GetMapping("/{code}")
+    public ResponseEntity<IfscBranch> lookup(@PathVariable String code) {
+        return ifscDirectory.find(code)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // GET /api/ifsc?prefix=HDFC00&limit=10 (autocomplete)
+    @GetMapping
+    public List<IfscBranch> search(@RequestParam String prefix, @RequestParam(defaultValue = "10") int limit) {
+        return ifscDirectory.search(prefix, Math.max(1, Math.min(limit, MAX_RESULTS)));
+    }
+}
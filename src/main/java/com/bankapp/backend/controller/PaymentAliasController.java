@@ -0,0 +1,37 @@
+package com.bankapp.backend.controller;
+
+import com.bankapp.backend.dto.PaymentAliasResponse;
+import com.bankapp.backend.dto.RegisterAliasRequest;
+import com.bankapp.backend.service.PaymentAliasService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.*;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/aliases")
+@RequiredArgsConstructor
+public class PaymentAliasController {
+
+    private final PaymentAliasService aliasService;
+
+    @PostMapping
+    public ResponseEntity<PaymentAliasResponse> register(@Valid @RequestBody RegisterAliasRequest request, Authentication auth) {
+        var resp = aliasService.register(request, auth.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(resp);
+    }
+
+    @GetMapping("/my")
+    public List<PaymentAliasResponse> listMy(Authentication auth) {
+        return aliasService.listMine(auth.getName());
+    }
+
+    @DeleteMapping("/{alias}")
+    public ResponseEntity<Void> delete(@PathVariable String alias, Authentication auth) {
+        aliasService.delete(alias, auth.getName());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.bankapp.backend.controller;
+
+import com.bankapp.backend.service.SpendAggregates;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.Map;
+
+// ROLE_ADMIN only (see SecurityConfig)
+@RestController
+@RequestMapping("/api/admin/spend-aggregates")
+@RequiredArgsConstructor
+public class SpendAggregateAdminController {
+
+    private final SpendAggregates spendAggregates;
+
+    // POST /api/admin/spend-aggregates/rebuild?from=2024-01&to=2025-10
+    @PostMapping("/rebuild")
+    public Map<String, Object> rebuild(@RequestParam YearMonth from, @RequestParam YearMonth to) {
+        int rows = spendAggregates.rebuild(from, to);
+        return Map.of("from", from.toString(), "to", to.toString(), "rows", rows);
+    }
+}
@@ -1,8 +1,9 @@
 package com.bankapp.backend.controller;
 
+import com.bankapp.backend.dto.TransactionResponse;
 import com.bankapp.backend.dto.TransferRequest;
 import com.bankapp.backend.dto.TransferResponse;
-import com.bankapp.backend.entity.TransactionRecord;
+import com.bankapp.backend.security.CustomUserDetails;
 import com.bankapp.backend.service.TransferService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -35,8 +36,9 @@ public class TransferController {
     }
 
     @GetMapping("/{reference}")
-    public ResponseEntity<TransactionRecord> getByReference(@PathVariable String reference) {
-        var tx = transferService.findByReference(reference);
+    public ResponseEntity<TransactionResponse> getByReference(@PathVariable String reference, Authentication auth) {
+        var user = (CustomUserDetails) auth.getPrincipal();
+        var tx = transferService.findByReference(reference, user.getId());
         return ResponseEntity.ok(tx);
     }
 }
@@ -3,6 +3,7 @@ package com.bankapp.backend.dto;
 import com.bankapp.backend.entity.Account;
 import com.bankapp.backend.entity.AccountStatus;
 import com.bankapp.backend.entity.AccountType;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -11,6 +12,7 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@AllArgsConstructor // field order is the constructor used by the JPQL projections in AccountRepository
 public class AccountResponse {
 
     private Long id;
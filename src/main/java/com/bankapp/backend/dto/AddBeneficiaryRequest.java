@@ -16,6 +16,8 @@ public class AddBeneficiaryRequest {
     private String accountNumber;
 
     // optional
+    @Size(max = 60)
+    private String nickname;
     private String bankName;
     private String ifsc;
 }
@@ -1,5 +1,6 @@
 package com.bankapp.backend.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -7,9 +8,11 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@AllArgsConstructor // field order is the constructor used by the JPQL projections in BeneficiaryRepository
 public class BeneficiaryResponse {
     private Long id;
     private String beneficiaryName;
+    private String nickname;
     private String accountNumber;
     private String bankName;
     private String ifsc;
@@ -0,0 +1,29 @@
+package com.bankapp.backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BulkBeneficiaryImportResponse {
+    private int received;
+    private int created;
+    private int duplicates;
+    private int failed;
+    private List<Row> rows;
+
+    public enum Outcome { CREATED, DUPLICATE, INVALID, FAILED }
+
+    @Data
+    @Builder
+    public static class Row {
+        private int row;                 // 1-based position in the upload
+        private String accountNumber;
+        private Outcome outcome;
+        private Long beneficiaryId;      // when CREATED
+        private Boolean internal;        // when CREATED
+        private String message;          // why it was not created
+    }
+}
@@ -0,0 +1,14 @@
+package com.bankapp.backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BulkBlockResponse {
+    private long linesRead;
+    private long invalidLines;   // not a 12-19 digit card number
+    private long matchedCards;   // numbers that belong to one of our cards
+    private long blockedCards;   // cards moved to TEMP_BLOCKED by this request
+    private long tookMillis;
+}
@@ -0,0 +1,15 @@
+package com.bankapp.backend.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class CaptureHoldRequest {
+
+    @DecimalMin("0.01")
+    private BigDecimal amount; // optional: null captures the full hold, less releases the remainder
+
+    private String narration; // optional
+}
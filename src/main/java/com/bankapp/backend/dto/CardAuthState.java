@@ -0,0 +1,16 @@
+package com.bankapp.backend.dto;
+
+import com.bankapp.backend.entity.CardStatus;
+import com.bankapp.backend.entity.CardType;
+
+// what the card authorization path needs to know about a card, without loading the entity
+public record CardAuthState(
+        Long cardId,
+        CardStatus status,
+        CardType cardType,
+        Boolean internationalUsageEnabled,
+        Long ownerId,
+        String ownerUsername,
+        Long linkedAccountId
+) {
+}
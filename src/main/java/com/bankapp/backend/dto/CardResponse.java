@@ -2,6 +2,7 @@ package com.bankapp.backend.dto;
 
 import com.bankapp.backend.entity.CardStatus;
 import com.bankapp.backend.entity.CardType;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -10,6 +11,7 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@AllArgsConstructor // also used by the JPQL projection in CardRepository.findViewByIdAndOwner
 public class CardResponse {
     private Long id;
     private String maskedCardNumber; // e.g. **** **** **** 1234
@@ -22,4 +24,5 @@ public class CardResponse {
     private Long ownerId;
     private LocalDateTime appliedAt;
     private LocalDateTime issuedAt;
+    private LocalDateTime updatedAt;
 }
@@ -1,5 +1,6 @@
 package com.bankapp.backend.dto;
 
+import com.bankapp.backend.entity.CompoundingFrequency;
 import jakarta.validation.constraints.*;
 import lombok.Data;
 
@@ -11,14 +12,12 @@ public class CreateFDRequest {
     @DecimalMin("100.00")
     private BigDecimal principal;
 
-    @NotNull
-    @DecimalMin("0.01")
-    private Double annualInterestRate; // in percent, e.g. 6.5
-
     @NotNull
     @Min(1)
     private Integer tenureMonths;
 
+    private CompoundingFrequency compounding; // optional, MONTHLY when absent
+
     private Long linkedAccountId; // where maturity credited
     private Boolean autoRenew = false;
 }
@@ -11,10 +11,6 @@ public class CreateRDRequest {
     @DecimalMin("100.00")
     private BigDecimal monthlyInstallment;
 
-    @NotNull
-    @DecimalMin("0.01")
-    private Double annualInterestRate;
-
     @NotNull
     @Min(1)
     private Integer tenureMonths;
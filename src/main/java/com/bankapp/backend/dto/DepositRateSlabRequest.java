@@ -0,0 +1,31 @@
+package com.bankapp.backend.dto;
+
+import com.bankapp.backend.entity.DepositProductType;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class DepositRateSlabRequest {
+    @NotNull
+    private DepositProductType productType;
+
+    @NotNull
+    @Min(1)
+    private Integer minTenureMonths;
+
+    @NotNull
+    @Min(1)
+    private Integer maxTenureMonths;
+
+    @NotNull
+    @DecimalMin("0.00")
+    private BigDecimal minAmount;
+
+    private BigDecimal maxAmount; // optional, no upper bound when absent
+
+    @NotNull
+    @DecimalMin("0.01")
+    private Double annualInterestRate;
+}
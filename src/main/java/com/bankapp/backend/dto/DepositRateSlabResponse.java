@@ -0,0 +1,19 @@
+package com.bankapp.backend.dto;
+
+import com.bankapp.backend.entity.DepositProductType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class DepositRateSlabResponse {
+    private Long id;
+    private DepositProductType productType;
+    private Integer minTenureMonths;
+    private Integer maxTenureMonths;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private Double annualInterestRate;
+}
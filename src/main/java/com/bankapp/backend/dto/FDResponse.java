@@ -1,5 +1,6 @@
 package com.bankapp.backend.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -8,6 +9,7 @@ import java.time.LocalDate;
 
 @Data
 @Builder
+@AllArgsConstructor // field order is the constructor used by the JPQL projections in FixedDepositRepository
 public class FDResponse {
     private Long id;
     private BigDecimal principal;
@@ -16,7 +18,9 @@ public class FDResponse {
     private LocalDate startDate;
     private LocalDate maturityDate;
     private BigDecimal maturityAmount;
+    private String compounding;
     private String status;
     private Boolean autoRenew;
     private Long linkedAccountId;
+    private Long renewedFromId;
 }
@@ -0,0 +1,25 @@
+package com.bankapp.backend.dto;
+
+import com.bankapp.backend.entity.HoldStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class HoldResponse {
+    private Long id;
+    private String reference;
+    private Long cardId;
+    private Long accountId;
+    private BigDecimal amount;
+    private BigDecimal capturedAmount;
+    private String merchant;
+    private HoldStatus status;
+    private String transactionReference;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+    private LocalDateTime closedAt;
+}
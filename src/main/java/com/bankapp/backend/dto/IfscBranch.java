@@ -0,0 +1,3 @@
+package com.bankapp.backend.dto;
+
+public record IfscBranch(String ifsc, String bank, String branch, String city) {}
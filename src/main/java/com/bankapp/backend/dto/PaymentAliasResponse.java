@@ -0,0 +1,18 @@
+package com.bankapp.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor // field order is the constructor used by the JPQL projections in PaymentAliasRepository
+public class PaymentAliasResponse {
+    private Long id;
+    private String alias;
+    private Long accountId;
+    private String accountNumber;
+    private LocalDateTime createdAt;
+}
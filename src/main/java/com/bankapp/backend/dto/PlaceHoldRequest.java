@@ -0,0 +1,30 @@
+package com.bankapp.backend.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class PlaceHoldRequest {
+
+    @NotNull
+    private Long cardId;
+
+    private Long fromAccountId; // required for debit cards, ignored for credit cards
+
+    @NotNull
+    @DecimalMin("0.01")
+    private BigDecimal amount;
+
+    private String merchant; // optional
+
+    private Boolean international; // optional, default false
+
+    @Min(1)
+    @Max(43200) // 30 days
+    private Integer ttlMinutes; // optional, defaults to app.cards.holds.default-ttl-minutes
+}
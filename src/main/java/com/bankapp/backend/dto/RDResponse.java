@@ -1,5 +1,6 @@
 package com.bankapp.backend.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -8,6 +9,7 @@ import java.time.LocalDate;
 
 @Data
 @Builder
+@AllArgsConstructor // field order is the constructor used by the JPQL projections in RecurringDepositRepository
 public class RDResponse {
     private Long id;
     private BigDecimal monthlyInstallment;
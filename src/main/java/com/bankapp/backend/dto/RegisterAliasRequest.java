@@ -0,0 +1,18 @@
+package com.bankapp.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class RegisterAliasRequest {
+
+    // e.g. ramesh.k@bankapp
+    @NotBlank
+    @Size(max = 64)
+    private String alias;
+
+    @NotNull
+    private Long accountId;
+}
@@ -0,0 +1,26 @@
+package com.bankapp.backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+public class SpendSummaryResponse {
+    private Long accountId;
+    private String month; // yyyy-MM
+    private BigDecimal totalDebits;
+    private BigDecimal totalCredits;
+    private List<Category> categories;
+
+    @Data
+    @Builder
+    public static class Category {
+        private String category;
+        private BigDecimal debitAmount;
+        private BigDecimal creditAmount;
+        private long count;
+    }
+}
@@ -0,0 +1,41 @@
+package com.bankapp.backend.dto;
+
+import com.bankapp.backend.entity.TransactionStatus;
+import com.bankapp.backend.entity.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor // field order is the constructor used by TransactionRecordRepository.findViewByReference
+public class TransactionResponse {
+    private Long id;
+    private String reference;
+    private TransactionType type;
+    private TransactionStatus status;
+    private Long fromAccountId;
+    private String fromAccountNumber;
+    private Long toAccountId;
+    private String toAccountNumber;
+    private Long cardId;
+    private String beneficiaryName;
+    private String beneficiaryAccountNumber;
+    private String beneficiaryIfsc;
+    private BigDecimal amount;
+    private String narration;
+    private LocalDateTime createdAt;
+    private LocalDateTime processedAt;
+
+    // users who may read this transaction (account or card owners); used for the ownership check, never serialised
+    @JsonIgnore
+    private Long fromOwnerId;
+    @JsonIgnore
+    private Long toOwnerId;
+    @JsonIgnore
+    private Long cardOwnerId;
+}
@@ -17,6 +17,10 @@ public class TransferRequest {
     private String fromAccountNumber;
     private String toAccountNumber;
 
+    // IMPS to a registered payment alias (e.g. ramesh@bankapp) instead of an account
+    @Size(max = 64)
+    private String toAlias;
+
     private String beneficiaryAccountNumber;
     private String beneficiaryIfsc;
     private String beneficiaryName;
@@ -0,0 +1,56 @@
+package com.bankapp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// running totals per account, calendar month and category (SpendAggregates); no surrogate id
+@Entity
+@Table(name = "account_monthly_spend")
+@IdClass(AccountMonthlySpend.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountMonthlySpend {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    // first day of the month
+    @Id
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    // IMPS, IMPS_IN, DEPOSIT or CARD:<MERCHANT>
+    @Id
+    @Column(length = 80)
+    private String category;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal debitAmount;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal creditAmount;
+
+    @Column(nullable = false)
+    private long txnCount;
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long accountId;
+        private LocalDate monthStart;
+        private String category;
+    }
+}
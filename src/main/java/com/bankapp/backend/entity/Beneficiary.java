@@ -6,7 +6,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "beneficiaries")
+@Table(name = "beneficiaries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_beneficiary_owner_account", columnNames = {"owner_id", "account_number"})
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,6 +27,9 @@ public class Beneficiary {
     @Column(nullable = false, length = 120)
     private String beneficiaryName;
 
+    @Column(length = 60)
+    private String nickname;
+
     @Column(nullable = false, length = 50)
     private String accountNumber;
 
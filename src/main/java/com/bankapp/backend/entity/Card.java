@@ -8,7 +8,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "cards")
+@Table(name = "cards", indexes = {
+        @Index(name = "idx_card_billing_day", columnList = "card_type, billing_cycle_day")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,10 +22,14 @@ public class Card {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    // card number (masked when returned)
+    // card number in canonical form, digits only (masked when returned)
     @Column(unique = true, length = 19)
     private String cardNumber;
 
+    // keyed hash of cardNumber (PanHasher); lookups by card number go through this
+    @Column(name = "pan_hash", unique = true, length = 64)
+    private String panHash;
+
     // store last4 for display/search, do NOT store full PAN in logs in prod
     @Column(length = 4)
     private String last4;
@@ -41,6 +47,27 @@ public class Card {
     @Enumerated(EnumType.STRING)
     private CardStatus status; // APPLIED, ISSUED, ACTIVE, TEMP_BLOCKED, CLOSED, REJECTED
 
+    // why the card is TEMP_BLOCKED (owner request or bulk compromise block)
+    @Column(length = 200)
+    private String blockReason;
+
+    // OWNER blocks can be lifted by the owner, BANK (compromise) blocks only by an admin
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private CardBlockSource blockSource;
+
+    // status, source and reason from before a BANK block, put back when an admin lifts it
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private CardStatus preBlockStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private CardBlockSource preBlockSource;
+
+    @Column(length = 200)
+    private String preBlockReason;
+
     @Column(nullable = false)
     private Boolean internationalUsageEnabled = false;
 
@@ -51,10 +78,22 @@ public class Card {
     @Column(precision = 18, scale = 2)
     private BigDecimal outstandingAmount; // for credit cards
 
+    // credit-specific: day of month (1-28) the billing cycle closes, and the last statement date
+    @Column(name = "billing_cycle_day")
+    private Integer billingCycleDay;
+
+    @Column
+    private LocalDate lastStatementDate;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false)
     private User owner;
 
+    // debit: account the card spends from; credit: account used for bill auto-debit
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "linked_account_id")
+    private Account linkedAccount;
+
     @Column(nullable = false)
     private LocalDateTime appliedAt;
 
@@ -0,0 +1,5 @@
+package com.bankapp.backend.entity;
+
+public enum CardBlockSource {
+    OWNER, BANK
+}
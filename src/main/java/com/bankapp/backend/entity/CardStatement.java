@@ -0,0 +1,60 @@
+package com.bankapp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// one credit card statement per closed billing cycle
+@Entity
+@Table(name = "card_statements", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_statement_card_cycle", columnNames = {"card_id", "cycle_end"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CardStatement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "card_id", nullable = false)
+    private Card card;
+
+    // transactions with cycleStart <= createdAt < cycleEnd
+    @Column(nullable = false)
+    private LocalDate cycleStart;
+
+    @Column(name = "cycle_end", nullable = false)
+    private LocalDate cycleEnd;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal openingBalance;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal totalCharges;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal totalPayments;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal financeCharge;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal closingBalance;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal minimumDue;
+
+    @Column(nullable = false)
+    private LocalDate dueDate;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,6 @@
+package com.bankapp.backend.entity;
+
+public enum CompoundingFrequency {
+    MONTHLY,
+    QUARTERLY
+}
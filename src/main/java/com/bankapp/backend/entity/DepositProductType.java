@@ -0,0 +1,6 @@
+package com.bankapp.backend.entity;
+
+public enum DepositProductType {
+    FD,
+    RD
+}
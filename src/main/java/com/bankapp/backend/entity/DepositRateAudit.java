@@ -0,0 +1,43 @@
+package com.bankapp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "deposit_rate_audit")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DepositRateAudit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long slabId;
+
+    @Column(nullable = false, length = 20)
+    private String action; // CREATE, UPDATE, DEACTIVATE
+
+    private Double oldRate;
+
+    private Double newRate;
+
+    @Column(length = 300)
+    private String detail; // snapshot of the slab after the change
+
+    @Column(nullable = false, length = 50)
+    private String changedBy;
+
+    private LocalDateTime changedAt;
+
+    @PrePersist
+    public void onCreate() {
+        if (changedAt == null) changedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,55 @@
+package com.bankapp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// bank-controlled interest rate for a tenure range and amount band of a deposit product
+@Entity
+@Table(name = "deposit_rate_slabs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DepositRateSlab {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private DepositProductType productType;
+
+    @Column(nullable = false)
+    private int minTenureMonths; // inclusive
+
+    @Column(nullable = false)
+    private int maxTenureMonths; // inclusive
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal minAmount; // inclusive
+
+    @Column(precision = 18, scale = 2)
+    private BigDecimal maxAmount; // exclusive, null = no upper bound
+
+    @Column(nullable = false)
+    private double annualInterestRate; // e.g. 6.5 for 6.5%
+
+    @Column(nullable = false)
+    private boolean active;
+
+    @Column(length = 50)
+    private String updatedBy;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+}
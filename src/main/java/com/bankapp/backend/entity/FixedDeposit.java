@@ -42,6 +42,10 @@ public class FixedDeposit {
     @Column(precision = 18, scale = 2)
     private BigDecimal maturityAmount; // computed at creation or on maturity
 
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private CompoundingFrequency compounding; // MONTHLY (default) or QUARTERLY
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", length = 20)
     private DepositStatus status; // ACTIVE, MATURED, RENEWED, CANCELLED
@@ -54,6 +58,9 @@ public class FixedDeposit {
     @JoinColumn(name = "linked_account_id")
     private Account linkedAccount;
 
+    // id of the matured FD this one was auto-renewed from
+    private Long renewedFromId;
+
     private LocalDateTime createdAt;
     private LocalDateTime maturedAt;
 }
@@ -0,0 +1,8 @@
+package com.bankapp.backend.entity;
+
+public enum HoldStatus {
+    ACTIVE,
+    CAPTURED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,42 @@
+package com.bankapp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// one row per SAVINGS account per day; kept narrow on purpose (no surrogate id)
+@Entity
+@Table(name = "interest_accruals")
+@IdClass(InterestAccrual.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InterestAccrual {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Id
+    private LocalDate accrualDate;
+
+    @Column(nullable = false, precision = 18, scale = 6)
+    private BigDecimal amount;
+
+    // remainder carried in from the previous quarter's capitalisation (first day of a quarter only)
+    @Column(nullable = false, precision = 18, scale = 6)
+    private BigDecimal carried;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long accountId;
+        private LocalDate accrualDate;
+    }
+}
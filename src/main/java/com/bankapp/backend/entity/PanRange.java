@@ -0,0 +1,41 @@
+package com.bankapp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// card number range of one BIN; blocks of sequence numbers are reserved from nextSequence
+@Entity
+@Table(name = "pan_ranges")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PanRange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 6)
+    private String bin;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CardType cardType;
+
+    // next unreserved sequence number; sequences are permuted into the account digits
+    @Column(nullable = false)
+    private long nextSequence;
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,45 @@
+package com.bankapp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "rd_missed_installments",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"recurring_deposit_id", "installment_number"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RdMissedInstallment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "recurring_deposit_id", nullable = false)
+    private RecurringDeposit recurringDeposit;
+
+    @Column(name = "installment_number", nullable = false)
+    private int installmentNumber; // 1-based
+
+    @Column(nullable = false)
+    private LocalDate dueDate;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal amount;
+
+    @Column(length = 200)
+    private String reason;
+
+    // set once a penalty has been levied for this miss
+    @Column(nullable = false)
+    private boolean penaltyApplied;
+
+    private LocalDateTime recordedAt;
+}
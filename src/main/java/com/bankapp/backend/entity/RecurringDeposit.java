@@ -46,6 +46,15 @@ public class RecurringDeposit {
     @Column(name = "status", length = 20)
     private DepositStatus status; // ACTIVE, MATURED, CANCELLED
 
+    // instalment tracking, advanced by RdInstallmentCollector
+    @Column(nullable = false)
+    private int installmentsPaid;
+
+    @Column(nullable = false)
+    private int missedInstallments;
+
+    private LocalDate nextInstallmentDate; // null once every instalment has been attempted
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "linked_account_id")
     private Account linkedAccount;
@@ -7,7 +7,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_tx_card_created", columnList = "card_id, created_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -37,6 +39,11 @@ public class TransactionRecord {
     @JoinColumn(name = "to_account_id")
     private Account toAccount; // nullable for external beneficiary if you don't have account in system
 
+    // set for card spends, credit card charges and card bill payments
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "card_id")
+    private Card card;
+
     // Beneficiary details (snapshot)
     @Column(length = 120)
     private String beneficiaryName;
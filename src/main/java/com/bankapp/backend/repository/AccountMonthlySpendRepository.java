@@ -0,0 +1,13 @@
+package com.bankapp.backend.repository;
+
+import com.bankapp.backend.entity.AccountMonthlySpend;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AccountMonthlySpendRepository extends JpaRepository<AccountMonthlySpend, AccountMonthlySpend.Key> {
+
+    // primary key prefix scan: one row per category
+    List<AccountMonthlySpend> findByAccountIdAndMonthStartOrderByCategory(Long accountId, LocalDate monthStart);
+}
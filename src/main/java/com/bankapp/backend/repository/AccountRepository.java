@@ -1,24 +1,40 @@
 package com.bankapp.backend.repository;
 
+import com.bankapp.backend.dto.AccountResponse;
 import com.bankapp.backend.entity.Account;
 import com.bankapp.backend.entity.AccountType;
 import com.bankapp.backend.entity.User;
 import jakarta.persistence.LockModeType;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 import java.util.List;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
     List<Account> findByOwner(User owner);
 
+    // read views straight into the response DTO, owner joined in the same select
+    @Query("select new com.bankapp.backend.dto.AccountResponse(a.id, a.accountNumber, a.accountType, a.status, " +
+            "a.balance, a.openedAt, o.id, o.username) from Account a join a.owner o where o.username = :username order by a.id")
+    List<AccountResponse> findViewsByOwner(@Param("username") String username);
+
+    @Query("select new com.bankapp.backend.dto.AccountResponse(a.id, a.accountNumber, a.accountType, a.status, " +
+            "a.balance, a.openedAt, o.id, o.username) from Account a join a.owner o where a.id = :id and o.username = :username")
+    Optional<AccountResponse> findViewByIdAndOwner(@Param("id") Long id, @Param("username") String username);
+
     Optional<Account> findByIdAndOwner(Long id, User owner);
     Optional<Account> findByAccountNumber(String accountNumber);
 
+    @EntityGraph(attributePaths = "owner")
+    Optional<Account> findWithOwnerByAccountNumber(String accountNumber);
+
     boolean existsByOwnerAndAccountType(User owner, AccountType accountType);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
@@ -29,4 +45,11 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     @Query("select a from Account a where a.accountNumber = :accountNumber")
     Optional<Account> findByAccountNumberForUpdate(@Param("accountNumber") String accountNumber);
 
+    // debit only if the owner matches and the balance covers it on top of the held amount; 0 rows = rejected
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance - :amount " +
+            "where a.id = :id and a.owner.id = :ownerId and a.balance >= :amount + :held")
+    int debitIfSufficient(@Param("id") Long id, @Param("ownerId") Long ownerId,
+                          @Param("amount") BigDecimal amount, @Param("held") BigDecimal held);
+
 }
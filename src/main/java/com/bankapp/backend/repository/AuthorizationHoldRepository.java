@@ -0,0 +1,44 @@
+package com.bankapp.backend.repository;
+
+import com.bankapp.backend.entity.AuthorizationHold;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface AuthorizationHoldRepository extends JpaRepository<AuthorizationHold, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from AuthorizationHold h where h.id = :id")
+    Optional<AuthorizationHold> findByIdForUpdate(@Param("id") Long id);
+
+    // [holdId, accountId, cardId, amount, expiresAt] for every ACTIVE hold (startup rebuild)
+    @Query("select h.id, a.id, h.card.id, h.amount, h.expiresAt from AuthorizationHold h left join h.account a " +
+            "where h.status = com.bankapp.backend.entity.HoldStatus.ACTIVE")
+    List<Object[]> findActiveSummaries();
+
+    // [accountId, cardId, total] of ACTIVE holds: per account for debit holds, per card for credit holds
+    @Query(value = "select account_id, case when account_id is null then card_id end as card_id, sum(amount) " +
+            "from authorization_holds where status = 'ACTIVE' " +
+            "group by account_id, case when account_id is null then card_id end",
+            nativeQuery = true)
+    List<Object[]> findActiveTotals();
+
+    // [holdId, accountId, cardId, amount] of the given holds that are ACTIVE and past expiry, locked
+    @Query(value = "select id, account_id, card_id, amount from authorization_holds " +
+            "where id in (:ids) and status = 'ACTIVE' and expires_at <= :now order by id for update",
+            nativeQuery = true)
+    List<Object[]> lockExpirable(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update AuthorizationHold h set h.status = com.bankapp.backend.entity.HoldStatus.EXPIRED, h.closedAt = :now " +
+            "where h.id in :ids and h.status = com.bankapp.backend.entity.HoldStatus.ACTIVE")
+    int markExpired(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
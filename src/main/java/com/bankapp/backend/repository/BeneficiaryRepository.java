@@ -1,8 +1,11 @@
 package com.bankapp.backend.repository;
 
+import com.bankapp.backend.dto.BeneficiaryResponse;
 import com.bankapp.backend.entity.Beneficiary;
 import com.bankapp.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,6 +14,17 @@ public interface BeneficiaryRepository extends JpaRepository<Beneficiary, Long>
 
     List<Beneficiary> findByOwner(User owner);
 
+    // read views straight into the response DTO, owner joined in the same select
+    @Query("select new com.bankapp.backend.dto.BeneficiaryResponse(b.id, b.beneficiaryName, b.nickname, b.accountNumber, " +
+            "b.bankName, b.ifsc, b.internal, b.beneficiaryUserId, o.id, o.username, b.createdAt) " +
+            "from Beneficiary b join b.owner o where o.username = :username order by b.id")
+    List<BeneficiaryResponse> findViewsByOwner(@Param("username") String username);
+
+    @Query("select new com.bankapp.backend.dto.BeneficiaryResponse(b.id, b.beneficiaryName, b.nickname, b.accountNumber, " +
+            "b.bankName, b.ifsc, b.internal, b.beneficiaryUserId, o.id, o.username, b.createdAt) " +
+            "from Beneficiary b join b.owner o where b.id = :id and o.username = :username")
+    Optional<BeneficiaryResponse> findViewByIdAndOwner(@Param("id") Long id, @Param("username") String username);
+
     Optional<Beneficiary> findByIdAndOwner(Long id, User owner);
 
     boolean existsByOwnerAndAccountNumber(User owner, String accountNumber);
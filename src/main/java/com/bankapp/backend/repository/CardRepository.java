@@ -1,14 +1,68 @@
 package com.bankapp.backend.repository;
 
+import com.bankapp.backend.dto.CardAuthState;
+import com.bankapp.backend.dto.CardResponse;
 import com.bankapp.backend.entity.Card;
 import com.bankapp.backend.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface CardRepository extends JpaRepository<Card, Long> {
     List<Card> findByOwner(User owner);
     Optional<Card> findByIdAndOwner(Long id, User owner);
-    Optional<Card> findByCardNumber(String cardNumber);
+    // card number lookups: pass PanHasher.hash(cardNumber)
+    Optional<Card> findByPanHash(String panHash);
+
+    @Query("select new com.bankapp.backend.dto.CardAuthState(c.id, c.status, c.cardType, c.internationalUsageEnabled, " +
+            "o.id, o.username, la.id) from Card c join c.owner o left join c.linkedAccount la where c.id = :id")
+    Optional<CardAuthState> findAuthState(@Param("id") Long id);
+
+    // single-card read for the owner, straight into the response DTO (no entity, no owner load)
+    @Query("select new com.bankapp.backend.dto.CardResponse(c.id, " +
+            "case when c.last4 is null then null else concat('**** **** **** ', c.last4) end, " +
+            "c.cardType, c.status, c.internationalUsageEnabled, c.creditLimit, c.outstandingAmount, c.expiry, " +
+            "o.id, c.appliedAt, c.issuedAt, c.updatedAt) " +
+            "from Card c join c.owner o where c.id = :id and o.username = :username")
+    Optional<CardResponse> findViewByIdAndOwner(@Param("id") Long id, @Param("username") String username);
+
+    @Query("select new com.bankapp.backend.dto.CardResponse(c.id, " +
+            "case when c.last4 is null then null else concat('**** **** **** ', c.last4) end, " +
+            "c.cardType, c.status, c.internationalUsageEnabled, c.creditLimit, c.outstandingAmount, c.expiry, " +
+            "o.id, c.appliedAt, c.issuedAt, c.updatedAt) " +
+            "from Card c join c.owner o where o.username = :username order by c.id")
+    List<CardResponse> findViewsByOwner(@Param("username") String username);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Card c where c.id = :id")
+    Optional<Card> findByIdForUpdate(@Param("id") Long id);
+
+    // credit limit (less credit reserved by holds) is enforced by the row update itself;
+    // 0 rows = limit exceeded (or not a credit card)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Card c set c.outstandingAmount = c.outstandingAmount + :amount, c.updatedAt = :now " +
+            "where c.id = :id and c.cardType = com.bankapp.backend.entity.CardType.CREDIT " +
+            "and c.outstandingAmount + :amount + :held <= c.creditLimit")
+    int applyCharge(@Param("id") Long id, @Param("amount") BigDecimal amount, @Param("held") BigDecimal held,
+                    @Param("now") LocalDateTime now);
+
+    // capture of a credit hold: the credit was already reserved when the hold was placed
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Card c set c.outstandingAmount = c.outstandingAmount + :amount, c.updatedAt = :now where c.id = :id")
+    int addToOutstanding(@Param("id") Long id, @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
+
+    // 0 rows = payment larger than the outstanding amount
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Card c set c.outstandingAmount = c.outstandingAmount - :amount, c.updatedAt = :now " +
+            "where c.id = :id and c.cardType = com.bankapp.backend.entity.CardType.CREDIT " +
+            "and c.outstandingAmount >= :amount")
+    int applyPayment(@Param("id") Long id, @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
 }
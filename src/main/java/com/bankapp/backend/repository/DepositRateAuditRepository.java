@@ -0,0 +1,10 @@
+package com.bankapp.backend.repository;
+
+import com.bankapp.backend.entity.DepositRateAudit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface DepositRateAuditRepository extends JpaRepository<DepositRateAudit, Long> {
+    List<DepositRateAudit> findBySlabIdOrderByChangedAtDesc(Long slabId);
+}
@@ -0,0 +1,10 @@
+package com.bankapp.backend.repository;
+
+import com.bankapp.backend.entity.DepositRateSlab;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface DepositRateSlabRepository extends JpaRepository<DepositRateSlab, Long> {
+    List<DepositRateSlab> findByActiveTrue();
+}
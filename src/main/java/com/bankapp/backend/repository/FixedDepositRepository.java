@@ -1,13 +1,39 @@
 package com.bankapp.backend.repository;
 
+import com.bankapp.backend.dto.FDResponse;
 import com.bankapp.backend.entity.FixedDeposit;
 import com.bankapp.backend.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 public interface FixedDepositRepository extends JpaRepository<FixedDeposit, Long> {
     List<FixedDeposit> findByOwner(User owner);
+
+    // read views straight into the response DTO; linkedAccount.id is the FK column, no join
+    @Query("select new com.bankapp.backend.dto.FDResponse(fd.id, fd.principal, fd.annualInterestRate, fd.tenureMonths, " +
+            "fd.startDate, fd.maturityDate, fd.maturityAmount, coalesce(cast(fd.compounding as String), 'MONTHLY'), " +
+            "cast(fd.status as String), fd.autoRenew, fd.linkedAccount.id, fd.renewedFromId) " +
+            "from FixedDeposit fd where fd.owner.username = :username order by fd.id")
+    List<FDResponse> findViewsByOwner(@Param("username") String username);
+
+    @Query("select new com.bankapp.backend.dto.FDResponse(fd.id, fd.principal, fd.annualInterestRate, fd.tenureMonths, " +
+            "fd.startDate, fd.maturityDate, fd.maturityAmount, coalesce(cast(fd.compounding as String), 'MONTHLY'), " +
+            "cast(fd.status as String), fd.autoRenew, fd.linkedAccount.id, fd.renewedFromId) " +
+            "from FixedDeposit fd where fd.id = :id and fd.owner.username = :username")
+    Optional<FDResponse> findViewByIdAndOwner(@Param("id") Long id, @Param("username") String username);
     List<FixedDeposit> findByMaturityDateAndStatus(LocalDate maturityDate, com.bankapp.backend.entity.DepositStatus status);
+
+    // keyset-paged maturity scan with owner and linked account fetched in the same select
+    @Query("select fd from FixedDeposit fd join fetch fd.owner left join fetch fd.linkedAccount " +
+            "where fd.maturityDate = :maturityDate and fd.status = :status and fd.id > :afterId order by fd.id")
+    List<FixedDeposit> findMaturingChunk(@Param("maturityDate") LocalDate maturityDate,
+                                         @Param("status") com.bankapp.backend.entity.DepositStatus status,
+                                         @Param("afterId") Long afterId,
+                                         Limit limit);
 }
@@ -0,0 +1,17 @@
+package com.bankapp.backend.repository;
+
+import com.bankapp.backend.entity.PanRange;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface PanRangeRepository extends JpaRepository<PanRange, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from PanRange r where r.bin = :bin")
+    Optional<PanRange> findByBinForUpdate(@Param("bin") String bin);
+}
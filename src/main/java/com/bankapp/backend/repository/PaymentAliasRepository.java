@@ -0,0 +1,31 @@
+package com.bankapp.backend.repository;
+
+import com.bankapp.backend.dto.PaymentAliasResponse;
+import com.bankapp.backend.entity.PaymentAlias;
+import com.bankapp.backend.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface PaymentAliasRepository extends JpaRepository<PaymentAlias, Long> {
+
+    List<PaymentAlias> findByOwner(User owner);
+
+    // read view with the account number joined in the same select
+    @Query("select new com.bankapp.backend.dto.PaymentAliasResponse(p.id, p.alias, a.id, a.accountNumber, p.createdAt) " +
+            "from PaymentAlias p join p.account a where p.owner.username = :username order by p.id")
+    List<PaymentAliasResponse> findViewsByOwner(@Param("username") String username);
+
+    Optional<PaymentAlias> findByAliasAndOwner(String alias, User owner);
+
+    boolean existsByAlias(String alias);
+
+    // IMPS by alias: the account id alone, without loading the alias or account entity
+    @Query("select p.account.id from PaymentAlias p where p.alias = :alias")
+    Optional<Long> findAccountIdByAlias(@Param("alias") String alias);
+
+    long countByOwner(User owner);
+}
@@ -1,13 +1,30 @@
 package com.bankapp.backend.repository;
 
+import com.bankapp.backend.dto.RDResponse;
 import com.bankapp.backend.entity.RecurringDeposit;
 import com.bankapp.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 public interface RecurringDepositRepository extends JpaRepository<RecurringDeposit, Long> {
     List<RecurringDeposit> findByOwner(User owner);
+
+    // read views straight into the response DTO; linkedAccount.id is the FK column, no join
+    @Query("select new com.bankapp.backend.dto.RDResponse(rd.id, rd.monthlyInstallment, rd.annualInterestRate, " +
+            "rd.tenureMonths, rd.startDate, rd.maturityDate, rd.maturityAmount, cast(rd.status as String), " +
+            "rd.linkedAccount.id) " +
+            "from RecurringDeposit rd where rd.owner.username = :username order by rd.id")
+    List<RDResponse> findViewsByOwner(@Param("username") String username);
+
+    @Query("select new com.bankapp.backend.dto.RDResponse(rd.id, rd.monthlyInstallment, rd.annualInterestRate, " +
+            "rd.tenureMonths, rd.startDate, rd.maturityDate, rd.maturityAmount, cast(rd.status as String), " +
+            "rd.linkedAccount.id) " +
+            "from RecurringDeposit rd where rd.id = :id and rd.owner.username = :username")
+    Optional<RDResponse> findViewByIdAndOwner(@Param("id") Long id, @Param("username") String username);
     List<RecurringDeposit> findByMaturityDateAndStatus(LocalDate maturityDate, com.bankapp.backend.entity.DepositStatus status);
 }
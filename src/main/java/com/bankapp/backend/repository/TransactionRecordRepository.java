@@ -1,11 +1,22 @@
 package com.bankapp.backend.repository;
 
+import com.bankapp.backend.dto.TransactionResponse;
 import com.bankapp.backend.entity.TransactionRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface TransactionRecordRepository extends JpaRepository<TransactionRecord, Long> {
 
     Optional<TransactionRecord> findByReference(String reference);
+
+    // read view with both account numbers and the owning users joined in the same select
+    @Query("select new com.bankapp.backend.dto.TransactionResponse(t.id, t.reference, t.type, t.status, " +
+            "fa.id, fa.accountNumber, ta.id, ta.accountNumber, t.card.id, t.beneficiaryName, t.beneficiaryAccountNumber, " +
+            "t.beneficiaryIfsc, t.amount, t.narration, t.createdAt, t.processedAt, fa.owner.id, ta.owner.id, c.owner.id) " +
+            "from TransactionRecord t left join t.fromAccount fa left join t.toAccount ta left join t.card c " +
+            "where t.reference = :reference")
+    Optional<TransactionResponse> findViewByReference(@Param("reference") String reference);
 }
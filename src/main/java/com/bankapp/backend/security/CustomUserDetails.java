@@ -16,6 +16,8 @@ public class CustomUserDetails implements UserDetails {
         this.user = user;
     }
 
+    public Long getId() { return user.getId(); }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         String roleName = "ROLE_" + user.getRole().name();
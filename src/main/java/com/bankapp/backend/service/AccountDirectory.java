@@ -0,0 +1,205 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.config.Bulkhead;
+import com.bankapp.backend.config.UseBulkhead;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory directory of our own account numbers, used to tell internal beneficiaries
+ * from external ones without a query.
+ * <p>
+ * Most lookups are for external accounts, so a Bloom filter answers those first; only
+ * numbers it might contain go on to the map of account number to (account, owner).
+ * Owners are shared between their accounts. The directory is loaded at startup, updated
+ * by {@link #addAfterCommit} when an account is opened here, and rebuilt on a timer to
+ * pick up accounts opened through another instance. Until the first load completes,
+ * {@link #isLoaded()} is false and callers should use the database.
+ * <p>
+ * A hit is final. A miss is final only when the Bloom filter rules the number out and
+ * {@link #isCurrent()} confirms no account was opened elsewhere since the snapshot;
+ * any other miss has to be checked against the database.
+ * <p>
+ * Ids are allocated at insert but commit in any order, so an account with an id below the
+ * highest loaded one may still commit after the load read past it. {@link #isCurrent()}
+ * therefore counts the accounts in a recent id window, starting
+ * {@code app.accounts.directory.recent-window} ids below the highest id seen before the
+ * load, and compares that with the snapshot's own count for the window. Its answer is
+ * reused for {@code app.accounts.directory.current-check-ms}, so an account opened through
+ * another instance can be missed for that long.
+ */
+@Slf4j
+@Component
+public class AccountDirectory {
+
+    public record Owner(long userId, String fullName, String username) {}
+
+    public record Entry(long accountId, Owner owner) {}
+
+    private static final String LOAD = """
+            select a.id, a.account_number, u.id as user_id, u.full_name, u.username
+            from accounts a join users u on u.id = a.user_id
+            where a.account_number is not null
+            """;
+
+    private static final String LATEST_ACCOUNT_ID = "select max(id) from accounts";
+
+    // primary key range scan over the recent id window only
+    private static final String RECENT_ACCOUNTS =
+            "select count(*) from accounts where id > ? and account_number is not null";
+
+    private static final class Snapshot {
+        final BloomFilter filter;
+        final Map<String, Entry> byNumber;
+        final long windowStartId;
+        final AtomicLong recentAccounts = new AtomicLong();
+
+        Snapshot(long expected, double fpp, long windowStartId) {
+            this.filter = new BloomFilter(expected, fpp);
+            this.byNumber = new ConcurrentHashMap<>((int) Math.min(expected, 1 << 24));
+            this.windowStartId = windowStartId;
+        }
+
+        void put(String accountNumber, Entry entry) {
+            if (byNumber.put(accountNumber, entry) == null && entry.accountId() > windowStartId) {
+                recentAccounts.incrementAndGet();
+            }
+            filter.add(accountNumber);
+        }
+    }
+
+    private record CurrentCheck(Snapshot snapshot, long checkedAtNanos, boolean current) {}
+
+    private final JdbcTemplate jdbc;
+    private final long expectedAccounts;
+    private final double falsePositiveRate;
+    private final long recentWindow;
+    private final long currentCheckNanos;
+
+    private volatile Snapshot snapshot;
+    private volatile CurrentCheck lastCheck;
+    private List<Map.Entry<String, Entry>> addedDuringReload; // guarded by this
+
+    public AccountDirectory(JdbcTemplate jdbc,
+                            @Value("${app.accounts.directory.expected-accounts:1000000}") long expectedAccounts,
+                            @Value("${app.accounts.directory.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${app.accounts.directory.recent-window:10000}") long recentWindow,
+                            @Value("${app.accounts.directory.current-check-ms:1000}") long currentCheckMs) {
+        this.jdbc = jdbc;
+        this.expectedAccounts = expectedAccounts;
+        this.falsePositiveRate = falsePositiveRate;
+        this.recentWindow = recentWindow;
+        this.currentCheckNanos = TimeUnit.MILLISECONDS.toNanos(currentCheckMs);
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    public Optional<Entry> find(String accountNumber) {
+        Snapshot s = snapshot;
+        if (s == null || accountNumber == null || !s.filter.mightContain(accountNumber)) return Optional.empty();
+        return Optional.ofNullable(s.byNumber.get(accountNumber));
+    }
+
+    /** False only when the number is certainly not in the snapshot. */
+    public boolean mightContain(String accountNumber) {
+        Snapshot s = snapshot;
+        return s == null || accountNumber == null || s.filter.mightContain(accountNumber);
+    }
+
+    /** True when no account was opened since the snapshot, as of at most current-check-ms ago. */
+    public boolean isCurrent() {
+        Snapshot s = snapshot;
+        if (s == null) return false;
+        long now = System.nanoTime();
+        CurrentCheck last = lastCheck;
+        if (last != null && last.snapshot() == s && now - last.checkedAtNanos() < currentCheckNanos) {
+            return last.current();
+        }
+        Long recent = jdbc.queryForObject(RECENT_ACCOUNTS, Long.class, s.windowStartId);
+        // accounts are never deleted, so the database count only ever catches up with ours
+        boolean current = recent == null || recent <= s.recentAccounts.get();
+        lastCheck = new CurrentCheck(s, now, current);
+        return current;
+    }
+
+    /** Makes a newly opened account visible once its transaction commits. */
+    public void addAfterCommit(String accountNumber, long accountId, Owner owner) {
+        Entry entry = new Entry(accountId, owner);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(accountNumber, entry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(accountNumber, entry);
+            }
+        });
+    }
+
+    private synchronized void add(String accountNumber, Entry entry) {
+        Snapshot s = snapshot;
+        if (s != null) {
+            s.put(accountNumber, entry);
+            // past capacity the false-positive rate climbs; the next reload resizes
+        }
+        if (addedDuringReload != null) addedDuringReload.add(Map.entry(accountNumber, entry));
+    }
+
+    @UseBulkhead(Bulkhead.MAINTENANCE)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.accounts.directory.refresh-ms:600000}", initialDelayString = "${app.accounts.directory.refresh-ms:600000}")
+    public void reload() {
+        long started = System.currentTimeMillis();
+        synchronized (this) {
+            addedDuringReload = new ArrayList<>();
+        }
+        try {
+            Long count = jdbc.queryForObject("select count(*) from accounts where account_number is not null", Long.class);
+            long expected = Math.max(expectedAccounts, (count == null ? 0 : count) * 2);
+            // read before the load, so any id still uncommitted during it falls in the window
+            Long latest = jdbc.queryForObject(LATEST_ACCOUNT_ID, Long.class);
+            long windowStart = Math.max(0, (latest == null ? 0 : latest) - recentWindow);
+            Snapshot fresh = new Snapshot(expected, falsePositiveRate, windowStart);
+            Map<Long, Owner> owners = new HashMap<>();
+            jdbc.query(LOAD, rs -> {
+                long userId = rs.getLong("user_id");
+                Owner owner = owners.get(userId);
+                if (owner == null) {
+                    owner = new Owner(userId, rs.getString("full_name"), rs.getString("username"));
+                    owners.put(userId, owner);
+                }
+                fresh.put(rs.getString("account_number"), new Entry(rs.getLong("id"), owner));
+            });
+            synchronized (this) {
+                // accounts committed while we were reading may be missing from the result set
+                addedDuringReload.forEach(e -> fresh.put(e.getKey(), e.getValue()));
+                snapshot = fresh;
+            }
+            log.info("Account directory loaded: {} accounts, {} owners in {} ms",
+                    fresh.byNumber.size(), owners.size(), System.currentTimeMillis() - started);
+        } finally {
+            synchronized (this) {
+                addedDuringReload = null;
+            }
+        }
+    }
+}
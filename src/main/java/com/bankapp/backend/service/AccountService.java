@@ -1,5 +1,7 @@
 package com.bankapp.backend.service;
 
+import com.bankapp.backend.config.Bulkhead;
+import com.bankapp.backend.config.UseBulkhead;
 import com.bankapp.backend.dto.AccountResponse;
 import com.bankapp.backend.dto.DepositRequest;
 import com.bankapp.backend.dto.DepositResponse;
@@ -21,6 +23,7 @@ import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@UseBulkhead(Bulkhead.WRITE)
 public class AccountService {
 
     private final AccountRepository accountRepository;
@@ -28,6 +31,8 @@ public class AccountService {
 
     private final TransactionRecordRepository txRepo;
     private final FailedTransactionRepository failedRepo;
+    private final SpendAggregates spendAggregates;
+    private final AccountDirectory accountDirectory;
 
     @Transactional
     public AccountResponse openAccount(OpenAccountRequest request, String username) {
@@ -58,31 +63,24 @@ public class AccountService {
 
         // 3️⃣ SECOND SAVE (update accountNumber)
         account = accountRepository.save(account);
+        accountDirectory.addAfterCommit(accountNumber, account.getId(),
+                new AccountDirectory.Owner(user.getId(), user.getFullName(), user.getUsername()));
 
         return toResponse(account);
     }
 
 
+    @UseBulkhead(Bulkhead.READ)
     @Transactional(readOnly = true)
     public List<AccountResponse> getMyAccounts(String username) {
-        var user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found: " + username));
-
-        var accounts = accountRepository.findByOwner(user);
-        return accounts.stream()
-                .map(this::toResponse)
-                .toList();
+        return accountRepository.findViewsByOwner(username);
     }
 
+    @UseBulkhead(Bulkhead.READ)
     @Transactional(readOnly = true)
     public AccountResponse getAccountDetails(Long id, String username) {
-        var user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found: " + username));
-
-        var account = accountRepository.findByIdAndOwner(id, user)
+        return accountRepository.findViewByIdAndOwner(id, username)
                 .orElseThrow(() -> new RuntimeException("Account not found or not owned by user"));
-
-        return toResponse(account);
     }
 
     private String generateAccountNumber(AccountType type, Long id) {
@@ -142,6 +140,7 @@ public class AccountService {
             BigDecimal before = toAccount.getBalance() == null ? BigDecimal.ZERO : toAccount.getBalance();
             toAccount.setBalance(before.add(req.getAmount()));
             accountRepository.save(toAccount);
+            spendAggregates.recordCredit(toAccount.getId(), SpendAggregates.DEPOSIT, req.getAmount());
 
             // mark tx success
             tx.setStatus(TransactionStatus.SUCCESS);
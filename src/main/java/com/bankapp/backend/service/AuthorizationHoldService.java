@@ -0,0 +1,299 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.config.Bulkhead;
+import com.bankapp.backend.config.UseBulkhead;
+import com.bankapp.backend.dto.CaptureHoldRequest;
+import com.bankapp.backend.dto.HoldResponse;
+import com.bankapp.backend.dto.PlaceHoldRequest;
+import com.bankapp.backend.entity.*;
+import com.bankapp.backend.repository.AccountRepository;
+import com.bankapp.backend.repository.AuthorizationHoldRepository;
+import com.bankapp.backend.repository.CardRepository;
+import com.bankapp.backend.repository.TransactionRecordRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Card authorization holds: place (reserve balance or credit), capture (fully or
+ * partially, releasing the rest), release, and automatic expiry.
+ * <p>
+ * Reserved amounts live in {@link HoldLedger}; expiry deadlines live in a
+ * {@link HoldExpiryWheel} whose due holds are expired in bulk by {@link #sweepExpired()}.
+ * Both are rebuilt from the ACTIVE rows at startup, and the ledger is reconciled with
+ * authorization_holds every few seconds to pick up holds placed through other instances.
+ * Every debit from an account (spends, transfers, bill payments, RD instalments) leaves
+ * the account's held amount in place.
+ */
+@Slf4j
+@Service
+@UseBulkhead(Bulkhead.WRITE)
+public class AuthorizationHoldService {
+
+    private static final int EXPIRE_CHUNK = 1000;
+
+    private final AuthorizationHoldRepository holdRepository;
+    private final CardRepository cardRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRecordRepository txRepo;
+    private final CardAuthorizer cardAuthorizer;
+    private final CardAuthorizationCache cardAuthCache;
+    private final HoldLedger ledger;
+    private final SpendAggregates spendAggregates;
+    private final TransactionTemplate transactionTemplate;
+    private final HoldExpiryWheel wheel;
+    private final int defaultTtlMinutes;
+
+    public AuthorizationHoldService(AuthorizationHoldRepository holdRepository,
+                                    CardRepository cardRepository,
+                                    AccountRepository accountRepository,
+                                    TransactionRecordRepository txRepo,
+                                    CardAuthorizer cardAuthorizer,
+                                    CardAuthorizationCache cardAuthCache,
+                                    HoldLedger ledger,
+                                    SpendAggregates spendAggregates,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${app.cards.holds.default-ttl-minutes:10080}") int defaultTtlMinutes,
+                                    @Value("${app.cards.holds.wheel-tick-ms:60000}") long wheelTickMs,
+                                    @Value("${app.cards.holds.wheel-slots:1440}") int wheelSlots) {
+        this.holdRepository = holdRepository;
+        this.cardRepository = cardRepository;
+        this.accountRepository = accountRepository;
+        this.txRepo = txRepo;
+        this.cardAuthorizer = cardAuthorizer;
+        this.cardAuthCache = cardAuthCache;
+        this.ledger = ledger;
+        this.spendAggregates = spendAggregates;
+        this.transactionTemplate = transactionTemplate;
+        this.defaultTtlMinutes = defaultTtlMinutes;
+        this.wheel = new HoldExpiryWheel(wheelTickMs, wheelSlots, System.currentTimeMillis());
+    }
+
+    // runs before the web server accepts requests, so no spend sees an empty ledger
+    @PostConstruct
+    void rebuild() {
+        List<Object[]> active = holdRepository.findActiveSummaries();
+        for (Object[] row : active) {
+            wheel.schedule((Long) row[0], toMillis((LocalDateTime) row[4]));
+        }
+        ledger.reload(() -> active.stream().map(row -> new Object[]{row[1], row[2], row[3]}).toList());
+        log.info("Loaded {} active authorization holds", active.size());
+    }
+
+    // holds placed and closed through other instances only reach this ledger here
+    @UseBulkhead(Bulkhead.MAINTENANCE)
+    @Scheduled(fixedDelayString = "${app.cards.holds.reconcile-ms:10000}", initialDelayString = "${app.cards.holds.reconcile-ms:10000}")
+    public void reconcileLedger() {
+        ledger.reload(holdRepository::findActiveTotals);
+    }
+
+    @Transactional
+    public HoldResponse placeHold(PlaceHoldRequest req, String username) {
+        var card = cardAuthorizer.authorizeHold(req, username);
+        Account account = null;
+
+        if (card.cardType() == CardType.DEBIT) {
+            // account row lock serialises holds and spends on the same account
+            account = accountRepository.findByIdForUpdate(req.getFromAccountId())
+                    .orElseThrow(() -> new RuntimeException("From account not found"));
+            if (!account.getOwner().getId().equals(card.ownerId())) {
+                throw new AccessDeniedException("From account does not belong to the card owner");
+            }
+            BigDecimal available = account.getBalance().subtract(ledger.heldOnAccount(account.getId()));
+            if (available.compareTo(req.getAmount()) < 0) {
+                throw new RuntimeException("Insufficient available balance");
+            }
+        } else {
+            var locked = cardRepository.findByIdForUpdate(card.cardId())
+                    .orElseThrow(() -> new RuntimeException("Card not found"));
+            BigDecimal limit = locked.getCreditLimit() == null ? BigDecimal.ZERO : locked.getCreditLimit();
+            BigDecimal available = limit.subtract(locked.getOutstandingAmount()).subtract(ledger.heldOnCard(card.cardId()));
+            if (available.compareTo(req.getAmount()) < 0) {
+                throw new RuntimeException("Credit limit exceeded");
+            }
+        }
+
+        var now = LocalDateTime.now();
+        int ttl = req.getTtlMinutes() != null ? req.getTtlMinutes() : defaultTtlMinutes;
+        AuthorizationHold hold = holdRepository.save(AuthorizationHold.builder()
+                .reference(CardService.generateReference("HOLD"))
+                .card(cardRepository.getReferenceById(card.cardId()))
+                .account(account)
+                .amount(req.getAmount())
+                .merchant(req.getMerchant())
+                .status(HoldStatus.ACTIVE)
+                .createdAt(now)
+                .expiresAt(now.plusMinutes(ttl))
+                .build());
+
+        ledger.reserve(account != null ? account.getId() : null, card.cardId(), hold.getAmount());
+        scheduleAfterCommit(hold.getId(), hold.getExpiresAt());
+        return toResponse(hold);
+    }
+
+    @Transactional
+    public HoldResponse captureHold(Long holdId, CaptureHoldRequest req, String username) {
+        var hold = loadOwnedActiveHold(holdId, username);
+        BigDecimal amount = req == null || req.getAmount() == null ? hold.getAmount() : req.getAmount();
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) throw new RuntimeException("Invalid amount");
+        if (amount.compareTo(hold.getAmount()) > 0) throw new RuntimeException("Capture amount exceeds hold amount");
+
+        Long cardId = hold.getCard().getId();
+        Long accountId = hold.getAccount() != null ? hold.getAccount().getId() : null;
+        var now = LocalDateTime.now();
+
+        if (accountId != null) {
+            Long ownerId = cardAuthCache.get(cardId).orElseThrow(() -> new RuntimeException("Card not found")).ownerId();
+            // this hold's own reservation is what pays for the capture; other holds stay reserved
+            BigDecimal otherHolds = ledger.heldOnAccount(accountId).subtract(hold.getAmount()).max(BigDecimal.ZERO);
+            if (accountRepository.debitIfSufficient(accountId, ownerId, amount, otherHolds) == 0) {
+                throw new RuntimeException("Insufficient balance");
+            }
+            spendAggregates.recordDebit(accountId, SpendAggregates.cardCategory(hold.getMerchant()), amount);
+        } else {
+            cardRepository.addToOutstanding(cardId, amount, now);
+        }
+
+        String reference = CardService.generateReference("CARD");
+        String narration = req != null && req.getNarration() != null ? req.getNarration()
+                : (accountId != null ? "Card spend - " : "Card charge - ") + hold.getMerchant();
+        txRepo.save(TransactionRecord.builder()
+                .reference(reference)
+                .type(TransactionType.CARD)
+                .status(TransactionStatus.SUCCESS)
+                .fromAccount(accountId != null ? accountRepository.getReferenceById(accountId) : null)
+                .card(cardRepository.getReferenceById(cardId))
+                .beneficiaryName(hold.getMerchant())
+                .amount(amount)
+                .narration(narration)
+                .processedAt(now)
+                .build());
+
+        // the bulk updates above cleared the persistence context: reload before closing the hold
+        hold = holdRepository.findById(holdId).orElseThrow(() -> new RuntimeException("Hold not found"));
+        hold.setStatus(HoldStatus.CAPTURED);
+        hold.setCapturedAmount(amount);
+        hold.setTransactionReference(reference);
+        hold.setClosedAt(now);
+        holdRepository.save(hold);
+
+        // the whole hold is freed; the captured part is now in the balance/outstanding amount
+        ledger.releaseAfterCommit(accountId, cardId, hold.getAmount());
+        return toResponse(hold);
+    }
+
+    @Transactional
+    public HoldResponse releaseHold(Long holdId, String username) {
+        var hold = loadOwnedActiveHold(holdId, username);
+        hold.setStatus(HoldStatus.RELEASED);
+        hold.setClosedAt(LocalDateTime.now());
+        holdRepository.save(hold);
+
+        ledger.releaseAfterCommit(hold.getAccount() != null ? hold.getAccount().getId() : null,
+                hold.getCard().getId(), hold.getAmount());
+        return toResponse(hold);
+    }
+
+    /**
+     * Expires holds whose deadline has passed. The wheel hands over the due ids; holds
+     * already captured or released are skipped by the status check.
+     */
+    @UseBulkhead(Bulkhead.MAINTENANCE)
+    @Scheduled(fixedDelayString = "${app.cards.holds.sweep-ms:60000}")
+    public void sweepExpired() {
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        if (due.isEmpty()) return;
+
+        int expired = 0;
+        for (int i = 0; i < due.size(); i += EXPIRE_CHUNK) {
+            List<Long> chunk = due.subList(i, Math.min(i + EXPIRE_CHUNK, due.size()));
+            try {
+                Integer n = transactionTemplate.execute(status -> expireChunk(chunk));
+                expired += n == null ? 0 : n;
+            } catch (RuntimeException e) {
+                // put them back so the next sweep retries
+                log.warn("Expiring {} holds failed, retrying next sweep: {}", chunk.size(), e.getMessage());
+                long retryAt = System.currentTimeMillis();
+                chunk.forEach(id -> wheel.schedule(id, retryAt));
+            }
+        }
+        if (expired > 0) log.info("Expired {} authorization holds", expired);
+    }
+
+    private int expireChunk(List<Long> ids) {
+        var now = LocalDateTime.now();
+        List<Object[]> rows = holdRepository.lockExpirable(ids, now);
+        if (rows.isEmpty()) return 0;
+
+        List<Long> lockedIds = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            lockedIds.add(((Number) row[0]).longValue());
+            Long accountId = row[1] == null ? null : ((Number) row[1]).longValue();
+            Long cardId = ((Number) row[2]).longValue();
+            ledger.releaseAfterCommit(accountId, cardId, (BigDecimal) row[3]);
+        }
+        return holdRepository.markExpired(lockedIds, now);
+    }
+
+    private AuthorizationHold loadOwnedActiveHold(Long holdId, String username) {
+        var hold = holdRepository.findByIdForUpdate(holdId)
+                .orElseThrow(() -> new RuntimeException("Hold not found"));
+        var card = cardAuthCache.get(hold.getCard().getId())
+                .orElseThrow(() -> new RuntimeException("Card not found"));
+        if (!card.ownerUsername().equals(username)) {
+            throw new AccessDeniedException("Not owner of the card");
+        }
+        if (hold.getStatus() != HoldStatus.ACTIVE || !hold.getExpiresAt().isAfter(LocalDateTime.now())) {
+            throw new RuntimeException("Hold is not active");
+        }
+        return hold;
+    }
+
+    // a rolled-back hold must not be expired later, so it only enters the wheel on commit
+    private void scheduleAfterCommit(Long holdId, LocalDateTime expiresAt) {
+        long deadline = toMillis(expiresAt);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            wheel.schedule(holdId, deadline);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                wheel.schedule(holdId, deadline);
+            }
+        });
+    }
+
+    private static long toMillis(LocalDateTime t) {
+        return t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private HoldResponse toResponse(AuthorizationHold h) {
+        return HoldResponse.builder()
+                .id(h.getId())
+                .reference(h.getReference())
+                .cardId(h.getCard().getId())
+                .accountId(h.getAccount() != null ? h.getAccount().getId() : null)
+                .amount(h.getAmount())
+                .capturedAmount(h.getCapturedAmount())
+                .merchant(h.getMerchant())
+                .status(h.getStatus())
+                .transactionReference(h.getTransactionReference())
+                .createdAt(h.getCreatedAt())
+                .expiresAt(h.getExpiresAt())
+                .closedAt(h.getClosedAt())
+                .build();
+    }
+}
@@ -0,0 +1,282 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.config.Bulkhead;
+import com.bankapp.backend.config.UseBulkhead;
+import com.bankapp.backend.dto.AddBeneficiaryRequest;
+import com.bankapp.backend.dto.BulkBeneficiaryImportResponse;
+import com.bankapp.backend.dto.BulkBeneficiaryImportResponse.Outcome;
+import com.bankapp.backend.dto.BulkBeneficiaryImportResponse.Row;
+import com.bankapp.backend.dto.IfscBranch;
+import com.bankapp.backend.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk payee registration. Rows are validated one by one in memory; the database work is
+ * set-based per chunk: one query for payees the user already has, one internal-account
+ * lookup (served by {@link AccountDirectory} once it is loaded) and one batched insert.
+ * Every row gets an outcome in the response; a bad row never fails the others.
+ * Imports are user requests, so they run in the WRITE bulkhead and fail fast when it is full.
+ */
+@Slf4j
+@Service
+@UseBulkhead(Bulkhead.WRITE)
+public class BeneficiaryImportService {
+
+    private static final String EXISTING = """
+            select account_number from beneficiaries
+            where owner_id = :ownerId and account_number in (:numbers)
+            """;
+
+    private static final String INTERNAL_ACCOUNTS =
+            "select account_number, user_id from accounts where account_number in (:numbers)";
+
+    private static final String INSERT = """
+            insert into beneficiaries (owner_id, beneficiary_name, nickname, account_number, bank_name, ifsc, internal, beneficiary_user_id, created_at)
+            values (:ownerId, :name, :nickname, :accountNumber, :bankName, :ifsc, :internal, :beneficiaryUserId, :now)
+            """;
+
+    private static final List<String> CSV_COLUMNS = List.of("beneficiaryName", "accountNumber", "bankName", "ifsc", "nickname");
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final AccountDirectory accountDirectory;
+    private final IfscDirectory ifscDirectory;
+    private final BeneficiarySearchIndex searchIndex;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxRows;
+
+    public BeneficiaryImportService(NamedParameterJdbcTemplate jdbc,
+                                    TransactionTemplate transactionTemplate,
+                                    UserRepository userRepository,
+                                    AccountDirectory accountDirectory,
+                                    IfscDirectory ifscDirectory,
+                                    BeneficiarySearchIndex searchIndex,
+                                    Validator validator,
+                                    @Value("${app.beneficiaries.import.chunk-size:500}") int chunkSize,
+                                    @Value("${app.beneficiaries.import.max-rows:5000}") int maxRows) {
+        this.jdbc = jdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.userRepository = userRepository;
+        this.accountDirectory = accountDirectory;
+        this.ifscDirectory = ifscDirectory;
+        this.searchIndex = searchIndex;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+    }
+
+    // a row that passed validation, waiting for the set-based checks
+    private record Candidate(int index, String name, String nickname, String accountNumber, String bankName, String ifsc) {}
+
+    public BulkBeneficiaryImportResponse importCsv(InputStream csv, String username) {
+        return importRows(parseCsv(csv), username);
+    }
+
+    public BulkBeneficiaryImportResponse importRows(List<AddBeneficiaryRequest> requests, String username) {
+        if (requests == null || requests.isEmpty()) throw new RuntimeException("No beneficiaries to import");
+        if (requests.size() > maxRows) throw new RuntimeException("At most " + maxRows + " beneficiaries per import");
+        Long ownerId = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("Owner user not found")).getId();
+
+        Row[] outcomes = new Row[requests.size()];
+        List<Candidate> candidates = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            AddBeneficiaryRequest req = requests.get(i);
+            String invalid = validate(req);
+            if (invalid != null) {
+                outcomes[i] = outcome(i, req == null ? null : req.getAccountNumber(), Outcome.INVALID, invalid);
+                continue;
+            }
+            String accountNumber = req.getAccountNumber().trim();
+            if (!seen.add(accountNumber)) {
+                outcomes[i] = outcome(i, accountNumber, Outcome.DUPLICATE, "Repeated in this import");
+                continue;
+            }
+            String ifsc = null;
+            String bankName = req.getBankName();
+            if (req.getIfsc() != null && !req.getIfsc().isBlank()) {
+                ifsc = IfscDirectory.normalise(req.getIfsc());
+                if (bankName == null || bankName.isBlank()) {
+                    bankName = ifscDirectory.find(ifsc).map(IfscBranch::bank).orElse(bankName);
+                }
+            }
+            candidates.add(new Candidate(i, req.getBeneficiaryName().trim(), req.getNickname(), accountNumber, bankName, ifsc));
+        }
+
+        for (int from = 0; from < candidates.size(); from += chunkSize) {
+            var chunk = candidates.subList(from, Math.min(from + chunkSize, candidates.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> importChunk(ownerId, chunk, outcomes));
+            } catch (DuplicateKeyException e) {
+                // another request added one of these payees between our check and the insert
+                for (Candidate c : chunk) {
+                    outcomes[c.index()] = outcome(c.index(), c.accountNumber(), Outcome.FAILED,
+                            "Conflicting concurrent change; retry this row");
+                }
+            }
+        }
+
+        searchIndex.invalidate(username);
+
+        var rows = Arrays.asList(outcomes);
+        int created = (int) rows.stream().filter(r -> r.getOutcome() == Outcome.CREATED).count();
+        int duplicates = (int) rows.stream().filter(r -> r.getOutcome() == Outcome.DUPLICATE).count();
+        log.info("Beneficiary import for {}: {} rows, {} created, {} duplicates", username, rows.size(), created, duplicates);
+        return BulkBeneficiaryImportResponse.builder()
+                .received(rows.size())
+                .created(created)
+                .duplicates(duplicates)
+                .failed(rows.size() - created - duplicates)
+                .rows(rows)
+                .build();
+    }
+
+    private void importChunk(Long ownerId, List<Candidate> chunk, Row[] outcomes) {
+        List<String> numbers = chunk.stream().map(Candidate::accountNumber).toList();
+        Set<String> existing = new HashSet<>(jdbc.queryForList(EXISTING,
+                new MapSqlParameterSource().addValue("ownerId", ownerId).addValue("numbers", numbers), String.class));
+        Map<String, Long> internalOwners = internalOwners(numbers);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Candidate> inserts = new ArrayList<>();
+        List<MapSqlParameterSource> params = new ArrayList<>();
+        for (Candidate c : chunk) {
+            if (existing.contains(c.accountNumber())) {
+                outcomes[c.index()] = outcome(c.index(), c.accountNumber(), Outcome.DUPLICATE,
+                        "Beneficiary with this account number already exists for this user");
+                continue;
+            }
+            Long beneficiaryUserId = internalOwners.get(c.accountNumber());
+            inserts.add(c);
+            params.add(new MapSqlParameterSource()
+                    .addValue("ownerId", ownerId)
+                    .addValue("name", c.name())
+                    .addValue("nickname", c.nickname())
+                    .addValue("accountNumber", c.accountNumber())
+                    .addValue("bankName", c.bankName())
+                    .addValue("ifsc", c.ifsc())
+                    .addValue("internal", beneficiaryUserId != null)
+                    .addValue("beneficiaryUserId", beneficiaryUserId)
+                    .addValue("now", Timestamp.valueOf(now)));
+        }
+        if (inserts.isEmpty()) return;
+
+        var keys = new GeneratedKeyHolder();
+        jdbc.batchUpdate(INSERT, params.toArray(MapSqlParameterSource[]::new), keys, new String[]{"id"});
+        var generated = keys.getKeyList();
+        for (int k = 0; k < inserts.size(); k++) {
+            Candidate c = inserts.get(k);
+            Long id = k < generated.size() ? ((Number) generated.get(k).values().iterator().next()).longValue() : null;
+            outcomes[c.index()] = Row.builder()
+                    .row(c.index() + 1)
+                    .accountNumber(c.accountNumber())
+                    .outcome(Outcome.CREATED)
+                    .beneficiaryId(id)
+                    .internal(internalOwners.containsKey(c.accountNumber()))
+                    .build();
+        }
+    }
+
+    // account number -> owning user id, for numbers that are our own accounts
+    private Map<String, Long> internalOwners(List<String> numbers) {
+        Map<String, Long> owners = new HashMap<>();
+        if (accountDirectory.isLoaded()) {
+            // misses the directory cannot rule out are looked up in one query below
+            boolean current = accountDirectory.isCurrent();
+            List<String> unsure = new ArrayList<>();
+            for (String n : numbers) {
+                var hit = accountDirectory.find(n);
+                if (hit.isPresent()) owners.put(n, hit.get().owner().userId());
+                else if (!current || accountDirectory.mightContain(n)) unsure.add(n);
+            }
+            if (unsure.isEmpty()) return owners;
+            numbers = unsure;
+        }
+        jdbc.query(INTERNAL_ACCOUNTS, new MapSqlParameterSource("numbers", numbers),
+                rs -> { owners.put(rs.getString("account_number"), rs.getLong("user_id")); });
+        return owners;
+    }
+
+    private String validate(AddBeneficiaryRequest req) {
+        if (req == null) return "Empty row";
+        Set<ConstraintViolation<AddBeneficiaryRequest>> violations = validator.validate(req);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (req.getBankName() != null && req.getBankName().length() > 80) return "bankName is too long";
+        if (req.getIfsc() != null && !req.getIfsc().isBlank()) {
+            try {
+                ifscDirectory.validate(req.getIfsc());
+            } catch (RuntimeException e) {
+                return e.getMessage();
+            }
+        }
+        return null;
+    }
+
+    private static Row outcome(int index, String accountNumber, Outcome outcome, String message) {
+        return Row.builder().row(index + 1).accountNumber(accountNumber).outcome(outcome).message(message).build();
+    }
+
+    // header line naming the columns (any order): beneficiaryName,accountNumber[,bankName][,ifsc][,nickname]
+    private List<AddBeneficiaryRequest> parseCsv(InputStream csv) {
+        try (var reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) throw new RuntimeException("Empty CSV");
+            List<String> columns = Csv.split(header.replace("\uFEFF", ""));
+            int[] pos = new int[CSV_COLUMNS.size()];
+            for (int c = 0; c < pos.length; c++) pos[c] = columns.indexOf(CSV_COLUMNS.get(c));
+            if (pos[0] < 0 || pos[1] < 0) throw new RuntimeException("CSV header must name beneficiaryName and accountNumber");
+
+            List<AddBeneficiaryRequest> rows = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                if (rows.size() == maxRows) throw new RuntimeException("At most " + maxRows + " beneficiaries per import");
+                List<String> f = Csv.split(line);
+                var req = new AddBeneficiaryRequest();
+                req.setBeneficiaryName(field(f, pos[0]));
+                req.setAccountNumber(field(f, pos[1]));
+                req.setBankName(field(f, pos[2]));
+                req.setIfsc(field(f, pos[3]));
+                req.setNickname(field(f, pos[4]));
+                rows.add(req);
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Reading the CSV failed", e);
+        }
+    }
+
+    private static String field(List<String> fields, int pos) {
+        if (pos < 0 || pos >= fields.size()) return null;
+        String v = fields.get(pos).trim();
+        return v.isEmpty() ? null : v;
+    }
+}
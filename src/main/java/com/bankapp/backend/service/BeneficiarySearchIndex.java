@@ -0,0 +1,280 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.dto.BeneficiaryResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Type-ahead search over a user's payees by name, nickname or part of the account number.
+ * <p>
+ * Each user's payees are indexed on first search into a trigram index (words are padded
+ * with a leading space, so "ra" finds names starting with "ra") and the index is dropped
+ * after app.beneficiaries.search.idle-minutes without use. Results are ranked by how many
+ * of the query's trigrams a payee has, with a bonus for a literal match, so small typos
+ * still match. Adds and deletes update a loaded index after commit; changes made through
+ * another instance are picked up when the index is rebuilt, at the latest
+ * app.beneficiaries.search.max-age-minutes after it was loaded, however busy it is.
+ */
+@Component
+public class BeneficiarySearchIndex {
+
+    private static final String LOAD = """
+            select b.id, b.beneficiary_name, b.nickname, b.account_number, b.bank_name, b.ifsc, b.internal,
+                   b.beneficiary_user_id, b.created_at, u.id as owner_id, u.username
+            from beneficiaries b join users u on u.id = b.owner_id
+            where u.username = :username
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final Cache<String, UserIndex> indexes;
+
+    public BeneficiarySearchIndex(NamedParameterJdbcTemplate jdbc,
+                                  @Value("${app.beneficiaries.search.max-users:10000}") long maxUsers,
+                                  @Value("${app.beneficiaries.search.idle-minutes:30}") long idleMinutes,
+                                  @Value("${app.beneficiaries.search.max-age-minutes:60}") long maxAgeMinutes) {
+        this.jdbc = jdbc;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfter(new IdleOrMaxAge(Duration.ofMinutes(idleMinutes), Duration.ofMinutes(maxAgeMinutes)))
+                .build();
+    }
+
+    public List<BeneficiaryResponse> search(String username, String query, int limit) {
+        return indexes.get(username, this::load).search(query, limit);
+    }
+
+    public void addAfterCommit(String username, BeneficiaryResponse beneficiary) {
+        afterCommit(() -> indexes.asMap().computeIfPresent(username, (k, idx) -> {
+            idx.put(beneficiary);
+            return idx;
+        }));
+    }
+
+    public void removeAfterCommit(String username, Long beneficiaryId) {
+        afterCommit(() -> indexes.asMap().computeIfPresent(username, (k, idx) -> {
+            idx.remove(beneficiaryId);
+            return idx;
+        }));
+    }
+
+    // for bulk changes: rebuilt on the next search
+    public void invalidate(String username) {
+        indexes.invalidate(username);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private UserIndex load(String username) {
+        List<BeneficiaryResponse> payees = new ArrayList<>();
+        jdbc.query(LOAD, new MapSqlParameterSource("username", username), rs -> {
+            var created = rs.getTimestamp("created_at");
+            payees.add(BeneficiaryResponse.builder()
+                    .id(rs.getLong("id"))
+                    .beneficiaryName(rs.getString("beneficiary_name"))
+                    .nickname(rs.getString("nickname"))
+                    .accountNumber(rs.getString("account_number"))
+                    .bankName(rs.getString("bank_name"))
+                    .ifsc(rs.getString("ifsc"))
+                    .internal(rs.getBoolean("internal"))
+                    .beneficiaryUserId(rs.getObject("beneficiary_user_id", Long.class))
+                    .ownerId(rs.getLong("owner_id"))
+                    .ownerUsername(rs.getString("username"))
+                    .createdAt(created == null ? null : created.toLocalDateTime())
+                    .build());
+        });
+        UserIndex idx = new UserIndex();
+        idx.putAll(payees);
+        return idx;
+    }
+
+    /**
+     * One user's payees as an immutable snapshot: documents in an array and, per trigram,
+     * the sorted positions of the documents that contain it. Searches read the current
+     * snapshot without locking; adds and deletes (rare next to searches) build a new one.
+     */
+    /**
+     * Idle timeout plus a hard age limit counted from the load. expireAfterWrite would not do:
+     * the in-place adds and removes count as writes and would keep a busy index forever.
+     */
+    private record IdleOrMaxAge(Duration idle, Duration maxAge) implements Expiry<String, UserIndex> {
+
+        private long remaining(UserIndex idx, long now) {
+            return Math.min(idle.toNanos(), idx.loadedAtNanos + maxAge.toNanos() - now);
+        }
+
+        @Override
+        public long expireAfterCreate(String username, UserIndex idx, long now) {
+            return remaining(idx, now);
+        }
+
+        @Override
+        public long expireAfterUpdate(String username, UserIndex idx, long now, long currentDuration) {
+            return Math.min(currentDuration, remaining(idx, now));
+        }
+
+        @Override
+        public long expireAfterRead(String username, UserIndex idx, long now, long currentDuration) {
+            return remaining(idx, now);
+        }
+    }
+
+    static final class UserIndex {
+
+        private final long loadedAtNanos = System.nanoTime();
+
+        private record Doc(BeneficiaryResponse beneficiary, String[] fields, Set<String> grams) {}
+
+        private record Snapshot(Doc[] docs, Map<String, int[]> postings) {}
+
+        private record Scored(Doc doc, double score) {}
+
+        // higher score first, then by name
+        private static final Comparator<Scored> RANKING = Comparator.comparingDouble(Scored::score).reversed()
+                .thenComparing(s -> s.doc().fields()[0]);
+
+        private final Map<Long, Doc> byId = new LinkedHashMap<>(); // guarded by this
+        private volatile Snapshot snapshot = new Snapshot(new Doc[0], Map.of());
+
+        synchronized void put(BeneficiaryResponse b) {
+            putDoc(b);
+            publish();
+        }
+
+        synchronized void putAll(Collection<BeneficiaryResponse> all) {
+            all.forEach(this::putDoc);
+            publish();
+        }
+
+        synchronized void remove(Long id) {
+            if (byId.remove(id) != null) publish();
+        }
+
+        int size() {
+            return snapshot.docs().length;
+        }
+
+        private void putDoc(BeneficiaryResponse b) {
+            String[] fields = {normalise(b.getBeneficiaryName()), normalise(b.getNickname()), normalise(b.getAccountNumber())};
+            Set<String> grams = new HashSet<>();
+            for (String f : fields) addGrams(f, true, grams);
+            byId.put(b.getId(), new Doc(b, fields, grams));
+        }
+
+        private void publish() {
+            Doc[] docs = byId.values().toArray(Doc[]::new);
+            Map<String, int[]> postings = new HashMap<>();
+            Map<String, Integer> lengths = new HashMap<>();
+            for (Doc d : docs) for (String g : d.grams()) lengths.merge(g, 1, Integer::sum);
+            lengths.forEach((g, n) -> postings.put(g, new int[n]));
+            Map<String, Integer> filled = new HashMap<>();
+            for (int i = 0; i < docs.length; i++) {
+                for (String g : docs[i].grams()) postings.get(g)[filled.merge(g, 1, Integer::sum) - 1] = i;
+            }
+            snapshot = new Snapshot(docs, postings);
+        }
+
+        List<BeneficiaryResponse> search(String query, int limit) {
+            String q = normalise(query);
+            if (q.isEmpty()) return List.of();
+            Snapshot snap = snapshot;
+            Doc[] docs = snap.docs();
+
+            List<Scored> scored = new ArrayList<>();
+            if (q.length() < 2) {
+                // a single character has no trigram: literal matches only
+                for (Doc doc : docs) {
+                    double bonus = literalBonus(doc, q);
+                    if (bonus > 0) scored.add(new Scored(doc, bonus));
+                }
+            } else {
+                // the last word may still be being typed, so it gets no trailing pad
+                Set<String> queryGrams = new HashSet<>();
+                addGrams(q, false, queryGrams);
+                int[] hits = new int[docs.length];
+                for (String g : queryGrams) {
+                    int[] positions = snap.postings().get(g);
+                    if (positions != null) for (int p : positions) hits[p]++;
+                }
+                // a literal match has all the query's trigrams but perhaps the leading one, so it passes too
+                int needed = Math.max(1, (int) Math.ceil(queryGrams.size() * 0.6));
+                for (int i = 0; i < docs.length; i++) {
+                    if (hits[i] < needed) continue;
+                    scored.add(new Scored(docs[i], (double) hits[i] / queryGrams.size() + literalBonus(docs[i], q)));
+                }
+            }
+
+            // best `limit` only: a bounded heap with the weakest match on top
+            PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            for (Scored s : scored) {
+                top.add(s);
+                if (top.size() > limit) top.poll();
+            }
+            List<Scored> best = new ArrayList<>(top);
+            best.sort(RANKING);
+            List<BeneficiaryResponse> out = new ArrayList<>(best.size());
+            for (Scored s : best) out.add(s.doc().beneficiary());
+            return out;
+        }
+
+        // 2 when a field or one of its words starts with the query, 1 when it only contains it
+        private static double literalBonus(Doc doc, String q) {
+            double best = 0;
+            for (String f : doc.fields()) {
+                int at = f.indexOf(q);
+                if (at < 0) continue;
+                if (at == 0 || f.charAt(at - 1) == ' ') return 2;
+                best = 1;
+            }
+            return best;
+        }
+
+        // lower case letters and digits, words separated by single spaces
+        static String normalise(String s) {
+            if (s == null) return "";
+            StringBuilder out = new StringBuilder(s.length());
+            boolean space = false;
+            for (int i = 0; i < s.length(); i++) {
+                char c = Character.toLowerCase(s.charAt(i));
+                if (Character.isLetterOrDigit(c)) {
+                    if (space && !out.isEmpty()) out.append(' ');
+                    out.append(c);
+                    space = false;
+                } else {
+                    space = true;
+                }
+            }
+            return out.toString();
+        }
+
+        private static void addGrams(String text, boolean padEnd, Set<String> into) {
+            if (text.isEmpty()) return;
+            String[] words = text.split(" ");
+            for (int w = 0; w < words.length; w++) {
+                boolean last = w == words.length - 1;
+                String padded = " " + words[w] + (padEnd || !last ? " " : "");
+                for (int i = 0; i + 3 <= padded.length(); i++) into.add(padded.substring(i, i + 3));
+            }
+        }
+    }
+}
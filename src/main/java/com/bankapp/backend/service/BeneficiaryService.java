@@ -1,8 +1,10 @@
 package com.bankapp.backend.service;
 
+import com.bankapp.backend.config.Bulkhead;
+import com.bankapp.backend.config.UseBulkhead;
 import com.bankapp.backend.dto.AddBeneficiaryRequest;
 import com.bankapp.backend.dto.BeneficiaryResponse;
-import com.bankapp.backend.entity.Account;
+import com.bankapp.backend.dto.IfscBranch;
 import com.bankapp.backend.entity.Beneficiary;
 import com.bankapp.backend.entity.User;
 import com.bankapp.backend.repository.AccountRepository;
@@ -13,14 +15,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@UseBulkhead(Bulkhead.WRITE)
 public class BeneficiaryService {
 
     private final BeneficiaryRepository beneficiaryRepository;
     private final UserRepository userRepository;
     private final AccountRepository accountRepository;
+    private final AccountDirectory accountDirectory;
+    private final IfscDirectory ifscDirectory;
+    private final BeneficiarySearchIndex searchIndex;
 
     @Transactional
     public BeneficiaryResponse addBeneficiary(AddBeneficiaryRequest req, String username) {
@@ -32,38 +39,54 @@ public class BeneficiaryService {
             throw new RuntimeException("Beneficiary with this account number already exists for this user");
         }
 
+        // external payees need a real branch code; fill the bank name from it when not given
+        String ifsc = null;
+        String bankName = req.getBankName();
+        if (req.getIfsc() != null && !req.getIfsc().isBlank()) {
+            var branch = ifscDirectory.validate(req.getIfsc());
+            ifsc = IfscDirectory.normalise(req.getIfsc());
+            if (bankName == null || bankName.isBlank()) {
+                bankName = branch.map(IfscBranch::bank).orElse(bankName);
+            }
+        }
+
         // check internal account
-        var maybeAccount = accountRepository.findByAccountNumber(req.getAccountNumber());
+        var internalOwner = findInternal(req.getAccountNumber()).map(AccountDirectory.Entry::owner);
 
         Beneficiary b = Beneficiary.builder()
                 .owner(owner)
                 .beneficiaryName(req.getBeneficiaryName())
+                .nickname(req.getNickname())
                 .accountNumber(req.getAccountNumber())
-                .bankName(req.getBankName())
-                .ifsc(req.getIfsc())
-                .internal(maybeAccount.isPresent())
-                .beneficiaryUserId(maybeAccount.map(Account::getOwner).map(User::getId).orElse(null))
+                .bankName(bankName)
+                .ifsc(ifsc)
+                .internal(internalOwner.isPresent())
+                .beneficiaryUserId(internalOwner.map(AccountDirectory.Owner::userId).orElse(null))
                 .build();
 
         b = beneficiaryRepository.save(b);
-        return toResponse(b);
+        var response = toResponse(b);
+        searchIndex.addAfterCommit(username, response);
+        return response;
     }
 
+    @UseBulkhead(Bulkhead.READ)
     @Transactional(readOnly = true)
     public List<BeneficiaryResponse> listMyBeneficiaries(String username) {
-        User owner = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Owner user not found"));
-        var list = beneficiaryRepository.findByOwner(owner);
-        return list.stream().map(this::toResponse).toList();
+        return beneficiaryRepository.findViewsByOwner(username);
     }
 
+    @UseBulkhead(Bulkhead.READ)
     @Transactional(readOnly = true)
     public BeneficiaryResponse getBeneficiary(Long id, String username) {
-        User owner = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Owner user not found"));
-        var b = beneficiaryRepository.findByIdAndOwner(id, owner)
+        return beneficiaryRepository.findViewByIdAndOwner(id, username)
                 .orElseThrow(() -> new RuntimeException("Beneficiary not found or not owned by you"));
-        return toResponse(b);
+    }
+
+    // type-ahead over name, nickname and account number, best matches first
+    @UseBulkhead(Bulkhead.READ)
+    public List<BeneficiaryResponse> searchMyBeneficiaries(String query, int limit, String username) {
+        return searchIndex.search(username, query, limit);
     }
 
     @Transactional
@@ -73,33 +96,49 @@ public class BeneficiaryService {
         var b = beneficiaryRepository.findByIdAndOwner(id, owner)
                 .orElseThrow(() -> new RuntimeException("Beneficiary not found or not owned by you"));
         beneficiaryRepository.delete(b);
+        searchIndex.removeAfterCommit(username, id);
     }
 
     // simple verification: returns true + internal info if account exists in our system
-    @Transactional(readOnly = true)
+    @UseBulkhead(Bulkhead.READ)
     public BeneficiaryResponse verifyAccountNumber(String accountNumber) {
-        var maybeAccount = accountRepository.findByAccountNumber(accountNumber);
+        var maybeAccount = findInternal(accountNumber);
         if (maybeAccount.isEmpty()) {
             return BeneficiaryResponse.builder()
                     .accountNumber(accountNumber)
                     .internal(false)
                     .build();
         }
-        var account = maybeAccount.get();
+        var owner = maybeAccount.get().owner();
         return BeneficiaryResponse.builder()
-                .accountNumber(account.getAccountNumber())
+                .accountNumber(accountNumber)
                 .internal(true)
-                .beneficiaryUserId(account.getOwner().getId())
-                .beneficiaryName(account.getOwner().getFullName())
-                .ownerId(account.getOwner().getId()) // owner here is beneficiary's owner
-                .ownerUsername(account.getOwner().getUsername())
+                .beneficiaryUserId(owner.userId())
+                .beneficiaryName(owner.fullName())
+                .ownerId(owner.userId()) // owner here is beneficiary's owner
+                .ownerUsername(owner.username())
                 .build();
     }
 
+    // served from the in-memory directory; the database is asked before it has loaded and for
+    // misses it cannot rule out (e.g. an account opened through another instance)
+    private Optional<AccountDirectory.Entry> findInternal(String accountNumber) {
+        if (accountDirectory.isLoaded()) {
+            Optional<AccountDirectory.Entry> hit = accountDirectory.find(accountNumber);
+            if (hit.isPresent() || (!accountDirectory.mightContain(accountNumber) && accountDirectory.isCurrent())) {
+                return hit;
+            }
+        }
+        return accountRepository.findWithOwnerByAccountNumber(accountNumber)
+                .map(a -> new AccountDirectory.Entry(a.getId(), new AccountDirectory.Owner(
+                        a.getOwner().getId(), a.getOwner().getFullName(), a.getOwner().getUsername())));
+    }
+
     private BeneficiaryResponse toResponse(Beneficiary b) {
         return BeneficiaryResponse.builder()
                 .id(b.getId())
                 .beneficiaryName(b.getBeneficiaryName())
+                .nickname(b.getNickname())
                 .accountNumber(b.getAccountNumber())
                 .bankName(b.getBankName())
                 .ifsc(b.getIfsc())
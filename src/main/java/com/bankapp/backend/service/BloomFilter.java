@@ -0,0 +1,72 @@
+package com.bankapp.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over strings: {@link #mightContain} never returns false for a
+ * key that was added, and returns true for an absent key with roughly the configured
+ * false-positive rate while no more than the expected number of keys are added.
+ * Bits are only ever set, so concurrent adds and reads need no locking.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final long capacity;
+
+    BloomFilter(long expectedKeys, double falsePositiveRate) {
+        long n = Math.max(1, expectedKeys);
+        // optimal m = -n ln p / (ln 2)^2 and k = m/n ln 2
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        m = Math.max(64, (m + 63) / 64 * 64);
+        this.words = new AtomicLongArray((int) (m / 64));
+        this.bits = m;
+        this.hashes = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        this.capacity = n;
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    void add(String key) {
+        long h = hash(key);
+        long h1 = h, h2 = (h >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long cur;
+            while (((cur = words.get(word)) & mask) == 0 && !words.compareAndSet(word, cur, cur | mask)) {
+                // retry: another bit of the same word was set concurrently
+            }
+        }
+    }
+
+    boolean mightContain(String key) {
+        long h = hash(key);
+        long h1 = h, h2 = (h >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    // FNV-1a 64 finished with the murmur3 fmix64 avalanche
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
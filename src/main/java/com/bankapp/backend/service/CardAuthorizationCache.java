@@ -0,0 +1,96 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.config.Bulkhead;
+import com.bankapp.backend.config.UseBulkhead;
+import com.bankapp.backend.dto.CardAuthState;
+import com.bankapp.backend.repository.CardRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-through cache of card authorization state (status, type, international flag,
+ * owner, linked account), loaded with one projection query on a miss.
+ * Card state changes must call {@link #evictAfterCommit(Long)}, which only reaches this
+ * instance; changes made through other instances are found by {@link #evictChangedElsewhere()},
+ * which polls cards.updated_at every few seconds and evicts any card whose updated_at moved.
+ * The poll looks back a fixed window so a writer whose clock lags ours is still seen.
+ */
+@Component
+public class CardAuthorizationCache {
+
+    private final CardRepository cardRepository;
+    private final JdbcTemplate jdbc;
+    private final Cache<Long, CardAuthState> cache;
+    private final Duration pollLookback;
+
+    // updated_at last seen per card inside the lookback window; only touched by the poll
+    private final Map<Long, LocalDateTime> seenUpdates = new HashMap<>();
+
+    public CardAuthorizationCache(CardRepository cardRepository, JdbcTemplate jdbc,
+                                  @Value("${app.cards.auth-cache.max-size:200000}") long maxSize,
+                                  @Value("${app.cards.auth-cache.ttl-seconds:300}") long ttlSeconds,
+                                  @Value("${app.cards.auth-cache.poll-lookback-ms:30000}") long pollLookbackMs) {
+        this.cardRepository = cardRepository;
+        this.jdbc = jdbc;
+        this.pollLookback = Duration.ofMillis(pollLookbackMs);
+        // TTL is only a safety net for changes that do not move cards.updated_at
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public Optional<CardAuthState> get(Long cardId) {
+        return Optional.ofNullable(cache.get(cardId, id -> cardRepository.findAuthState(id).orElse(null)));
+    }
+
+    public void evict(Long cardId) {
+        cache.invalidate(cardId);
+    }
+
+    /**
+     * Evicts now, and again after commit, so a concurrent reader cannot re-cache the
+     * pre-commit state for the rest of the TTL.
+     */
+    public void evictAfterCommit(Long cardId) {
+        evictAllAfterCommit(List.of(cardId));
+    }
+
+    public void evictAllAfterCommit(Collection<Long> cardIds) {
+        cache.invalidateAll(cardIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll(cardIds);
+                }
+            });
+        }
+    }
+
+    @UseBulkhead(Bulkhead.MAINTENANCE)
+    @Scheduled(fixedDelayString = "${app.cards.auth-cache.poll-ms:2000}", initialDelayString = "${app.cards.auth-cache.poll-ms:2000}")
+    public synchronized void evictChangedElsewhere() {
+        LocalDateTime since = LocalDateTime.now().minus(pollLookback);
+        seenUpdates.values().removeIf(updatedAt -> !updatedAt.isAfter(since));
+        jdbc.query("select id, updated_at from cards where updated_at > ?", rs -> {
+            Long cardId = rs.getLong("id");
+            LocalDateTime updatedAt = rs.getTimestamp("updated_at").toLocalDateTime();
+            if (!updatedAt.equals(seenUpdates.put(cardId, updatedAt))) cache.invalidate(cardId);
+        }, since);
+    }
+}
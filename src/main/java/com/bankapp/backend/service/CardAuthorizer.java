@@ -0,0 +1,120 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.dto.CardAuthState;
+import com.bankapp.backend.dto.DebitCardSpendRequest;
+import com.bankapp.backend.dto.PlaceHoldRequest;
+import com.bankapp.backend.entity.CardStatus;
+import com.bankapp.backend.entity.CardType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Card-level authorization checks for a spend, served from {@link CardAuthorizationCache}
+ * and {@link FraudScreen} so declines never touch the database. Latency is published as the
+ * {@code card.authorization} timer (p50/p99, tagged by outcome) under /actuator/metrics.
+ */
+@Component
+public class CardAuthorizer {
+
+    private final CardAuthorizationCache cache;
+    private final FraudScreen fraudScreen;
+    private final Timer approved;
+    private final Timer declined;
+
+    public CardAuthorizer(CardAuthorizationCache cache, FraudScreen fraudScreen, MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.fraudScreen = fraudScreen;
+        this.approved = timer(meterRegistry, "approved");
+        this.declined = timer(meterRegistry, "declined");
+    }
+
+    private static Timer timer(MeterRegistry registry, String outcome) {
+        return Timer.builder("card.authorization")
+                .description("Card authorization decision latency (before the account lock)")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    /**
+     * Returns the card state when the spend may proceed to the account debit;
+     * throws with the decline reason otherwise.
+     */
+    public CardAuthState authorizeDebitSpend(DebitCardSpendRequest req, String username) {
+        return authorize(req.getCardId(), CardType.DEBIT, req.getFromAccountId(), req.getAmount(), req.getInternational(),
+                req.getMerchant(), username);
+    }
+
+    /** Same checks for placing an authorization hold, on a debit or a credit card. */
+    public CardAuthState authorizeHold(PlaceHoldRequest req, String username) {
+        return authorize(req.getCardId(), null, req.getFromAccountId(), req.getAmount(), req.getInternational(),
+                req.getMerchant(), username);
+    }
+
+    private CardAuthState authorize(Long cardId, CardType requiredType, Long fromAccountId, BigDecimal amount,
+                                    Boolean international, String merchant, String username) {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            var card = cache.get(cardId)
+                    .orElseThrow(() -> new RuntimeException("Card not found"));
+
+            // ownership check
+            if (!card.ownerUsername().equals(username)) {
+                throw new AccessDeniedException("Not owner of the card");
+            }
+
+            // card must be of the required type
+            if (requiredType != null && card.cardType() != requiredType) {
+                throw new RuntimeException("Card is not a " + requiredType.name().toLowerCase() + " card");
+            }
+
+            // card status checks
+            if (card.status() == CardStatus.TEMP_BLOCKED) {
+                throw new RuntimeException("Card is temporarily blocked");
+            }
+            if (card.status() != CardStatus.ACTIVE && card.status() != CardStatus.ISSUED) {
+                throw new RuntimeException("Card is not active");
+            }
+
+            // international usage check
+            if (Boolean.TRUE.equals(international) && !Boolean.TRUE.equals(card.internationalUsageEnabled())) {
+                throw new RuntimeException("International usage is disabled on this card");
+            }
+
+            // a debit card linked to an account can only spend from that account
+            if (card.cardType() == CardType.DEBIT) {
+                if (fromAccountId == null) {
+                    throw new RuntimeException("fromAccountId is required for debit cards");
+                }
+                if (card.linkedAccountId() != null && !card.linkedAccountId().equals(fromAccountId)) {
+                    throw new RuntimeException("Card is not linked to this account");
+                }
+            }
+
+            // amount validation
+            if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+                throw new RuntimeException("Invalid amount");
+            }
+
+            // velocity rules (in memory, no database)
+            var decision = fraudScreen.screen(card.cardId(), merchant, amount);
+            if (decision.outcome() == FraudScreen.Outcome.DECLINE) {
+                throw new RuntimeException("Transaction declined by fraud screening");
+            }
+            if (decision.outcome() == FraudScreen.Outcome.STEP_UP) {
+                throw new RuntimeException("Additional verification required for this transaction");
+            }
+
+            ok = true;
+            return card;
+        } finally {
+            (ok ? approved : declined).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.config.Bulkhead;
+import com.bankapp.backend.config.UseBulkhead;
+import com.bankapp.backend.service.InterestCalculator.DayCountConvention;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Nightly credit card statement run.
+ * <p>
+ * Cards whose billing cycle closes on the run date are read in keyset chunks. Each chunk
+ * runs in its own transaction: the card rows are locked, the cycle's charges and payments
+ * (and any activity after the cycle end) are summed with one grouped query, and the
+ * statements are written with a batched INSERT IGNORE together with the card's
+ * last_statement_date. A chunk either commits completely or not at all, and committed
+ * cards no longer match the chunk query, so an interrupted run is simply started again.
+ * <p>
+ * The closing balance is derived from the live outstanding amount less activity after
+ * the cycle end, so it always agrees with the card. Interest is charged when the
+ * previous statement was not paid in full during the cycle.
+ */
+@Slf4j
+@Service
+@UseBulkhead(Bulkhead.BATCH)
+public class CardBillingJob {
+
+    private static final String ASSIGN_CYCLE_DAYS = """
+            update cards set billing_cycle_day = least(day(coalesce(issued_at, applied_at)), 28)
+            where card_type = 'CREDIT' and billing_cycle_day is null
+            """;
+
+    private static final String LOCK_CHUNK = """
+            select c.id, c.outstanding_amount, c.last_statement_date, s.closing_balance as prev_closing
+            from cards c
+            left join card_statements s on s.card_id = c.id and s.cycle_end = c.last_statement_date
+            where c.card_type = 'CREDIT' and c.billing_cycle_day = :day
+              and c.status in ('ISSUED', 'ACTIVE', 'TEMP_BLOCKED')
+              and (c.last_statement_date is null or c.last_statement_date < :cycleEnd)
+              and c.id > :afterId
+            order by c.id
+            limit :limit
+            for update of c
+            """;
+
+    // charges have no from_account (user-032); payments debit one
+    private static final String AGGREGATE = """
+            select t.card_id,
+                   coalesce(sum(case when t.created_at < :cycleEnd and t.from_account_id is null then t.amount end), 0) as charges,
+                   coalesce(sum(case when t.created_at < :cycleEnd and t.from_account_id is not null then t.amount end), 0) as payments,
+                   coalesce(sum(case when t.created_at >= :cycleEnd
+                                     then case when t.from_account_id is null then t.amount else -t.amount end end), 0) as net_after
+            from transactions t
+            join cards c on c.id = t.card_id
+            where t.card_id in (:ids) and t.type = 'CARD' and t.status = 'SUCCESS'
+              and t.created_at >= coalesce(c.last_statement_date, :defaultStart)
+            group by t.card_id
+            """;
+
+    private static final String INSERT_STATEMENT = """
+            insert ignore into card_statements (card_id, cycle_start, cycle_end, opening_balance, total_charges,
+                                                total_payments, finance_charge, closing_balance, minimum_due,
+                                                due_date, created_at)
+            values (:cardId, :cycleStart, :cycleEnd, :opening, :charges, :payments, :finance, :closing,
+                    :minimumDue, :dueDate, :now)
+            """;
+
+    private static final String CLOSE_CYCLE = """
+            update cards set outstanding_amount = outstanding_amount + :finance, last_statement_date = :cycleEnd,
+                             updated_at = :now
+            where id = :cardId
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final InterestCalculator interestCalculator;
+
+    @Value("${app.cards.billing.apr:42.0}")
+    private double aprPercent;
+
+    @Value("${app.cards.billing.min-due-percent:5}")
+    private BigDecimal minDuePercent;
+
+    @Value("${app.cards.billing.min-due-floor:200}")
+    private BigDecimal minDueFloor;
+
+    @Value("${app.cards.billing.grace-days:20}")
+    private int graceDays;
+
+    @Value("${app.cards.billing.chunk-size:1000}")
+    private int chunkSize;
+
+    public CardBillingJob(NamedParameterJdbcTemplate jdbc,
+                          TransactionTemplate transactionTemplate,
+                          InterestCalculator interestCalculator) {
+        this.jdbc = jdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.interestCalculator = interestCalculator;
+    }
+
+    private record CardRow(long cardId, BigDecimal outstanding, LocalDate lastStatementDate, BigDecimal prevClosing) {
+    }
+
+    private record Totals(BigDecimal charges, BigDecimal payments, BigDecimal netAfter) {
+        static final Totals NONE = new Totals(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    // Cycles close at midnight; transactions of the closing day itself fall in the next cycle
+    @Scheduled(cron = "0 0 2 * * ?")
+    public void runNightly() {
+        LocalDate today = LocalDate.now();
+        int statements = run(today);
+        log.info("Card statements for cycle ending {}: {}", today, statements);
+    }
+
+    /** Writes statements for every credit card whose cycle ends on {@code cycleEnd}. */
+    public int run(LocalDate cycleEnd) {
+        // cycle days are 1-28, so every month has them
+        if (cycleEnd.getDayOfMonth() > 28) return 0;
+        jdbc.getJdbcOperations().update(ASSIGN_CYCLE_DAYS);
+
+        int total = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            long[] result = transactionTemplate.execute(status -> processChunk(cycleEnd, from));
+            if (result == null || result[0] == 0) break;
+            total += (int) result[0];
+            afterId = result[1];
+        }
+        return total;
+    }
+
+    // returns {cards processed, last card id}
+    private long[] processChunk(LocalDate cycleEnd, long afterId) {
+        List<CardRow> cards = jdbc.query(LOCK_CHUNK, new MapSqlParameterSource()
+                        .addValue("day", cycleEnd.getDayOfMonth())
+                        .addValue("cycleEnd", Date.valueOf(cycleEnd))
+                        .addValue("afterId", afterId)
+                        .addValue("limit", chunkSize),
+                (rs, i) -> {
+                    Date last = rs.getDate("last_statement_date");
+                    return new CardRow(rs.getLong("id"),
+                            rs.getBigDecimal("outstanding_amount"),
+                            last == null ? null : last.toLocalDate(),
+                            rs.getBigDecimal("prev_closing"));
+                });
+        if (cards.isEmpty()) return new long[]{0, afterId};
+
+        LocalDate defaultStart = cycleEnd.minusMonths(1);
+        Map<Long, Totals> totals = new HashMap<>();
+        jdbc.query(AGGREGATE, new MapSqlParameterSource()
+                .addValue("ids", cards.stream().map(CardRow::cardId).toList())
+                .addValue("cycleEnd", Timestamp.valueOf(cycleEnd.atStartOfDay()))
+                .addValue("defaultStart", Date.valueOf(defaultStart)), rs -> {
+            totals.put(rs.getLong("card_id"), new Totals(
+                    rs.getBigDecimal("charges"), rs.getBigDecimal("payments"), rs.getBigDecimal("net_after")));
+        });
+
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        List<MapSqlParameterSource> statements = new ArrayList<>(cards.size());
+        List<MapSqlParameterSource> closes = new ArrayList<>(cards.size());
+        for (CardRow card : cards) {
+            Totals t = totals.getOrDefault(card.cardId(), Totals.NONE);
+            LocalDate cycleStart = card.lastStatementDate() != null ? card.lastStatementDate() : defaultStart;
+            BigDecimal outstanding = card.outstanding() == null ? BigDecimal.ZERO : card.outstanding();
+
+            // balance at the cycle end, before interest
+            BigDecimal closingBeforeInterest = outstanding.subtract(t.netAfter());
+            BigDecimal opening = closingBeforeInterest.subtract(t.charges()).add(t.payments());
+            BigDecimal finance = financeCharge(card.prevClosing(), t.payments(), cycleStart, cycleEnd);
+            BigDecimal closing = closingBeforeInterest.add(finance);
+
+            statements.add(new MapSqlParameterSource()
+                    .addValue("cardId", card.cardId())
+                    .addValue("cycleStart", Date.valueOf(cycleStart))
+                    .addValue("cycleEnd", Date.valueOf(cycleEnd))
+                    .addValue("opening", opening)
+                    .addValue("charges", t.charges())
+                    .addValue("payments", t.payments())
+                    .addValue("finance", finance)
+                    .addValue("closing", closing)
+                    .addValue("minimumDue", minimumDue(closing))
+                    .addValue("dueDate", Date.valueOf(cycleEnd.plusDays(graceDays)))
+                    .addValue("now", now));
+            closes.add(new MapSqlParameterSource()
+                    .addValue("cardId", card.cardId())
+                    .addValue("finance", finance)
+                    .addValue("cycleEnd", Date.valueOf(cycleEnd))
+                    .addValue("now", now));
+        }
+
+        jdbc.batchUpdate(INSERT_STATEMENT, statements.toArray(MapSqlParameterSource[]::new));
+        jdbc.batchUpdate(CLOSE_CYCLE, closes.toArray(MapSqlParameterSource[]::new));
+        return new long[]{cards.size(), cards.get(cards.size() - 1).cardId()};
+    }
+
+    // interest on the part of the previous statement balance not paid off during this cycle
+    private BigDecimal financeCharge(BigDecimal prevClosing, BigDecimal payments, LocalDate from, LocalDate to) {
+        if (prevClosing == null || prevClosing.signum() <= 0) return BigDecimal.ZERO;
+        BigDecimal unpaid = prevClosing.subtract(payments);
+        if (unpaid.signum() <= 0) return BigDecimal.ZERO;
+        return interestCalculator.simpleInterest(unpaid, aprPercent, from, to, DayCountConvention.ACT_365)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private BigDecimal minimumDue(BigDecimal closing) {
+        if (closing.signum() <= 0) return BigDecimal.ZERO;
+        BigDecimal pct = closing.multiply(minDuePercent).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        return closing.min(pct.max(minDueFloor)).setScale(2, RoundingMode.HALF_UP);
+    }
+}
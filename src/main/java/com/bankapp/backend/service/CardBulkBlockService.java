@@ -0,0 +1,129 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.config.Bulkhead;
+import com.bankapp.backend.config.UseBulkhead;
+import com.bankapp.backend.dto.BulkBlockResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Blocks every card on a compromise list (one PAN per line, spaces/dashes allowed).
+ * The list is read as a stream; each chunk of PANs is hashed, resolved through the
+ * pan_hash index and blocked with one set-based UPDATE in its own transaction, after
+ * which the cards' cached authorization state is evicted. Cards the owner had already
+ * blocked are taken over as BANK blocks, which only an admin can lift; the state each
+ * card had before is kept and restored by {@link CardService#liftBankBlock}.
+ * Runs in the WRITE bulkhead: a block is urgent and must not queue behind nightly jobs.
+ */
+@Slf4j
+@Service
+@UseBulkhead(Bulkhead.WRITE)
+public class CardBulkBlockService {
+
+    private static final String FIND_BY_HASH = "select id from cards where pan_hash in (:hashes)";
+
+    // MySQL assigns left to right, so the pre_block_* columns read the state before this block;
+    // a card already blocked by the bank keeps the state saved by its first block
+    private static final String BLOCK = """
+            update cards set
+                pre_block_status = if(block_source = 'BANK', pre_block_status, status),
+                pre_block_source = if(block_source = 'BANK', pre_block_source, block_source),
+                pre_block_reason = if(block_source = 'BANK', pre_block_reason, block_reason),
+                status = 'TEMP_BLOCKED', block_reason = :reason, block_source = 'BANK', updated_at = :now
+            where id in (:ids) and status in ('ISSUED', 'ACTIVE', 'TEMP_BLOCKED')
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final PanHasher panHasher;
+    private final CardAuthorizationCache cardAuthCache;
+    private final int chunkSize;
+
+    public CardBulkBlockService(NamedParameterJdbcTemplate jdbc,
+                                TransactionTemplate transactionTemplate,
+                                PanHasher panHasher,
+                                CardAuthorizationCache cardAuthCache,
+                                @Value("${app.cards.bulk-block.chunk-size:1000}") int chunkSize) {
+        this.jdbc = jdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.panHasher = panHasher;
+        this.cardAuthCache = cardAuthCache;
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkBlockResponse blockAll(InputStream pans, String reason, String adminUsername) {
+        if (reason == null || reason.isBlank()) throw new RuntimeException("A block reason is required");
+        String storedReason = reason.length() > 200 ? reason.substring(0, 200) : reason;
+        long started = System.currentTimeMillis();
+        long lines = 0, invalid = 0;
+        long[] matchedAndBlocked = new long[2];
+
+        Set<String> hashes = new LinkedHashSet<>();
+        try (var reader = new BufferedReader(new InputStreamReader(pans, StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String pan = PanHasher.canonical(line.trim());
+                if (pan.isEmpty()) continue;
+                lines++;
+                if (!pan.matches("\\d{12,19}")) {
+                    invalid++;
+                    continue;
+                }
+                hashes.add(panHasher.hash(pan));
+                if (hashes.size() >= chunkSize) {
+                    blockChunk(hashes, storedReason, matchedAndBlocked);
+                    hashes.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Reading the card list failed", e);
+        }
+        if (!hashes.isEmpty()) blockChunk(hashes, storedReason, matchedAndBlocked);
+
+        long took = System.currentTimeMillis() - started;
+        log.info("Bulk block by {} ({}): {} lines, {} matched, {} blocked in {} ms",
+                adminUsername, storedReason, lines, matchedAndBlocked[0], matchedAndBlocked[1], took);
+        return BulkBlockResponse.builder()
+                .linesRead(lines)
+                .invalidLines(invalid)
+                .matchedCards(matchedAndBlocked[0])
+                .blockedCards(matchedAndBlocked[1])
+                .tookMillis(took)
+                .build();
+    }
+
+    private void blockChunk(Set<String> hashes, String reason, long[] matchedAndBlocked) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> ids = new ArrayList<>();
+            jdbc.query(FIND_BY_HASH, new MapSqlParameterSource("hashes", hashes), rs -> {
+                ids.add(rs.getLong("id"));
+            });
+            matchedAndBlocked[0] += ids.size();
+            if (ids.isEmpty()) return;
+
+            matchedAndBlocked[1] += jdbc.update(BLOCK, new MapSqlParameterSource()
+                    .addValue("ids", ids)
+                    .addValue("reason", reason)
+                    .addValue("now", Timestamp.valueOf(LocalDateTime.now())));
+            // already-blocked cards are evicted too; harmless and keeps this simple
+            cardAuthCache.evictAllAfterCommit(ids);
+        });
+    }
+}
@@ -1,5 +1,7 @@
 package com.bankapp.backend.service;
 
+import com.bankapp.backend.config.Bulkhead;
+import com.bankapp.backend.config.UseBulkhead;
 import com.bankapp.backend.dto.*;
 import com.bankapp.backend.entity.*;
 import com.bankapp.backend.repository.*;
@@ -11,13 +13,14 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@UseBulkhead(Bulkhead.WRITE)
 public class CardService {
 
     private final CardRepository cardRepository;
@@ -25,6 +28,12 @@ public class CardService {
     private final AccountRepository accountRepository;
     private final TransactionRecordRepository txRepo;
     private final FailedTransactionRepository failedRepo;
+    private final CardAuthorizationCache cardAuthCache;
+    private final CardAuthorizer cardAuthorizer;
+    private final HoldLedger holdLedger;
+    private final PanAllocator panAllocator;
+    private final PanHasher panHasher;
+    private final SpendAggregates spendAggregates;
 
     /* 1. Apply for card (auto-issue on apply) */
     @Transactional
@@ -33,58 +42,39 @@ public class CardService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         // Optional: check linkedAccount belongs to user
+        Account linkedAccount = null;
         if (req.getLinkedAccountId() != null) {
-            var acct = accountRepository.findById(req.getLinkedAccountId())
+            linkedAccount = accountRepository.findById(req.getLinkedAccountId())
                     .orElseThrow(() -> new RuntimeException("Linked account not found"));
-            if (!acct.getOwner().getId().equals(user.getId())) {
+            if (!linkedAccount.getOwner().getId().equals(user.getId())) {
                 throw new AccessDeniedException("Linked account not owned by user");
             }
         }
 
+        // AUTO-ISSUE the card immediately (demo mode, no admin): one insert, already ISSUED
+        String pan = panAllocator.allocate(req.getCardType());
+        String expiry = LocalDate.now().plusYears(4).format(DateTimeFormatter.ofPattern("MM/yy"));
+
         Card card = Card.builder()
                 .cardType(req.getCardType())
                 .owner(user)
+                .linkedAccount(linkedAccount)
                 .creditLimit(req.getRequestedCreditLimit() == null ? BigDecimal.ZERO : req.getRequestedCreditLimit())
                 .internationalUsageEnabled(false)
-                .status(CardStatus.APPLIED)
+                .cardNumber(pan)
+                .panHash(panHasher.hash(pan))
+                .last4(pan.substring(pan.length() - 4))
+                .expiry(expiry)
+                .cvvMasked("XXX") // demo only — do NOT store real CVV in prod
+                .issuedAt(LocalDateTime.now())
+                .status(CardStatus.ISSUED)
+                .billingCycleDay(req.getCardType() == CardType.CREDIT ? Math.min(LocalDate.now().getDayOfMonth(), 28) : null)
                 .build();
 
         card = cardRepository.save(card);
-
-        // AUTO-ISSUE the card immediately (demo mode, no admin)
-        autoIssueCard(card);
-
-        // reload to ensure all fields set by autoIssueCard are present
-        card = cardRepository.findById(card.getId()).orElseThrow(() -> new RuntimeException("Card not found after issue"));
-
         return toResponse(card);
     }
 
-    /**
-     * Auto-issue helper: sets PAN, expiry, last4, cvvMasked and marks ISSUED + issuedAt.
-     * This is internal and used for demo mode when no admin exists.
-     */
-    private void autoIssueCard(Card card) {
-        if (card == null) return;
-        if (card.getStatus() != CardStatus.APPLIED) return; // only issue applied cards
-
-        // generate cardNumber / expiry / cvv (demo)
-        String pan = generateCardNumber(card.getCardType());                // formatted "#### #### #### ####"
-        String panNoSpaces = pan.replaceAll("\\s+", "");
-        String expiry = LocalDate.now().plusYears(4).format(DateTimeFormatter.ofPattern("MM/yy"));
-        String cvvMasked = "XXX"; // demo only — do NOT store real CVV in prod
-
-        card.setCardNumber(pan);
-        // ensure last4 is extracted from numeric PAN
-        card.setLast4(panNoSpaces.substring(Math.max(0, panNoSpaces.length() - 4)));
-        card.setExpiry(expiry);
-        card.setCvvMasked(cvvMasked);
-        card.setIssuedAt(java.time.LocalDateTime.now());
-        card.setStatus(CardStatus.ISSUED);
-
-        cardRepository.save(card);
-    }
-
     /* 2. Issue card (kept for compatibility if you ever want manual issue) */
     /*@Transactional
     public CardResponse issueCard(Long id) {
@@ -94,12 +84,12 @@ public class CardService {
         }
 
         // generate cardNumber / expiry / cvv (demo)
-        String pan = generateCardNumber(card.getCardType());
-        String panNoSpaces = pan.replaceAll("\\s+", "");
+        String pan = panAllocator.allocate(card.getCardType());
         String expiry = LocalDate.now().plusYears(4).format(DateTimeFormatter.ofPattern("MM/yy"));
         String cvvMasked = "XXX"; // do NOT store real CVV in plain in prod
         card.setCardNumber(pan);
-        card.setLast4(panNoSpaces.substring(Math.max(0, panNoSpaces.length() - 4)));
+        card.setPanHash(panHasher.hash(pan));
+        card.setLast4(pan.substring(pan.length() - 4));
         card.setExpiry(expiry);
         card.setCvvMasked(cvvMasked);
         card.setIssuedAt(java.time.LocalDateTime.now());
@@ -118,6 +108,7 @@ public class CardService {
         if (card.getStatus() != CardStatus.ISSUED) throw new RuntimeException("Card not in ISSUED state");
         card.setStatus(CardStatus.ACTIVE);
         card = cardRepository.save(card);
+        cardAuthCache.evictAfterCommit(card.getId());
         return toResponse(card);
     }
 
@@ -127,9 +118,13 @@ public class CardService {
         var user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
         var card = cardRepository.findById(cardId).orElseThrow(() -> new RuntimeException("Card not found"));
         checkOwnership(card, user);
+        checkNotBlockedByBank(card);
         card.setStatus(CardStatus.TEMP_BLOCKED);
-        // we could save reason + audit
-        return toResponse(cardRepository.save(card));
+        card.setBlockReason(reason != null && reason.length() > 200 ? reason.substring(0, 200) : reason);
+        card.setBlockSource(CardBlockSource.OWNER);
+        card = cardRepository.save(card);
+        cardAuthCache.evictAfterCommit(card.getId());
+        return toResponse(card);
     }
 
     @Transactional
@@ -137,8 +132,33 @@ public class CardService {
         var user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
         var card = cardRepository.findById(cardId).orElseThrow(() -> new RuntimeException("Card not found"));
         checkOwnership(card, user);
+        checkNotBlockedByBank(card);
         card.setStatus(CardStatus.ACTIVE);
-        return toResponse(cardRepository.save(card));
+        card.setBlockReason(null);
+        card.setBlockSource(null);
+        card = cardRepository.save(card);
+        cardAuthCache.evictAfterCommit(card.getId());
+        return toResponse(card);
+    }
+
+    // admin only: lifts a BANK block, e.g. once a card on a compromise list has been cleared,
+    // putting back what the card was before (an owner's own block stays in place)
+    @Transactional
+    public CardResponse liftBankBlock(Long cardId) {
+        var card = cardRepository.findById(cardId).orElseThrow(() -> new RuntimeException("Card not found"));
+        if (card.getStatus() != CardStatus.TEMP_BLOCKED || card.getBlockSource() != CardBlockSource.BANK) {
+            throw new RuntimeException("Card is not blocked by the bank");
+        }
+        // blocks made before the pre-block state was kept have none; those cards were in use
+        card.setStatus(card.getPreBlockStatus() != null ? card.getPreBlockStatus() : CardStatus.ACTIVE);
+        card.setBlockReason(card.getPreBlockReason());
+        card.setBlockSource(card.getPreBlockSource());
+        card.setPreBlockStatus(null);
+        card.setPreBlockReason(null);
+        card.setPreBlockSource(null);
+        card = cardRepository.save(card);
+        cardAuthCache.evictAfterCommit(card.getId());
+        return toResponse(card);
     }
 
     /* 5. Enable/Disable international usage */
@@ -148,140 +168,129 @@ public class CardService {
         var card = cardRepository.findById(cardId).orElseThrow(() -> new RuntimeException("Card not found"));
         checkOwnership(card, user);
         card.setInternationalUsageEnabled(enabled);
-        return toResponse(cardRepository.save(card));
+        card = cardRepository.save(card);
+        cardAuthCache.evictAfterCommit(card.getId());
+        return toResponse(card);
     }
 
     /* 6. Pay credit card bill */
     @Transactional
     public CardResponse payCardBill(PayCardBillRequest req, String username) {
-        var user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
-        var card = cardRepository.findById(req.getCardId()).orElseThrow(() -> new RuntimeException("Card not found"));
-        checkOwnership(card, user);
-
-        if (card.getCardType() != CardType.CREDIT) throw new RuntimeException("Only credit card bills can be paid");
-
-        var fromAccount = accountRepository.findById(req.getFromAccountId())
-                .orElseThrow(() -> new RuntimeException("From account not found"));
-
-        if (!fromAccount.getOwner().getId().equals(user.getId())) throw new AccessDeniedException("Not owner of account");
+        var card = loadOwnedCardState(req.getCardId(), username);
+        if (card.cardType() != CardType.CREDIT) throw new RuntimeException("Only credit card bills can be paid");
 
-        // Simple payment: if sufficient balance, debit and reduce outstanding
-        if (fromAccount.getBalance().compareTo(req.getAmount()) < 0) {
-            throw new RuntimeException("Insufficient balance to pay card bill");
+        if (req.getAmount() == null || req.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new RuntimeException("Invalid amount");
         }
 
-        // Debit account
-        fromAccount.setBalance(fromAccount.getBalance().subtract(req.getAmount()));
-        accountRepository.save(fromAccount);
-
-        // Reduce outstanding amount
-        if (card.getOutstandingAmount() == null) {
-            card.setOutstandingAmount(BigDecimal.ZERO);
+        // card row first, then account row: every payment takes the locks in the same order
+        var now = LocalDateTime.now();
+        if (cardRepository.applyPayment(card.cardId(), req.getAmount(), now) == 0) {
+            throw new RuntimeException("Payment exceeds outstanding amount");
         }
-        card.setOutstandingAmount(card.getOutstandingAmount().subtract(req.getAmount()));
-        if (card.getOutstandingAmount().compareTo(BigDecimal.ZERO) < 0) card.setOutstandingAmount(BigDecimal.ZERO);
 
-        card = cardRepository.save(card);
+        // Debit account (balance and owner checked by the update; rollback undoes the card update);
+        // money reserved by debit card holds on the account must stay there
+        BigDecimal held = holdLedger.heldOnAccount(req.getFromAccountId());
+        if (accountRepository.debitIfSufficient(req.getFromAccountId(), card.ownerId(), req.getAmount(), held) == 0) {
+            var fromAccount = accountRepository.findById(req.getFromAccountId())
+                    .orElseThrow(() -> new RuntimeException("From account not found"));
+            if (!fromAccount.getOwner().getId().equals(card.ownerId())) throw new AccessDeniedException("Not owner of account");
+            throw new RuntimeException("Insufficient balance to pay card bill");
+        }
 
-        // option: create transaction record for audit
-        // txRepo.save(...)
+        txRepo.save(TransactionRecord.builder()
+                .reference(generateReference("CARD"))
+                .type(TransactionType.CARD)
+                .status(TransactionStatus.SUCCESS)
+                .fromAccount(accountRepository.getReferenceById(req.getFromAccountId()))
+                .card(cardRepository.getReferenceById(card.cardId()))
+                .amount(req.getAmount())
+                .narration("Card bill payment")
+                .processedAt(now)
+                .build());
 
-        return toResponse(card);
+        return toResponse(cardRepository.findById(card.cardId()).orElseThrow(() -> new RuntimeException("Card not found")));
     }
 
     /* 7. List my cards */
+    @UseBulkhead(Bulkhead.READ)
     @Transactional(readOnly = true)
     public List<CardResponse> listMyCards(String username) {
-        var user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
-        return cardRepository.findByOwner(user).stream().map(this::toResponse).collect(Collectors.toList());
+        return cardRepository.findViewsByOwner(username);
+    }
+
+    /* 7b. Get one of my cards */
+    @UseBulkhead(Bulkhead.READ)
+    @Transactional(readOnly = true)
+    public CardResponse getMyCard(Long cardId, String username) {
+        return cardRepository.findViewByIdAndOwner(cardId, username)
+                .orElseThrow(() -> new RuntimeException("Card not found or not owned by user"));
+    }
+
+    // weak validator for conditional GETs: changes whenever the card row is updated
+    public static String etag(CardResponse card) {
+        LocalDateTime version = card.getUpdatedAt() != null ? card.getUpdatedAt()
+                : card.getIssuedAt() != null ? card.getIssuedAt() : card.getAppliedAt();
+        long stamp = version == null ? 0 : version.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + version.getNano();
+        return "W/\"" + card.getId() + "-" + Long.toString(stamp, 36) + "\"";
     }
     /* 8. addCharge Card usage*/
     @Transactional
     public CardResponse addCharge(AddChargeRequest req, String username) {
-        var user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        var card = cardRepository.findById(req.getCardId())
-                .orElseThrow(() -> new RuntimeException("Card not found"));
+        var card = loadOwnedCardState(req.getCardId(), username);
 
-        checkOwnership(card, user);
-
-        if (card.getCardType() != CardType.CREDIT) {
+        if (card.cardType() != CardType.CREDIT) {
             throw new RuntimeException("Charges can only be added to credit cards");
         }
-
-        if (req.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new RuntimeException("Invalid amount");
+        if (card.status() != CardStatus.ACTIVE && card.status() != CardStatus.ISSUED) {
+            throw new RuntimeException("Card is not active");
         }
 
-        // If first time setting outstandingAmount
-        if (card.getOutstandingAmount() == null) {
-            card.setOutstandingAmount(BigDecimal.ZERO);
+        if (req.getAmount() == null || req.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new RuntimeException("Invalid amount");
         }
 
-        // Increase outstanding
-        card.setOutstandingAmount(
-                card.getOutstandingAmount().add(req.getAmount())
-        );
-
-        // Optionally: limit check
-        if (card.getOutstandingAmount().compareTo(card.getCreditLimit()) > 0) {
+        // limit check and increment in one statement, so concurrent charges can neither
+        // lose updates nor push the card over its limit. The row lock is taken first so the
+        // credit reserved by holds cannot change between reading it and the update.
+        var now = LocalDateTime.now();
+        cardRepository.findByIdForUpdate(card.cardId()).orElseThrow(() -> new RuntimeException("Card not found"));
+        BigDecimal held = holdLedger.heldOnCard(card.cardId());
+        if (cardRepository.applyCharge(card.cardId(), req.getAmount(), held, now) == 0) {
             throw new RuntimeException("Credit limit exceeded");
         }
 
-        card = cardRepository.save(card);
+        txRepo.save(TransactionRecord.builder()
+                .reference(generateReference("CARD"))
+                .type(TransactionType.CARD)
+                .status(TransactionStatus.SUCCESS)
+                .card(cardRepository.getReferenceById(card.cardId()))
+                .amount(req.getAmount())
+                .narration(req.getNarration() != null ? req.getNarration() : "Card charge")
+                .processedAt(now)
+                .build());
 
-        return toResponse(card);
+        // re-read the new outstanding amount; the row lock we hold keeps it stable until commit
+        return toResponse(cardRepository.findById(card.cardId()).orElseThrow(() -> new RuntimeException("Card not found")));
     }
     /* Debit Card Service */
     @Transactional
     public CardSpendResponse debitCardSpend(DebitCardSpendRequest req, String username) {
-        // validate user
-        var user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        // load card
-        var card = cardRepository.findById(req.getCardId())
-                .orElseThrow(() -> new RuntimeException("Card not found"));
-
-        // ownership check
-        if (!card.getOwner().getId().equals(user.getId())) {
-            throw new AccessDeniedException("Not owner of the card");
-        }
-
-        // card must be debit
-        if (card.getCardType() != CardType.DEBIT) {
-            throw new RuntimeException("Card is not a debit card");
-        }
-
-        // card status checks
-        if (card.getStatus() != CardStatus.ACTIVE && card.getStatus() != CardStatus.ISSUED) {
-            throw new RuntimeException("Card is not active");
-        }
-        if (card.getStatus() == CardStatus.TEMP_BLOCKED) {
-            throw new RuntimeException("Card is temporarily blocked");
-        }
-
-        // international usage check
-        if (Boolean.TRUE.equals(req.getInternational()) && !Boolean.TRUE.equals(card.getInternationalUsageEnabled())) {
-            throw new RuntimeException("International usage is disabled on this card");
-        }
-
-        // amount validation
-        if (req.getAmount() == null || req.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new RuntimeException("Invalid amount");
-        }
+        // card checks run against cached card state: a decline costs no database round trip
+        var card = cardAuthorizer.authorizeDebitSpend(req, username);
 
         // Lock & load from account for update (use your repo method)
         var fromAccount = accountRepository.findByIdForUpdate(req.getFromAccountId())
                 .orElseThrow(() -> new RuntimeException("From account not found"));
 
-        if (!fromAccount.getOwner().getId().equals(user.getId())) {
+        if (!fromAccount.getOwner().getId().equals(card.ownerId())) {
             throw new AccessDeniedException("From account does not belong to the card owner");
         }
 
-        // Check available balance
-        if (fromAccount.getBalance().compareTo(req.getAmount()) < 0) {
+        // Check available balance (balance less open authorization holds)
+        BigDecimal available = fromAccount.getBalance().subtract(holdLedger.heldOnAccount(fromAccount.getId()));
+        if (available.compareTo(req.getAmount()) < 0) {
             // create failed tx record for audit
             String refFail = generateReference("CARD"); // reuse existing generator
             failedRepo.save(FailedTransaction.builder()
@@ -300,6 +309,7 @@ public class CardService {
                 .type(TransactionType.CARD) // adjust if your enum is different
                 .status(TransactionStatus.PENDING)
                 .fromAccount(fromAccount)
+                .card(cardRepository.getReferenceById(card.cardId()))
                 .beneficiaryName(req.getMerchant())
                 .beneficiaryAccountNumber(null)
                 .beneficiaryIfsc(null)
@@ -313,6 +323,7 @@ public class CardService {
         // Debit the account
         fromAccount.setBalance(fromAccount.getBalance().subtract(req.getAmount()));
         accountRepository.save(fromAccount);
+        spendAggregates.recordDebit(fromAccount.getId(), SpendAggregates.cardCategory(req.getMerchant()), req.getAmount());
 
         // mark tx success
         tx.setStatus(TransactionStatus.SUCCESS);
@@ -333,7 +344,7 @@ public class CardService {
         return resp;
     }
 
-    private String generateReference(String type) {
+    static String generateReference(String type) {
         // e.g. IMPS-20251130-uuidShort
         String shortId = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
         String date = java.time.LocalDate.now().format(java.time.format.DateTimeFormatter.BASIC_ISO_DATE);
@@ -355,24 +366,27 @@ public class CardService {
                 .ownerId(c.getOwner().getId())
                 .appliedAt(c.getAppliedAt())
                 .issuedAt(c.getIssuedAt())
+                .updatedAt(c.getUpdatedAt())
                 .build();
     }
 
-    private void checkOwnership(Card card, User user) {
-        if (!card.getOwner().getId().equals(user.getId())) {
+    private CardAuthState loadOwnedCardState(Long cardId, String username) {
+        var card = cardAuthCache.get(cardId).orElseThrow(() -> new RuntimeException("Card not found"));
+        if (!card.ownerUsername().equals(username)) {
             throw new AccessDeniedException("Not owner of card");
         }
+        return card;
     }
 
-    private String generateCardNumber(CardType type) {
-        // Demo: prefix by type and create 16 digits (not Luhn-checked). For demo only.
-        String prefix = type == CardType.CREDIT ? "5" : "4"; // naive: 4 = visa-like, 5 = master-like
-        StringBuilder pan = new StringBuilder();
-        pan.append(prefix);
-        while (pan.length() < 16) {
-            pan.append((int)(Math.random() * 10));
+    private void checkNotBlockedByBank(Card card) {
+        if (card.getStatus() == CardStatus.TEMP_BLOCKED && card.getBlockSource() == CardBlockSource.BANK) {
+            throw new AccessDeniedException("Card was blocked by the bank; contact support to unblock it");
+        }
+    }
+
+    private void checkOwnership(Card card, User user) {
+        if (!card.getOwner().getId().equals(user.getId())) {
+            throw new AccessDeniedException("Not owner of card");
         }
-        // format as 4-4-4-4
-        return pan.toString().replaceAll("(.{4})(?=.)", "$1 ");
     }
 }
@@ -0,0 +1,40 @@
+package com.bankapp.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** RFC 4180 field splitting for the CSV files we read (beneficiary imports, the IFSC list). */
+public final class Csv {
+
+    private Csv() {
+    }
+
+    /** Fields on one line: commas inside double quotes, "" for a literal quote. */
+    public static List<String> split(String line) {
+        List<String> out = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cur.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    cur.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                out.add(cur.toString());
+                cur.setLength(0);
+            } else {
+                cur.append(ch);
+            }
+        }
+        out.add(cur.toString());
+        return out;
+    }
+}
@@ -0,0 +1,124 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.dto.DepositRateSlabRequest;
+import com.bankapp.backend.dto.DepositRateSlabResponse;
+import com.bankapp.backend.entity.DepositRateAudit;
+import com.bankapp.backend.entity.DepositRateSlab;
+import com.bankapp.backend.repository.DepositRateAuditRepository;
+import com.bankapp.backend.repository.DepositRateSlabRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class DepositRateAdminService {
+
+    private final DepositRateSlabRepository slabRepository;
+    private final DepositRateAuditRepository auditRepository;
+    private final DepositRateCatalog catalog;
+
+    @Transactional(readOnly = true)
+    public List<DepositRateSlabResponse> listActive() {
+        return slabRepository.findByActiveTrue().stream().map(this::toResponse).toList();
+    }
+
+    @Transactional
+    public DepositRateSlabResponse createSlab(DepositRateSlabRequest req, String username) {
+        validate(req);
+        DepositRateSlab slab = DepositRateSlab.builder()
+                .productType(req.getProductType())
+                .minTenureMonths(req.getMinTenureMonths())
+                .maxTenureMonths(req.getMaxTenureMonths())
+                .minAmount(req.getMinAmount())
+                .maxAmount(req.getMaxAmount())
+                .annualInterestRate(req.getAnnualInterestRate())
+                .active(true)
+                .updatedBy(username)
+                .build();
+        slab = slabRepository.save(slab);
+        audit(slab, "CREATE", null, username);
+        reloadAfterCommit();
+        return toResponse(slab);
+    }
+
+    @Transactional
+    public DepositRateSlabResponse updateSlab(Long id, DepositRateSlabRequest req, String username) {
+        validate(req);
+        var slab = slabRepository.findById(id).orElseThrow(() -> new RuntimeException("Rate slab not found"));
+        if (!slab.isActive()) throw new RuntimeException("Rate slab is not active");
+        double oldRate = slab.getAnnualInterestRate();
+
+        slab.setProductType(req.getProductType());
+        slab.setMinTenureMonths(req.getMinTenureMonths());
+        slab.setMaxTenureMonths(req.getMaxTenureMonths());
+        slab.setMinAmount(req.getMinAmount());
+        slab.setMaxAmount(req.getMaxAmount());
+        slab.setAnnualInterestRate(req.getAnnualInterestRate());
+        slab.setUpdatedBy(username);
+        slab = slabRepository.save(slab);
+
+        audit(slab, "UPDATE", oldRate, username);
+        reloadAfterCommit();
+        return toResponse(slab);
+    }
+
+    @Transactional
+    public void deactivateSlab(Long id, String username) {
+        var slab = slabRepository.findById(id).orElseThrow(() -> new RuntimeException("Rate slab not found"));
+        if (!slab.isActive()) return;
+        slab.setActive(false);
+        slab.setUpdatedBy(username);
+        slabRepository.save(slab);
+        audit(slab, "DEACTIVATE", slab.getAnnualInterestRate(), username);
+        reloadAfterCommit();
+    }
+
+    private void validate(DepositRateSlabRequest req) {
+        if (req.getMaxTenureMonths() < req.getMinTenureMonths()) {
+            throw new RuntimeException("maxTenureMonths must not be less than minTenureMonths");
+        }
+        if (req.getMaxAmount() != null && req.getMaxAmount().compareTo(req.getMinAmount()) <= 0) {
+            throw new RuntimeException("maxAmount must be greater than minAmount");
+        }
+    }
+
+    private void audit(DepositRateSlab slab, String action, Double oldRate, String username) {
+        auditRepository.save(DepositRateAudit.builder()
+                .slabId(slab.getId())
+                .action(action)
+                .oldRate(oldRate)
+                .newRate(slab.isActive() ? slab.getAnnualInterestRate() : null)
+                .detail(slab.getProductType() + " " + slab.getMinTenureMonths() + "-" + slab.getMaxTenureMonths()
+                        + "m, amount " + slab.getMinAmount() + "-" + (slab.getMaxAmount() == null ? "*" : slab.getMaxAmount())
+                        + " @ " + slab.getAnnualInterestRate() + "%")
+                .changedBy(username)
+                .build());
+    }
+
+    // publish the new snapshot only once the change is visible to other connections
+    private void reloadAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                catalog.reload();
+            }
+        });
+    }
+
+    private DepositRateSlabResponse toResponse(DepositRateSlab s) {
+        return DepositRateSlabResponse.builder()
+                .id(s.getId())
+                .productType(s.getProductType())
+                .minTenureMonths(s.getMinTenureMonths())
+                .maxTenureMonths(s.getMaxTenureMonths())
+                .minAmount(s.getMinAmount())
+                .maxAmount(s.getMaxAmount())
+                .annualInterestRate(s.getAnnualInterestRate())
+                .build();
+    }
+}
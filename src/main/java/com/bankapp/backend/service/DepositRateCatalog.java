@@ -0,0 +1,101 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.config.Bulkhead;
+import com.bankapp.backend.config.UseBulkhead;
+import com.bankapp.backend.dto.DepositRateSlabResponse;
+import com.bankapp.backend.entity.DepositProductType;
+import com.bankapp.backend.entity.DepositRateSlab;
+import com.bankapp.backend.repository.DepositRateSlabRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * In-memory deposit rate table.
+ * <p>
+ * Active slabs are loaded into an immutable snapshot and published through a
+ * volatile reference, so lookups never lock and a reload swaps the whole table
+ * atomically. Reloads happen at startup, after every admin change and on a
+ * timer (to pick up changes made through another instance).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DepositRateCatalog {
+
+    private final DepositRateSlabRepository slabRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public record Slab(long id, DepositProductType productType, int minTenureMonths, int maxTenureMonths,
+                       BigDecimal minAmount, BigDecimal maxAmount, double annualInterestRate) {
+
+        boolean matches(int tenureMonths, BigDecimal amount) {
+            return tenureMonths >= minTenureMonths && tenureMonths <= maxTenureMonths
+                    && amount.compareTo(minAmount) >= 0
+                    && (maxAmount == null || amount.compareTo(maxAmount) < 0);
+        }
+    }
+
+    private record Snapshot(Map<DepositProductType, List<Slab>> byProduct) {
+        static final Snapshot EMPTY = new Snapshot(Map.of());
+    }
+
+    // most specific slab first: higher amount floor, then higher tenure floor
+    private static final Comparator<Slab> SPECIFICITY = Comparator
+            .comparing(Slab::minAmount).reversed()
+            .thenComparing(Comparator.comparingInt(Slab::minTenureMonths).reversed());
+
+    @UseBulkhead(Bulkhead.MAINTENANCE)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.deposits.rates.refresh-ms:60000}", initialDelayString = "${app.deposits.rates.refresh-ms:60000}")
+    public void reload() {
+        Map<DepositProductType, List<Slab>> byProduct = new EnumMap<>(DepositProductType.class);
+        for (DepositRateSlab s : slabRepository.findByActiveTrue()) {
+            byProduct.computeIfAbsent(s.getProductType(), k -> new ArrayList<>())
+                    .add(new Slab(s.getId(), s.getProductType(), s.getMinTenureMonths(), s.getMaxTenureMonths(),
+                            s.getMinAmount(), s.getMaxAmount(), s.getAnnualInterestRate()));
+        }
+        Map<DepositProductType, List<Slab>> frozen = new EnumMap<>(DepositProductType.class);
+        byProduct.forEach((type, slabs) -> {
+            slabs.sort(SPECIFICITY);
+            frozen.put(type, List.copyOf(slabs));
+        });
+        snapshot = new Snapshot(Collections.unmodifiableMap(frozen));
+        log.debug("Deposit rate catalog reloaded: {}", frozen.keySet());
+    }
+
+    public Optional<Slab> find(DepositProductType productType, int tenureMonths, BigDecimal amount) {
+        for (Slab slab : snapshot.byProduct().getOrDefault(productType, List.of())) {
+            if (slab.matches(tenureMonths, amount)) return Optional.of(slab);
+        }
+        return Optional.empty();
+    }
+
+    public double rateFor(DepositProductType productType, int tenureMonths, BigDecimal amount) {
+        return find(productType, tenureMonths, amount)
+                .map(Slab::annualInterestRate)
+                .orElseThrow(() -> new RuntimeException(
+                        "No " + productType + " rate offered for " + tenureMonths + " months and amount " + amount));
+    }
+
+    public List<DepositRateSlabResponse> listSlabs() {
+        List<DepositRateSlabResponse> out = new ArrayList<>();
+        snapshot.byProduct().values().forEach(slabs -> slabs.forEach(s -> out.add(DepositRateSlabResponse.builder()
+                .id(s.id())
+                .productType(s.productType())
+                .minTenureMonths(s.minTenureMonths())
+                .maxTenureMonths(s.maxTenureMonths())
+                .minAmount(s.minAmount())
+                .maxAmount(s.maxAmount())
+                .annualInterestRate(s.annualInterestRate())
+                .build())));
+        return out;
+    }
+}
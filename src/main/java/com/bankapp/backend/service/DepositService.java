@@ -1,22 +1,26 @@
 package com.bankapp.backend.service;
 
+import com.bankapp.backend.config.Bulkhead;
+import com.bankapp.backend.config.UseBulkhead;
 import com.bankapp.backend.dto.*;
 import com.bankapp.backend.entity.*;
 import com.bankapp.backend.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@UseBulkhead(Bulkhead.WRITE)
 public class DepositService {
 
     private final FixedDepositRepository fdRepo;
@@ -26,6 +30,12 @@ public class DepositService {
     private final TransactionRecordRepository txRepo;
     private final FailedTransactionRepository failedRepo;
     private final NotificationService notificationService; // implement a stub to send emails / events
+    private final InterestCalculator interestCalculator;
+    private final FdRenewalService fdRenewalService;
+    private final DepositRateCatalog rateCatalog;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int MATURITY_CHUNK_SIZE = 500;
 
     // ---------- FD creation ----------
     @Transactional
@@ -43,19 +53,24 @@ public class DepositService {
             }
         }
 
+        // rate is bank-controlled: resolved from the product catalog, never taken from the client
+        double rate = rateCatalog.rateFor(DepositProductType.FD, req.getTenureMonths(), req.getPrincipal());
+
         LocalDate start = LocalDate.now();
         LocalDate maturity = start.plusMonths(req.getTenureMonths());
 
-        BigDecimal maturityAmount = calculateFDMaturityAmount(req.getPrincipal(), req.getAnnualInterestRate(), req.getTenureMonths());
+        CompoundingFrequency compounding = req.getCompounding() != null ? req.getCompounding() : CompoundingFrequency.MONTHLY;
+        BigDecimal maturityAmount = interestCalculator.fdMaturityAmount(req.getPrincipal(), rate, req.getTenureMonths(), compounding);
 
         FixedDeposit fd = FixedDeposit.builder()
                 .owner(user)
                 .principal(req.getPrincipal())
-                .annualInterestRate(req.getAnnualInterestRate())
+                .annualInterestRate(rate)
                 .tenureMonths(req.getTenureMonths())
                 .startDate(start)
                 .maturityDate(maturity)
                 .maturityAmount(maturityAmount)
+                .compounding(compounding)
                 .status(DepositStatus.ACTIVE)
                 .autoRenew(req.getAutoRenew() != null ? req.getAutoRenew() : false)
                 .linkedAccount(linked)
@@ -87,20 +102,23 @@ public class DepositService {
             }
         }
 
+        double rate = rateCatalog.rateFor(DepositProductType.RD, req.getTenureMonths(), req.getMonthlyInstallment());
+
         LocalDate start = LocalDate.now();
         LocalDate maturity = start.plusMonths(req.getTenureMonths());
 
-        BigDecimal maturityAmount = calculateRDMaturityAmount(req.getMonthlyInstallment(), req.getAnnualInterestRate(), req.getTenureMonths());
+        BigDecimal maturityAmount = interestCalculator.rdMaturityAmount(req.getMonthlyInstallment(), rate, req.getTenureMonths());
 
         RecurringDeposit rd = RecurringDeposit.builder()
                 .owner(user)
                 .monthlyInstallment(req.getMonthlyInstallment())
-                .annualInterestRate(req.getAnnualInterestRate())
+                .annualInterestRate(rate)
                 .tenureMonths(req.getTenureMonths())
                 .startDate(start)
                 .maturityDate(maturity)
                 .maturityAmount(maturityAmount)
                 .status(DepositStatus.ACTIVE)
+                .nextInstallmentDate(start) // first instalment is collected by the next collection run
                 .linkedAccount(linked)
                 .createdAt(LocalDateTime.now())
                 .build();
@@ -114,33 +132,35 @@ public class DepositService {
         return toRDResponse(rd);
     }
 
+    // ---------- Rates ----------
+    @UseBulkhead(Bulkhead.READ)
+    public List<DepositRateSlabResponse> listRates() {
+        return rateCatalog.listSlabs();
+    }
+
     // ---------- List / View ----------
+    @UseBulkhead(Bulkhead.READ)
     @Transactional(readOnly = true)
     public List<FDResponse> listMyFDs(String username) {
-        var user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
-        return fdRepo.findByOwner(user).stream().map(this::toFDResponse).collect(Collectors.toList());
+        return fdRepo.findViewsByOwner(username);
     }
 
+    @UseBulkhead(Bulkhead.READ)
     @Transactional(readOnly = true)
     public FDResponse getFD(Long id, String username) {
-        var user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
-        var fd = fdRepo.findById(id).orElseThrow(() -> new RuntimeException("FD not found"));
-        if (!fd.getOwner().getId().equals(user.getId())) throw new RuntimeException("Unauthorized");
-        return toFDResponse(fd);
+        return fdRepo.findViewByIdAndOwner(id, username).orElseThrow(() -> new RuntimeException("FD not found"));
     }
 
+    @UseBulkhead(Bulkhead.READ)
     @Transactional(readOnly = true)
     public List<RDResponse> listMyRDs(String username) {
-        var user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
-        return rdRepo.findByOwner(user).stream().map(this::toRDResponse).collect(Collectors.toList());
+        return rdRepo.findViewsByOwner(username);
     }
 
+    @UseBulkhead(Bulkhead.READ)
     @Transactional(readOnly = true)
     public RDResponse getRD(Long id, String username) {
-        var user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
-        var rd = rdRepo.findById(id).orElseThrow(() -> new RuntimeException("RD not found"));
-        if (!rd.getOwner().getId().equals(user.getId())) throw new RuntimeException("Unauthorized");
-        return toRDResponse(rd);
+        return rdRepo.findViewByIdAndOwner(id, username).orElseThrow(() -> new RuntimeException("RD not found"));
     }
 
     // ---------- Cancel ----------
@@ -168,14 +188,51 @@ public class DepositService {
 
     // ---------- Scheduled Maturity Processor ----------
     // Runs daily at 02:00 AM server time
+    @UseBulkhead(Bulkhead.BATCH)
     @Scheduled(cron = "0 0 2 * * ?")
-    @Transactional
     public void processMaturities() {
-        LocalDate today = LocalDate.now();
+        processMaturities(LocalDate.now());
+    }
+
+    void processMaturities(LocalDate today) {
+        // process FDs chunk by chunk: payouts in one transaction, then the chunk's renewals in another
+        Long lastFdId = 0L;
+        while (lastFdId != null) {
+            long afterId = lastFdId;
+            List<FixedDeposit> renewals = new ArrayList<>();
+            lastFdId = transactionTemplate.execute(status -> processFDChunk(today, afterId, renewals));
+            renewMatured(renewals, today);
+        }
+
+        // process RDs
+        transactionTemplate.executeWithoutResult(status -> {
+            List<RecurringDeposit> rds = rdRepo.findByMaturityDateAndStatus(today, DepositStatus.ACTIVE);
+            for (RecurringDeposit rd : rds) {
+                try {
+                    handleRDMaturity(rd);
+                } catch (Exception ex) {
+                    failedRepo.save(FailedTransaction.builder()
+                            .reference("RDMAT-" + rd.getId())
+                            .reason("RD maturity processing failed: " + ex.getMessage())
+                            .build());
+                }
+            }
+        });
+    }
+
+    // returns the last FD id of the chunk, or null when nothing is left; auto-renew FDs are
+    // handed back in renewals
+    private Long processFDChunk(LocalDate today, long afterId, List<FixedDeposit> renewals) {
+        // owner and linked account are fetched with the deposits, so no lazy loads per FD
+        List<FixedDeposit> fds = fdRepo.findMaturingChunk(today, DepositStatus.ACTIVE, afterId, Limit.of(MATURITY_CHUNK_SIZE));
+        if (fds.isEmpty()) return null;
 
-        // process FDs
-        List<FixedDeposit> fds = fdRepo.findByMaturityDateAndStatus(today, DepositStatus.ACTIVE);
         for (FixedDeposit fd : fds) {
+            // auto-renewed FDs roll their maturity amount into the successor instead of being paid out
+            if (Boolean.TRUE.equals(fd.getAutoRenew())) {
+                renewals.add(fd);
+                continue;
+            }
             try {
                 handleFDMaturity(fd);
             } catch (Exception ex) {
@@ -187,22 +244,32 @@ public class DepositService {
             }
         }
 
-        // process RDs
-        List<RecurringDeposit> rds = rdRepo.findByMaturityDateAndStatus(today, DepositStatus.ACTIVE);
-        for (RecurringDeposit rd : rds) {
-            try {
-                handleRDMaturity(rd);
-            } catch (Exception ex) {
-                failedRepo.save(FailedTransaction.builder()
-                        .reference("RDMAT-" + rd.getId())
-                        .reason("RD maturity processing failed: " + ex.getMessage())
-                        .build());
-            }
+        return fds.get(fds.size() - 1).getId();
+    }
+
+    // a failed renewal rolls back on its own, so the chunk's payouts are unaffected
+    private void renewMatured(List<FixedDeposit> renewals, LocalDate today) {
+        if (renewals.isEmpty()) return;
+        try {
+            transactionTemplate.executeWithoutResult(status -> fdRenewalService.renew(renewals, today));
+        } catch (Exception ex) {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (FixedDeposit fd : renewals) {
+                    failedRepo.save(FailedTransaction.builder()
+                            .reference("FDRENEW-" + fd.getId())
+                            .reason("FD auto-renewal failed: " + ex.getMessage())
+                            .build());
+                }
+            });
         }
     }
 
     // ---------- Helpers for maturity ----------
     private void handleFDMaturity(FixedDeposit fd) {
+        // rows created before maturityAmount was stored get it computed now
+        if (fd.getMaturityAmount() == null) {
+            fd.setMaturityAmount(interestCalculator.fdMaturityAmount(fd.getPrincipal(), fd.getAnnualInterestRate(), fd.getTenureMonths(), fd.getCompounding()));
+        }
         // mark matured and credit linked account (or owner's primary account if linked null)
         fd.setStatus(DepositStatus.MATURED);
         fd.setMaturedAt(LocalDateTime.now());
@@ -233,29 +300,12 @@ public class DepositService {
             notificationService.sendEmailAsync(fd.getOwner().getEmail(), "FD Matured",
                     "Your FD #" + fd.getId() + " matured. Maturity amount: " + fd.getMaturityAmount() + ". Please collect from branch or link an account.");
         }
-
-        // Auto renew if enabled
-        if (Boolean.TRUE.equals(fd.getAutoRenew())) {
-            // create a new FD with same tenure/principal = maturityAmount (simple renewal)
-            CreateFDRequest create = new CreateFDRequest();
-            create.setPrincipal(fd.getMaturityAmount());
-            create.setAnnualInterestRate(fd.getAnnualInterestRate());
-            create.setTenureMonths(fd.getTenureMonths());
-            create.setLinkedAccountId(fd.getLinkedAccount() != null ? fd.getLinkedAccount().getId() : null);
-            create.setAutoRenew(true);
-
-            // We do not debit lifecycle here — it's auto-rolled
-            FDResponse newFd = createFD(create, fd.getOwner().getUsername()); // careful: User entity may not have username loaded -> use a different approach
-            // mark original as RENEWED
-            fd.setStatus(DepositStatus.RENEWED);
-            fdRepo.save(fd);
-
-            notificationService.sendEmailAsync(fd.getOwner().getEmail(), "FD Auto-Renewed",
-                    "Your FD #" + fd.getId() + " has been auto-renewed as FD #" + newFd.getId());
-        }
     }
 
     private void handleRDMaturity(RecurringDeposit rd) {
+        if (rd.getMaturityAmount() == null) {
+            rd.setMaturityAmount(interestCalculator.rdMaturityAmount(rd.getMonthlyInstallment(), rd.getAnnualInterestRate(), rd.getTenureMonths()));
+        }
         rd.setStatus(DepositStatus.MATURED);
         rd.setMaturedAt(LocalDateTime.now());
         rdRepo.save(rd);
@@ -285,34 +335,6 @@ public class DepositService {
         }
     }
 
-    // ---------- Interest calculator helpers ----------
-    // For FD: simple annual compounding monthly frequency approximation
-    private BigDecimal calculateFDMaturityAmount(BigDecimal principal, Double annualRatePercent, Integer months) {
-        // We'll compound monthly: A = P * (1 + r/12)^(months)
-        BigDecimal r = BigDecimal.valueOf(annualRatePercent).divide(BigDecimal.valueOf(100), 10, RoundingMode.HALF_UP);
-        BigDecimal base = BigDecimal.ONE.add(r.divide(BigDecimal.valueOf(12), 10, RoundingMode.HALF_UP));
-        BigDecimal exponent = BigDecimal.valueOf(1);
-        for (int i = 0; i < months; i++) exponent = exponent.multiply(base);
-        BigDecimal amount = principal.multiply(exponent);
-        return amount.setScale(2, RoundingMode.HALF_UP);
-    }
-
-    // For RD: monthly instalment compounded monthly
-    private BigDecimal calculateRDMaturityAmount(BigDecimal monthly, Double annualRatePercent, Integer months) {
-        // formula: M = monthly * [ ( (1+r)^n -1 ) / r ] * (1+r)
-        BigDecimal r = BigDecimal.valueOf(annualRatePercent).divide(BigDecimal.valueOf(100), 10, RoundingMode.HALF_UP).divide(BigDecimal.valueOf(12), 10, RoundingMode.HALF_UP);
-        BigDecimal onePlusR = BigDecimal.ONE.add(r);
-        BigDecimal pow = BigDecimal.ONE;
-        for (int i = 0; i < months; i++) pow = pow.multiply(onePlusR);
-        BigDecimal numerator = pow.subtract(BigDecimal.ONE);
-        if (r.compareTo(BigDecimal.ZERO) == 0) {
-            BigDecimal total = monthly.multiply(BigDecimal.valueOf(months));
-            return total.setScale(2, RoundingMode.HALF_UP);
-        }
-        BigDecimal amount = monthly.multiply(numerator.divide(r, 10, RoundingMode.HALF_UP)).multiply(onePlusR);
-        return amount.setScale(2, RoundingMode.HALF_UP);
-    }
-
     // ---------- Converters ----------
     private FDResponse toFDResponse(FixedDeposit fd) {
         return FDResponse.builder()
@@ -323,8 +345,10 @@ public class DepositService {
                 .startDate(fd.getStartDate())
                 .maturityDate(fd.getMaturityDate())
                 .maturityAmount(fd.getMaturityAmount())
+                .compounding(fd.getCompounding() != null ? fd.getCompounding().name() : CompoundingFrequency.MONTHLY.name())
                 .status(fd.getStatus().name())
                 .autoRenew(fd.getAutoRenew())
+                .renewedFromId(fd.getRenewedFromId())
                 .linkedAccountId(fd.getLinkedAccount() != null ? fd.getLinkedAccount().getId() : null)
                 .build();
     }
@@ -0,0 +1,149 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.entity.CompoundingFrequency;
+import com.bankapp.backend.entity.DepositProductType;
+import com.bankapp.backend.entity.FixedDeposit;
+import com.bankapp.backend.entity.User;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Bulk auto-renewal of matured FDs.
+ * <p>
+ * Called by the maturity job with a chunk of matured deposits whose owner and linked
+ * account are already loaded. Successor rows are written with one batched insert
+ * (carrying renewed_from_id), the originals are flipped to RENEWED with one
+ * set-based update, and each owner gets a single notification after commit.
+ * Must be called inside a transaction, which the maturity job opens per chunk of
+ * renewals so a failure rolls the whole chunk back instead of half-renewing it.
+ */
+@Service
+public class FdRenewalService {
+
+    private static final String LOCK_ACTIVE = """
+            select id from fixed_deposits
+            where id in (:ids) and status = 'ACTIVE'
+            order by id
+            for update
+            """;
+
+    private static final String INSERT_SUCCESSOR = """
+            insert into fixed_deposits (owner_id, principal, annual_interest_rate, tenure_months, start_date,
+                                        maturity_date, maturity_amount, compounding, status, auto_renew,
+                                        linked_account_id, renewed_from_id, created_at)
+            values (:ownerId, :principal, :rate, :tenure, :start, :maturity, :maturityAmount, :compounding,
+                    'ACTIVE', true, :linkedAccountId, :renewedFromId, :now)
+            """;
+
+    private static final String MARK_RENEWED = """
+            update fixed_deposits set status = 'RENEWED', matured_at = :now
+            where id in (:ids) and status = 'ACTIVE'
+            """;
+
+    private static final String SELECT_SUCCESSORS =
+            "select id, renewed_from_id from fixed_deposits where renewed_from_id in (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final InterestCalculator interestCalculator;
+    private final DepositRateCatalog rateCatalog;
+    private final NotificationService notificationService;
+
+    public FdRenewalService(NamedParameterJdbcTemplate jdbc,
+                            InterestCalculator interestCalculator,
+                            DepositRateCatalog rateCatalog,
+                            NotificationService notificationService) {
+        this.jdbc = jdbc;
+        this.interestCalculator = interestCalculator;
+        this.rateCatalog = rateCatalog;
+        this.notificationService = notificationService;
+    }
+
+    /**
+     * Renews the given matured FDs. Returns old id -> new id for every deposit renewed;
+     * deposits no longer ACTIVE (e.g. cancelled meanwhile) are skipped.
+     */
+    public Map<Long, Long> renew(List<FixedDeposit> matured, LocalDate today) {
+        Map<Long, FixedDeposit> byId = new LinkedHashMap<>();
+        matured.forEach(fd -> byId.put(fd.getId(), fd));
+
+        List<Long> active = jdbc.queryForList(LOCK_ACTIVE, new MapSqlParameterSource("ids", byId.keySet()), Long.class);
+        if (active.isEmpty()) return Map.of();
+
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        List<MapSqlParameterSource> rows = new ArrayList<>(active.size());
+        for (Long id : active) {
+            FixedDeposit fd = byId.get(id);
+            CompoundingFrequency compounding = fd.getCompounding() != null ? fd.getCompounding() : CompoundingFrequency.MONTHLY;
+            BigDecimal principal = fd.getMaturityAmount() != null ? fd.getMaturityAmount()
+                    : interestCalculator.fdMaturityAmount(fd.getPrincipal(), fd.getAnnualInterestRate(), fd.getTenureMonths(), compounding);
+            // renew at today's card rate; keep the old rate if the product is no longer offered
+            double rate = rateCatalog.find(DepositProductType.FD, fd.getTenureMonths(), principal)
+                    .map(DepositRateCatalog.Slab::annualInterestRate)
+                    .orElse(fd.getAnnualInterestRate());
+
+            rows.add(new MapSqlParameterSource()
+                    .addValue("ownerId", fd.getOwner().getId())
+                    .addValue("principal", principal)
+                    .addValue("rate", rate)
+                    .addValue("tenure", fd.getTenureMonths())
+                    .addValue("start", Date.valueOf(today))
+                    .addValue("maturity", Date.valueOf(today.plusMonths(fd.getTenureMonths())))
+                    .addValue("maturityAmount", interestCalculator.fdMaturityAmount(principal, rate, fd.getTenureMonths(), compounding))
+                    .addValue("compounding", compounding.name())
+                    .addValue("linkedAccountId", fd.getLinkedAccount() != null ? fd.getLinkedAccount().getId() : null)
+                    .addValue("renewedFromId", id)
+                    .addValue("now", now));
+        }
+
+        jdbc.batchUpdate(INSERT_SUCCESSOR, rows.toArray(MapSqlParameterSource[]::new));
+        jdbc.update(MARK_RENEWED, new MapSqlParameterSource()
+                .addValue("ids", active)
+                .addValue("now", now));
+
+        Map<Long, Long> oldToNew = new TreeMap<>();
+        jdbc.query(SELECT_SUCCESSORS, new MapSqlParameterSource("ids", active), rs -> {
+            oldToNew.put(rs.getLong("renewed_from_id"), rs.getLong("id"));
+        });
+
+        notifyOwnersAfterCommit(byId, oldToNew);
+        return oldToNew;
+    }
+
+    // one email per owner, sent only once the renewal is committed
+    private void notifyOwnersAfterCommit(Map<Long, FixedDeposit> byId, Map<Long, Long> oldToNew) {
+        Map<Long, User> owners = new HashMap<>();
+        Map<Long, StringBuilder> lines = new LinkedHashMap<>();
+        oldToNew.forEach((oldId, newId) -> {
+            User owner = byId.get(oldId).getOwner();
+            owners.putIfAbsent(owner.getId(), owner);
+            var sb = lines.computeIfAbsent(owner.getId(), k -> new StringBuilder());
+            if (!sb.isEmpty()) sb.append(", ");
+            sb.append("FD #").append(oldId).append(" -> FD #").append(newId);
+        });
+
+        Runnable send = () -> lines.forEach((ownerId, text) ->
+                notificationService.sendEmailAsync(owners.get(ownerId).getEmail(), "FD Auto-Renewed",
+                        "Your fixed deposits have been auto-renewed: " + text));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send.run();
+                }
+            });
+        } else {
+            send.run();
+        }
+    }
+}
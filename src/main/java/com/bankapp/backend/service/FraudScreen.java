@@ -0,0 +1,114 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.config.FraudProperties;
+import com.bankapp.backend.config.FraudProperties.Action;
+import com.bankapp.backend.config.FraudProperties.Rule;
+import com.bankapp.backend.config.FraudProperties.Scope;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory velocity screening of card spends, run by {@link CardAuthorizer} before the
+ * account lock. Every attempt is counted per card and per merchant in 1 minute, 1 hour
+ * and 24 hour sliding windows, and the configured {@link FraudProperties} rules decide
+ * whether it is approved, needs step-up verification or is declined.
+ * <p>
+ * Counters live in a size-bounded Caffeine cache that also drops keys idle for longer
+ * than the largest window, so memory stays bounded however many cards are seen.
+ */
+@Component
+public class FraudScreen {
+
+    public enum Outcome { APPROVE, STEP_UP, DECLINE }
+
+    public record Decision(Outcome outcome, String rule) {
+        static final Decision APPROVED = new Decision(Outcome.APPROVE, null);
+    }
+
+    // the three windows of one card or merchant
+    private static final class Velocity {
+        final SlidingWindowCounter minute = new SlidingWindowCounter(60_000, 12);          // 5 s buckets
+        final SlidingWindowCounter hour = new SlidingWindowCounter(3_600_000, 60);         // 1 min buckets
+        final SlidingWindowCounter day = new SlidingWindowCounter(86_400_000, 48);         // 30 min buckets
+
+        SlidingWindowCounter window(FraudProperties.Window w) {
+            return switch (w) {
+                case MINUTE -> minute;
+                case HOUR -> hour;
+                case DAY -> day;
+            };
+        }
+
+        void add(long now, long cents) {
+            minute.add(now, cents);
+            hour.add(now, cents);
+            day.add(now, cents);
+        }
+    }
+
+    private final FraudProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final Cache<Long, Velocity> byCard;
+    private final Cache<String, Velocity> byMerchant;
+
+    @Autowired
+    public FraudScreen(FraudProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::currentTimeMillis);
+    }
+
+    FraudScreen(FraudProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        Duration idle = Duration.ofHours(25);
+        this.byCard = Caffeine.newBuilder().maximumSize(properties.getMaxTrackedKeys()).expireAfterAccess(idle).build();
+        this.byMerchant = Caffeine.newBuilder().maximumSize(properties.getMaxTrackedKeys()).expireAfterAccess(idle).build();
+    }
+
+    /** Scores the attempt, then counts it (declined attempts count too). */
+    public Decision screen(Long cardId, String merchant, BigDecimal amount) {
+        if (!properties.isEnabled()) return Decision.APPROVED;
+
+        long now = clock.getAsLong();
+        long cents = amount.movePointRight(2).longValue();
+        Velocity card = byCard.get(cardId, k -> new Velocity());
+        String merchantKey = merchant == null || merchant.isBlank() ? null : merchant.trim().toUpperCase(Locale.ROOT);
+        Velocity merch = merchantKey == null ? null : byMerchant.get(merchantKey, k -> new Velocity());
+
+        Decision decision = Decision.APPROVED;
+        for (Rule rule : properties.getRules()) {
+            Velocity v = rule.getScope() == Scope.CARD ? card : merch;
+            if (v == null || !trips(rule, v.window(rule.getWindow()).totals(now), cents)) continue;
+            Outcome outcome = rule.getAction() == Action.DECLINE ? Outcome.DECLINE : Outcome.STEP_UP;
+            if (outcome.compareTo(decision.outcome()) > 0) {
+                decision = new Decision(outcome, rule.getName());
+                if (outcome == Outcome.DECLINE) break;
+            }
+        }
+
+        card.add(now, cents);
+        if (merch != null) merch.add(now, cents);
+
+        if (decision.outcome() != Outcome.APPROVE) {
+            meterRegistry.counter("card.fraud.decisions", "outcome", decision.outcome().name(),
+                    "rule", String.valueOf(decision.rule())).increment();
+        }
+        return decision;
+    }
+
+    // totals so far plus this attempt
+    private static boolean trips(Rule rule, SlidingWindowCounter.Totals totals, long cents) {
+        if (rule.getMaxCount() != null && totals.count() + 1 > rule.getMaxCount()) return true;
+        return rule.getMaxAmount() != null
+                && totals.amountCents() + cents > rule.getMaxAmount().movePointRight(2).longValue();
+    }
+}
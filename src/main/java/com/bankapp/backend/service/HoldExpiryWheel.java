@@ -0,0 +1,85 @@
+package com.bankapp.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hashed timer wheel for hold expiry. Each slot covers one tick; a hold whose deadline
+ * is more than a full revolution away simply stays in its slot until a later pass.
+ * {@link #schedule} may be called from any thread; {@link #advance} from one thread only
+ * (the sweeper), so each tick costs one slot drain instead of a scan of all holds.
+ * Schedules share a read lock and advance takes the write lock, so a hold can never be
+ * added to a slot that the sweeper has just drained and wait a full revolution.
+ */
+public class HoldExpiryWheel {
+
+    private record Entry(long holdId, long deadlineMillis) {
+    }
+
+    private final long tickMillis;
+    private final ConcurrentLinkedQueue<Entry>[] slots;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long lastTick;
+
+    @SuppressWarnings("unchecked")
+    public HoldExpiryWheel(long tickMillis, int slotCount, long startMillis) {
+        if (tickMillis <= 0 || slotCount <= 0) throw new IllegalArgumentException("tickMillis and slotCount must be positive");
+        this.tickMillis = tickMillis;
+        this.slots = new ConcurrentLinkedQueue[slotCount];
+        for (int i = 0; i < slotCount; i++) slots[i] = new ConcurrentLinkedQueue<>();
+        this.lastTick = startMillis / tickMillis;
+    }
+
+    public void schedule(long holdId, long deadlineMillis) {
+        lock.readLock().lock();
+        try {
+            // anything already due lands in the next tick
+            long tick = Math.max(ceilDiv(deadlineMillis, tickMillis), lastTick + 1);
+            slots[(int) (tick % slots.length)].add(new Entry(holdId, deadlineMillis));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Moves the wheel up to {@code nowMillis} and returns the ids of holds that are due. */
+    public List<Long> advance(long nowMillis) {
+        long target = nowMillis / tickMillis;
+        lock.writeLock().lock();
+        try {
+            if (target <= lastTick) return List.of();
+
+            List<Long> due = new ArrayList<>();
+            // after a long pause one full revolution visits every slot
+            long from = Math.max(lastTick + 1, target - slots.length + 1);
+            for (long t = from; t <= target; t++) {
+                drain(slots[(int) (t % slots.length)], nowMillis, due);
+            }
+            lastTick = target;
+            return due;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        int n = 0;
+        for (var slot : slots) n += slot.size();
+        return n;
+    }
+
+    private static void drain(ConcurrentLinkedQueue<Entry> slot, long nowMillis, List<Long> due) {
+        List<Entry> notYet = new ArrayList<>();
+        Entry e;
+        while ((e = slot.poll()) != null) {
+            if (e.deadlineMillis() <= nowMillis) due.add(e.holdId());
+            else notYet.add(e);
+        }
+        slot.addAll(notYet);
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+}
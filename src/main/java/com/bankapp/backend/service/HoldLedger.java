@@ -0,0 +1,148 @@
+package com.bankapp.backend.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory totals of ACTIVE authorization holds: per account for debit card holds and
+ * per card for credit card holds, so available balance/credit never sums hold rows.
+ * <p>
+ * Changes err on the side of less available money: a new hold is counted immediately
+ * (while the caller still holds the account/card row lock) and taken back out if the
+ * transaction rolls back; capture, release and expiry only free the amount after commit.
+ * <p>
+ * Holds placed through other instances are picked up by {@link #reload}, which swaps in
+ * totals read from authorization_holds. Holds reserved here that the read may have missed
+ * (still uncommitted, or reserved or committed while it ran) are added on top; a hold
+ * counted twice that way is only corrected by the next reload, which again errs on the
+ * safe side.
+ */
+@Component
+public class HoldLedger {
+
+    private static final class Reservation {
+        final Long accountId;
+        final Long cardId;
+        final BigDecimal amount;
+
+        Reservation(Long accountId, Long cardId, BigDecimal amount) {
+            this.accountId = accountId;
+            this.cardId = cardId;
+            this.amount = amount;
+        }
+    }
+
+    private static final class Totals {
+        final ConcurrentHashMap<Long, BigDecimal> byAccount = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<Long, BigDecimal> byCard = new ConcurrentHashMap<>();
+    }
+
+    private volatile Totals totals = new Totals();
+    private final Set<Reservation> uncommitted = ConcurrentHashMap.newKeySet();
+    private Set<Reservation> touchedDuringReload; // guarded by this
+
+    public BigDecimal heldOnAccount(Long accountId) {
+        return totals.byAccount.getOrDefault(accountId, BigDecimal.ZERO);
+    }
+
+    public BigDecimal heldOnCard(Long cardId) {
+        return totals.byCard.getOrDefault(cardId, BigDecimal.ZERO);
+    }
+
+    /** Counts a new hold now; undone if the surrounding transaction does not commit. */
+    public void reserve(Long accountId, Long cardId, BigDecimal amount) {
+        Reservation r = new Reservation(accountId, cardId, amount);
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        if (inTransaction) uncommitted.add(r);
+        noteDuringReload(r);
+        adjust(accountId, cardId, amount);
+        if (inTransaction) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) noteDuringReload(r);
+                    else adjust(accountId, cardId, amount.negate());
+                    uncommitted.remove(r);
+                }
+            });
+        }
+    }
+
+    /** Frees a closed hold once the surrounding transaction commits. */
+    public void releaseAfterCommit(Long accountId, Long cardId, BigDecimal amount) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            adjust(accountId, cardId, amount.negate());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                adjust(accountId, cardId, amount.negate());
+            }
+        });
+    }
+
+    /**
+     * Replaces all totals with the ACTIVE hold amounts returned by {@code readActive}, as
+     * [accountId, cardId, amount] rows; it is called once the reload has started.
+     */
+    void reload(Supplier<List<Object[]>> readActive) {
+        synchronized (this) {
+            touchedDuringReload = Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+        try {
+            Totals fresh = new Totals();
+            for (Object[] row : readActive.get()) {
+                adjust(fresh, toLong(row[0]), toLong(row[1]), (BigDecimal) row[2]);
+            }
+            synchronized (this) {
+                Set<Reservation> missed = Collections.newSetFromMap(new IdentityHashMap<>());
+                missed.addAll(touchedDuringReload);
+                missed.addAll(uncommitted);
+                missed.forEach(r -> adjust(fresh, r.accountId, r.cardId, r.amount));
+                totals = fresh;
+            }
+        } finally {
+            synchronized (this) {
+                touchedDuringReload = null;
+            }
+        }
+    }
+
+    private static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    private synchronized void noteDuringReload(Reservation r) {
+        if (touchedDuringReload != null) touchedDuringReload.add(r);
+    }
+
+    private void adjust(Long accountId, Long cardId, BigDecimal delta) {
+        adjust(totals, accountId, cardId, delta);
+    }
+
+    // debit holds are tracked against the account only, credit holds against the card only
+    private static void adjust(Totals totals, Long accountId, Long cardId, BigDecimal delta) {
+        if (accountId != null) {
+            merge(totals.byAccount, accountId, delta);
+        } else if (cardId != null) {
+            merge(totals.byCard, cardId, delta);
+        }
+    }
+
+    private static void merge(ConcurrentHashMap<Long, BigDecimal> map, Long key, BigDecimal delta) {
+        map.compute(key, (k, v) -> {
+            BigDecimal next = v == null ? delta : v.add(delta);
+            return next.signum() == 0 ? null : next;
+        });
+    }
+}
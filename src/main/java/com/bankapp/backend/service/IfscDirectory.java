@@ -0,0 +1,223 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.dto.IfscBranch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * IFSC (bank branch code) directory loaded from a CSV file (IFSC,BANK,BRANCH,CITY with a
+ * header line), set by app.ifsc.file. Nothing is bundled: until a file is configured only
+ * the code format is checked, so a partial list never rejects real branches.
+ * <p>
+ * Codes are kept sorted in one byte array, 11 bytes per code, with parallel arrays for
+ * the bank (deduplicated) and branch. Lookup is a binary search and prefix search is a
+ * lower-bound search followed by a scan, so neither allocates per entry. A reload parses
+ * the new file into a fresh index and swaps a volatile reference, so readers never wait.
+ */
+@Slf4j
+@Component
+public class IfscDirectory {
+
+    private static final Pattern FORMAT = Pattern.compile("[A-Z]{4}0[A-Z0-9]{6}");
+    static final int CODE_LENGTH = 11;
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+
+    private volatile Index index;
+
+    public IfscDirectory(ResourceLoader resourceLoader, @Value("${app.ifsc.file:}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+    }
+
+    public static String normalise(String ifsc) {
+        return ifsc == null ? null : ifsc.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public static boolean isWellFormed(String ifsc) {
+        return ifsc != null && FORMAT.matcher(ifsc).matches();
+    }
+
+    /** True once a directory file has been loaded; before that only the format can be checked. */
+    public boolean isLoaded() {
+        return index != null;
+    }
+
+    public Optional<IfscBranch> find(String ifsc) {
+        Index idx = index;
+        String code = normalise(ifsc);
+        if (idx == null || !isWellFormed(code)) return Optional.empty();
+        return Optional.ofNullable(idx.find(code));
+    }
+
+    public List<IfscBranch> search(String prefix, int limit) {
+        Index idx = index;
+        String p = normalise(prefix);
+        if (idx == null || p == null || p.isEmpty() || p.length() > CODE_LENGTH) return List.of();
+        return idx.search(p, limit);
+    }
+
+    /**
+     * Throws if the code is malformed or, once the directory is loaded, unknown.
+     * Returns the branch when the directory knows it.
+     */
+    public Optional<IfscBranch> validate(String ifsc) {
+        String code = normalise(ifsc);
+        if (!isWellFormed(code)) throw new RuntimeException("Invalid IFSC format: " + ifsc);
+        Index idx = index;
+        if (idx == null) return Optional.empty();
+        IfscBranch branch = idx.find(code);
+        if (branch == null) throw new RuntimeException("Unknown IFSC: " + code);
+        return Optional.of(branch);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        if (location.isBlank()) {
+            log.info("No IFSC directory configured (app.ifsc.file); only the code format will be checked");
+            return;
+        }
+        long started = System.currentTimeMillis();
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.exists()) {
+            log.warn("IFSC directory file {} not found; only the code format will be checked", location);
+            return;
+        }
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            Index fresh = Index.parse(reader);
+            index = fresh;
+            log.info("IFSC directory loaded from {}: {} branches, {} banks in {} ms",
+                    location, fresh.size(), fresh.banks.length, System.currentTimeMillis() - started);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Loading IFSC directory from " + location + " failed", e);
+        }
+    }
+
+    public int size() {
+        Index idx = index;
+        return idx == null ? 0 : idx.size();
+    }
+
+    static final class Index {
+        private final byte[] codes;      // sorted, CODE_LENGTH bytes each
+        private final int[] bankOf;      // index into banks
+        private final String[] banks;
+        private final String[] branches;
+        private final String[] cities;
+
+        private Index(byte[] codes, int[] bankOf, String[] banks, String[] branches, String[] cities) {
+            this.codes = codes;
+            this.bankOf = bankOf;
+            this.banks = banks;
+            this.branches = branches;
+            this.cities = cities;
+        }
+
+        int size() {
+            return bankOf.length;
+        }
+
+        // rows with a malformed code are skipped; for duplicate codes the first row wins
+        static Index parse(Reader source) throws IOException {
+            record Row(String code, String bank, String branch, String city) {}
+            TreeMap<String, Row> rows = new TreeMap<>();
+            BufferedReader reader = new BufferedReader(source);
+            String line = reader.readLine(); // header
+            int skipped = 0;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                // branch names may be quoted and contain commas
+                List<String> f = Csv.split(line);
+                String code = f.size() >= 2 ? normalise(f.get(0)) : null;
+                if (!isWellFormed(code)) {
+                    skipped++;
+                    continue;
+                }
+                rows.putIfAbsent(code, new Row(code, f.get(1).trim(), f.size() > 2 ? f.get(2).trim() : "",
+                        f.size() > 3 ? f.get(3).trim() : ""));
+            }
+            if (skipped > 0) log.warn("IFSC directory: skipped {} malformed rows", skipped);
+
+            int n = rows.size();
+            byte[] codes = new byte[n * CODE_LENGTH];
+            int[] bankOf = new int[n];
+            String[] branches = new String[n];
+            String[] cities = new String[n];
+            Map<String, Integer> bankIds = new HashMap<>();
+            Map<String, String> cityNames = new HashMap<>(); // few distinct cities; share the strings
+            int i = 0;
+            for (Row r : rows.values()) {
+                System.arraycopy(r.code().getBytes(StandardCharsets.US_ASCII), 0, codes, i * CODE_LENGTH, CODE_LENGTH);
+                bankOf[i] = bankIds.computeIfAbsent(r.bank(), b -> bankIds.size());
+                branches[i] = r.branch();
+                cities[i] = cityNames.computeIfAbsent(r.city(), c -> c);
+                i++;
+            }
+            String[] banks = new String[bankIds.size()];
+            bankIds.forEach((name, id) -> banks[id] = name);
+            return new Index(codes, bankOf, banks, branches, cities);
+        }
+
+        IfscBranch find(String code) {
+            int i = lowerBound(code);
+            return i < size() && compare(i, code) == 0 ? branch(i) : null;
+        }
+
+        List<IfscBranch> search(String prefix, int limit) {
+            List<IfscBranch> out = new ArrayList<>(Math.min(limit, 16));
+            for (int i = lowerBound(prefix); i < size() && out.size() < limit && startsWith(i, prefix); i++) {
+                out.add(branch(i));
+            }
+            return out;
+        }
+
+        private IfscBranch branch(int i) {
+            return new IfscBranch(new String(codes, i * CODE_LENGTH, CODE_LENGTH, StandardCharsets.US_ASCII),
+                    banks[bankOf[i]], branches[i], cities[i]);
+        }
+
+        // first entry >= key (key may be a shorter prefix)
+        private int lowerBound(String key) {
+            int lo = 0, hi = size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (compare(mid, key) < 0) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        private int compare(int i, String key) {
+            int base = i * CODE_LENGTH;
+            int len = Math.min(CODE_LENGTH, key.length());
+            for (int k = 0; k < len; k++) {
+                int d = codes[base + k] - key.charAt(k);
+                if (d != 0) return d;
+            }
+            return CODE_LENGTH - key.length();
+        }
+
+        private boolean startsWith(int i, String prefix) {
+            int base = i * CODE_LENGTH;
+            for (int k = 0; k < prefix.length(); k++) {
+                if (codes[base + k] != prefix.charAt(k)) return false;
+            }
+            return true;
+        }
+    }
+}
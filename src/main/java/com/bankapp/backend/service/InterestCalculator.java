@@ -0,0 +1,144 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.entity.CompoundingFrequency;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interest engine shared by deposit creation and the maturity job.
+ * Powers are computed by squaring under a bounded MathContext, and the growth
+ * factor for each (rate, tenure, compounding) is cached since banks only offer
+ * a handful of rate/tenure combinations.
+ */
+@Component
+public class InterestCalculator {
+
+    // 34 significant digits: far more than a 2-decimal amount needs, but keeps scale bounded
+    private static final MathContext MC = MathContext.DECIMAL128;
+    private static final int RATE_SCALE = 10;
+    private static final int MAX_CACHED_FACTORS = 10_000;
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal TWELVE = BigDecimal.valueOf(12);
+    private static final BigDecimal FOUR = BigDecimal.valueOf(4);
+
+    public enum DayCountConvention {
+        ACT_365,
+        ACT_360,
+        THIRTY_360
+    }
+
+    private enum Product { FD, RD }
+
+    private record FactorKey(Product product, BigDecimal annualRate, int months, CompoundingFrequency compounding) {
+    }
+
+    private final Map<FactorKey, BigDecimal> factorCache = new ConcurrentHashMap<>();
+
+    // ---------- FD ----------
+    // A = P * (1 + r/12)^months for monthly compounding.
+    // Quarterly: full quarters compound at r/4, leftover months earn simple interest.
+    public BigDecimal fdMaturityAmount(BigDecimal principal, double annualRatePercent, int months,
+                                       CompoundingFrequency compounding) {
+        CompoundingFrequency freq = compounding == null ? CompoundingFrequency.MONTHLY : compounding;
+        BigDecimal r = annualRate(annualRatePercent);
+        BigDecimal factor = cachedFactor(new FactorKey(Product.FD, r, months, freq));
+        return principal.multiply(factor).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal fdMaturityAmount(BigDecimal principal, double annualRatePercent, int months) {
+        return fdMaturityAmount(principal, annualRatePercent, months, CompoundingFrequency.MONTHLY);
+    }
+
+    // ---------- RD ----------
+    // M = monthly * [ ((1+r)^n - 1) / r ] * (1+r), r = monthly rate
+    public BigDecimal rdMaturityAmount(BigDecimal monthly, double annualRatePercent, int months) {
+        BigDecimal r = annualRate(annualRatePercent);
+        if (r.divide(TWELVE, RATE_SCALE, RoundingMode.HALF_UP).signum() == 0) {
+            return monthly.multiply(BigDecimal.valueOf(months)).setScale(2, RoundingMode.HALF_UP);
+        }
+        BigDecimal factor = cachedFactor(new FactorKey(Product.RD, r, months, CompoundingFrequency.MONTHLY));
+        return monthly.multiply(factor).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // ---------- Day-count interest ----------
+    // simple interest for the period [from, to) under the given convention, unrounded (MC precision)
+    public BigDecimal simpleInterest(BigDecimal principal, double annualRatePercent,
+                                     LocalDate from, LocalDate to, DayCountConvention convention) {
+        BigDecimal r = annualRate(annualRatePercent);
+        long days = dayCount(from, to, convention);
+        int basis = convention == DayCountConvention.ACT_365 ? 365 : 360;
+        return principal.multiply(r)
+                .multiply(BigDecimal.valueOf(days))
+                .divide(BigDecimal.valueOf(basis), MC);
+    }
+
+    static long dayCount(LocalDate from, LocalDate to, DayCountConvention convention) {
+        if (convention != DayCountConvention.THIRTY_360) {
+            return ChronoUnit.DAYS.between(from, to);
+        }
+        int d1 = Math.min(from.getDayOfMonth(), 30);
+        int d2 = to.getDayOfMonth();
+        if (d1 == 30) d2 = Math.min(d2, 30);
+        return 360L * (to.getYear() - from.getYear())
+                + 30L * (to.getMonthValue() - from.getMonthValue())
+                + (d2 - d1);
+    }
+
+    // ---------- Helpers ----------
+    static BigDecimal pow(BigDecimal base, int exponent) {
+        BigDecimal result = BigDecimal.ONE;
+        BigDecimal square = base;
+        int e = exponent;
+        while (e > 0) {
+            if ((e & 1) == 1) result = result.multiply(square, MC);
+            e >>= 1;
+            if (e > 0) square = square.multiply(square, MC);
+        }
+        return result;
+    }
+
+    // annual rate as a fraction, rounded exactly like the original calculators so results do not drift
+    private BigDecimal annualRate(double annualRatePercent) {
+        return BigDecimal.valueOf(annualRatePercent).divide(HUNDRED, RATE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private BigDecimal cachedFactor(FactorKey key) {
+        BigDecimal factor = factorCache.get(key);
+        if (factor != null) return factor;
+        if (factorCache.size() >= MAX_CACHED_FACTORS) factorCache.clear();
+        factor = switch (key.product()) {
+            case FD -> fdFactor(key.annualRate(), key.months(), key.compounding());
+            case RD -> rdFactor(key.annualRate(), key.months());
+        };
+        factorCache.put(key, factor);
+        return factor;
+    }
+
+    private BigDecimal fdFactor(BigDecimal r, int months, CompoundingFrequency compounding) {
+        if (compounding == CompoundingFrequency.QUARTERLY) {
+            BigDecimal quarterBase = BigDecimal.ONE.add(r.divide(FOUR, RATE_SCALE, RoundingMode.HALF_UP));
+            BigDecimal compounded = pow(quarterBase, months / 3);
+            int leftover = months % 3;
+            if (leftover == 0) return compounded;
+            BigDecimal simple = BigDecimal.ONE.add(r.multiply(BigDecimal.valueOf(leftover)).divide(TWELVE, MC));
+            return compounded.multiply(simple, MC);
+        }
+        BigDecimal base = BigDecimal.ONE.add(r.divide(TWELVE, RATE_SCALE, RoundingMode.HALF_UP));
+        return pow(base, months);
+    }
+
+    private BigDecimal rdFactor(BigDecimal r, int months) {
+        BigDecimal monthlyRate = r.divide(TWELVE, RATE_SCALE, RoundingMode.HALF_UP);
+        BigDecimal onePlusR = BigDecimal.ONE.add(monthlyRate);
+        BigDecimal numerator = pow(onePlusR, months).subtract(BigDecimal.ONE);
+        return numerator.divide(monthlyRate, RATE_SCALE, RoundingMode.HALF_UP).multiply(onePlusR);
+    }
+}
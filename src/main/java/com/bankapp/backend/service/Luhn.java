@@ -0,0 +1,39 @@
+package com.bankapp.backend.service;
+
+/** Luhn (mod 10) check digit used on card numbers. */
+public final class Luhn {
+
+    private Luhn() {
+    }
+
+    /** Check digit to append to {@code payload} (digits only). */
+    public static int checkDigit(CharSequence payload) {
+        int sum = 0;
+        // rightmost payload digit is doubled, since the check digit will sit to its right
+        boolean dbl = true;
+        for (int i = payload.length() - 1; i >= 0; i--) {
+            int d = digit(payload.charAt(i));
+            if (dbl) {
+                d *= 2;
+                if (d > 9) d -= 9;
+            }
+            sum += d;
+            dbl = !dbl;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    public static boolean isValid(CharSequence number) {
+        if (number == null || number.length() < 2) return false;
+        for (int i = 0; i < number.length(); i++) {
+            if (!Character.isDigit(number.charAt(i))) return false;
+        }
+        int last = number.length() - 1;
+        return checkDigit(number.subSequence(0, last)) == digit(number.charAt(last));
+    }
+
+    private static int digit(char c) {
+        if (c < '0' || c > '9') throw new IllegalArgumentException("Not a digit: " + c);
+        return c - '0';
+    }
+}
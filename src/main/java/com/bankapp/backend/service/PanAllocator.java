@@ -0,0 +1,191 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.config.Bulkhead;
+import com.bankapp.backend.config.UseBulkhead;
+import com.bankapp.backend.entity.CardType;
+import com.bankapp.backend.entity.PanRange;
+import com.bankapp.backend.repository.PanRangeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out unique, Luhn-valid card numbers without touching the cards table.
+ * <p>
+ * Each card type has one BIN with a row in pan_ranges. The filler reserves blocks of
+ * sequence numbers from that row (one short transaction per block) and turns each
+ * sequence into a PAN: BIN + 9 account digits + Luhn check digit. The account digits are
+ * an affine permutation of the sequence modulo 10^9, so numbers are unique without a
+ * lookup and are not issued in visibly consecutive order. Numbers of a reserved block
+ * that are never issued (e.g. on restart) are simply skipped.
+ */
+@Slf4j
+@Service
+public class PanAllocator {
+
+    static final long ACCOUNT_SPACE = 1_000_000_000L; // 9 account digits
+    // multiplier coprime with 10^9 (odd, not a multiple of 5) makes the mapping a bijection
+    private static final long MULTIPLIER = 738_219_451L;
+    private static final long OFFSET = 104_729_113L;
+
+    private static final String CANONICALISE_CHUNK = """
+            select id, card_number from cards
+            where id > :afterId and card_number is not null and (pan_hash is null or card_number like '% %')
+            order by id limit 500
+            """;
+
+    // before canonicalisation legacy numbers may be unhashed or formatted, so compare digits
+    private static final String LEGACY_CLASHES = """
+            select replace(replace(card_number, ' ', ''), '-', '') from cards
+            where replace(replace(card_number, ' ', ''), '-', '') in (:pans)
+            """;
+
+    private final PanRangeRepository rangeRepository;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final PanHasher panHasher;
+    private final TransactionTemplate requiresNew;
+    private final Map<CardType, String> bins;
+    private final Map<CardType, ConcurrentLinkedQueue<String>> pools = new EnumMap<>(CardType.class);
+    private final Map<CardType, AtomicInteger> poolSizes = new EnumMap<>(CardType.class);
+    private final int blockSize;
+    private final int lowWatermark;
+    private volatile boolean canonicalised;
+
+    public PanAllocator(PanRangeRepository rangeRepository,
+                        NamedParameterJdbcTemplate jdbc,
+                        PanHasher panHasher,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${app.cards.pan.debit-bin:412345}") String debitBin,
+                        @Value("${app.cards.pan.credit-bin:524310}") String creditBin,
+                        @Value("${app.cards.pan.block-size:1000}") int blockSize,
+                        @Value("${app.cards.pan.pool-low-watermark:500}") int lowWatermark) {
+        this.rangeRepository = rangeRepository;
+        this.jdbc = jdbc;
+        this.panHasher = panHasher;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.bins = Map.of(CardType.DEBIT, debitBin, CardType.CREDIT, creditBin);
+        this.blockSize = blockSize;
+        this.lowWatermark = lowWatermark;
+        for (CardType type : CardType.values()) {
+            if (!bins.get(type).matches("\\d{6}")) throw new IllegalArgumentException("BIN must be 6 digits: " + bins.get(type));
+            pools.put(type, new ConcurrentLinkedQueue<>());
+            poolSizes.put(type, new AtomicInteger());
+        }
+    }
+
+    /** Next free card number (16 digits, canonical form) for the card type. */
+    public String allocate(CardType type) {
+        var pool = pools.get(type);
+        String pan = pool.poll();
+        while (pan == null) {
+            // pool drained faster than the filler runs: reserve a block inline
+            refill(type);
+            pan = pool.poll();
+        }
+        poolSizes.get(type).decrementAndGet();
+        return pan;
+    }
+
+    @UseBulkhead(Bulkhead.MAINTENANCE)
+    @Scheduled(fixedDelayString = "${app.cards.pan.fill-ms:5000}")
+    public void fillPools() {
+        // canonicaliseExistingCards fills the pools once every stored number is hashed
+        if (!canonicalised) return;
+        for (CardType type : CardType.values()) {
+            try {
+                while (poolSizes.get(type).get() < lowWatermark) {
+                    refill(type);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Filling {} PAN pool failed: {}", type, e.getMessage());
+            }
+        }
+    }
+
+    // stored card numbers are canonical (digits only) and looked up by pan_hash
+    @UseBulkhead(Bulkhead.BATCH)
+    @EventListener(ApplicationReadyEvent.class)
+    public void canonicaliseExistingCards() {
+        long afterId = 0;
+        int updated = 0;
+        while (true) {
+            List<MapSqlParameterSource> batch = new ArrayList<>();
+            long[] lastId = {afterId};
+            jdbc.query(CANONICALISE_CHUNK, new MapSqlParameterSource("afterId", afterId), rs -> {
+                String pan = PanHasher.canonical(rs.getString("card_number"));
+                lastId[0] = rs.getLong("id");
+                batch.add(new MapSqlParameterSource()
+                        .addValue("id", lastId[0])
+                        .addValue("pan", pan)
+                        .addValue("hash", panHasher.hash(pan)));
+            });
+            if (batch.isEmpty()) break;
+            jdbc.batchUpdate("update cards set card_number = :pan, pan_hash = :hash where id = :id",
+                    batch.toArray(MapSqlParameterSource[]::new));
+            updated += batch.size();
+            afterId = lastId[0];
+        }
+        if (updated > 0) log.info("Canonicalised {} stored card numbers", updated);
+        canonicalised = true;
+        fillPools();
+    }
+
+    private synchronized void refill(CardType type) {
+        // another thread may have refilled while we waited for the monitor
+        if (poolSizes.get(type).get() >= lowWatermark && !pools.get(type).isEmpty()) return;
+
+        String bin = bins.get(type);
+        long[] block = requiresNew.execute(status -> reserveBlock(bin, type));
+        List<String> pans = new ArrayList<>((int) (block[1] - block[0]));
+        for (long seq = block[0]; seq < block[1]; seq++) {
+            pans.add(panFor(bin, seq));
+        }
+
+        // numbers issued before this allocator (random legacy PANs) could clash; drop those
+        Map<String, String> byHash = new HashMap<>();
+        pans.forEach(p -> byHash.put(panHasher.hash(p), p));
+        jdbc.queryForList("select pan_hash from cards where pan_hash in (:hashes)",
+                new MapSqlParameterSource("hashes", byHash.keySet()), String.class)
+                .forEach(h -> pans.remove(byHash.get(h)));
+        if (!canonicalised && !pans.isEmpty()) {
+            // only reached by an allocate() that runs before startup canonicalisation finished
+            jdbc.queryForList(LEGACY_CLASHES, new MapSqlParameterSource("pans", pans), String.class)
+                    .forEach(pans::remove);
+        }
+
+        pools.get(type).addAll(pans);
+        poolSizes.get(type).addAndGet(pans.size());
+    }
+
+    // returns [from, to) of the reserved sequence numbers
+    private long[] reserveBlock(String bin, CardType type) {
+        PanRange range = rangeRepository.findByBinForUpdate(bin).orElseGet(() ->
+                rangeRepository.saveAndFlush(PanRange.builder().bin(bin).cardType(type).nextSequence(0).build()));
+        long from = range.getNextSequence();
+        if (from >= ACCOUNT_SPACE) throw new IllegalStateException("Card number range exhausted for BIN " + bin);
+        long to = Math.min(from + blockSize, ACCOUNT_SPACE);
+        range.setNextSequence(to);
+        rangeRepository.save(range);
+        return new long[]{from, to};
+    }
+
+    /** BIN + permuted 9-digit account number + Luhn check digit. */
+    static String panFor(String bin, long sequence) {
+        long account = Math.floorMod(sequence * MULTIPLIER + OFFSET, ACCOUNT_SPACE);
+        String payload = bin + String.format("%09d", account);
+        return payload + Luhn.checkDigit(payload);
+    }
+}
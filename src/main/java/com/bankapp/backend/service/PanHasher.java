@@ -0,0 +1,40 @@
+package com.bankapp.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+
+/**
+ * Keyed hash (HMAC-SHA256) of a canonical card number, stored in cards.pan_hash and used
+ * for lookups by card number. Keyed, because the PAN space is small enough to brute-force
+ * a plain hash.
+ */
+@Component
+public class PanHasher {
+
+    private final SecretKeySpec key;
+
+    public PanHasher(@Value("${app.cards.pan.hash-key}") String key) {
+        this.key = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    /** Digits only: strips spaces and dashes from a formatted card number. */
+    public static String canonical(String pan) {
+        return pan == null ? null : pan.replaceAll("[\\s-]", "");
+    }
+
+    public String hash(String pan) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return HexFormat.of().formatHex(mac.doFinal(canonical(pan).getBytes(StandardCharsets.US_ASCII)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.config.Bulkhead;
+import com.bankapp.backend.config.UseBulkhead;
+import com.bankapp.backend.dto.PaymentAliasResponse;
+import com.bankapp.backend.dto.RegisterAliasRequest;
+import com.bankapp.backend.entity.PaymentAlias;
+import com.bankapp.backend.repository.AccountRepository;
+import com.bankapp.backend.repository.PaymentAliasRepository;
+import com.bankapp.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+@Service
+@RequiredArgsConstructor
+@UseBulkhead(Bulkhead.WRITE)
+public class PaymentAliasService {
+
+    // handle@provider, e.g. ramesh.k@bankapp
+    private static final Pattern FORMAT = Pattern.compile("[a-z0-9][a-z0-9._-]{1,39}@[a-z][a-z0-9]{1,19}");
+    private static final int MAX_ALIASES_PER_USER = 5;
+
+    private final PaymentAliasRepository aliasRepository;
+    private final AccountRepository accountRepository;
+    private final UserRepository userRepository;
+
+    public static String normalise(String alias) {
+        return alias == null ? null : alias.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Transactional
+    public PaymentAliasResponse register(RegisterAliasRequest req, String username) {
+        var user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        var account = accountRepository.findByIdAndOwner(req.getAccountId(), user)
+                .orElseThrow(() -> new RuntimeException("Account not found or not owned by user"));
+
+        String alias = normalise(req.getAlias());
+        if (!FORMAT.matcher(alias).matches()) {
+            throw new RuntimeException("Alias must look like name@provider (letters, digits, '.', '_' or '-')");
+        }
+        if (aliasRepository.countByOwner(user) >= MAX_ALIASES_PER_USER) {
+            throw new RuntimeException("At most " + MAX_ALIASES_PER_USER + " aliases per user");
+        }
+        // the unique index on alias still guards a concurrent registration of the same alias
+        if (aliasRepository.existsByAlias(alias)) {
+            throw new RuntimeException("Alias already taken");
+        }
+
+        var saved = aliasRepository.save(PaymentAlias.builder()
+                .alias(alias)
+                .account(account)
+                .owner(user)
+                .build());
+        return toResponse(saved);
+    }
+
+    @Transactional
+    public void delete(String alias, String username) {
+        var user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        var existing = aliasRepository.findByAliasAndOwner(normalise(alias), user)
+                .orElseThrow(() -> new RuntimeException("Alias not found or not owned by you"));
+        aliasRepository.delete(existing);
+    }
+
+    @UseBulkhead(Bulkhead.READ)
+    @Transactional(readOnly = true)
+    public List<PaymentAliasResponse> listMine(String username) {
+        return aliasRepository.findViewsByOwner(username);
+    }
+
+    private PaymentAliasResponse toResponse(PaymentAlias a) {
+        return PaymentAliasResponse.builder()
+                .id(a.getId())
+                .alias(a.getAlias())
+                .accountId(a.getAccount().getId())
+                .accountNumber(a.getAccount().getAccountNumber())
+                .createdAt(a.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,214 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.config.Bulkhead;
+import com.bankapp.backend.config.UseBulkhead;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Monthly RD instalment collection.
+ * <p>
+ * Due RDs are read in id-ordered chunks. Each chunk runs in its own transaction:
+ * the RD rows are re-read FOR UPDATE (so overlapping runs skip what is already done),
+ * linked accounts are locked in id order, and balances, instalment transactions,
+ * missed instalments and RD progress are written with JDBC batches.
+ * Re-running for the same day is a no-op because every processed RD has its
+ * nextInstallmentDate advanced in the same transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@UseBulkhead(Bulkhead.BATCH)
+public class RdInstallmentCollector {
+
+    private static final String SELECT_DUE_IDS = """
+            select id from recurring_deposits
+            where status = 'ACTIVE' and next_installment_date <= :today and id > :lastId
+            order by id
+            limit :limit
+            """;
+
+    private static final String LOCK_RDS = """
+            select id, linked_account_id, monthly_installment, start_date, next_installment_date,
+                   installments_paid, missed_installments, tenure_months
+            from recurring_deposits
+            where id in (:ids) and status = 'ACTIVE' and next_installment_date <= :today
+            order by id
+            for update
+            """;
+
+    private static final String LOCK_ACCOUNTS = """
+            select id, balance, status from accounts
+            where id in (:ids)
+            order by id
+            for update
+            """;
+
+    private static final String UPDATE_BALANCE =
+            "update accounts set balance = :balance where id = :id";
+
+    private static final String INSERT_TX = """
+            insert into transactions (reference, type, status, from_account_id, amount, narration, created_at, processed_at)
+            values (:reference, 'DEPOSIT', 'SUCCESS', :accountId, :amount, :narration, :now, :now)
+            """;
+
+    private static final String INSERT_MISSED = """
+            insert into rd_missed_installments (recurring_deposit_id, installment_number, due_date, amount, reason, penalty_applied, recorded_at)
+            values (:rdId, :installment, :dueDate, :amount, :reason, false, :now)
+            """;
+
+    private static final String UPDATE_RD = """
+            update recurring_deposits
+            set installments_paid = :paid, missed_installments = :missed, next_installment_date = :next
+            where id = :id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final HoldLedger holdLedger;
+
+    @Value("${app.rd.collection.chunk-size:1000}")
+    private int chunkSize;
+
+    public record RunResult(int collected, int missed) {
+    }
+
+    private record DueRd(long id, Long accountId, BigDecimal installment, LocalDate startDate,
+                         LocalDate dueDate, int paid, int missed, int tenureMonths) {
+    }
+
+    // Runs daily at 01:30, before the maturity processor; each RD is due once a month
+    @Scheduled(cron = "0 30 1 * * ?")
+    public void collectDueInstallments() {
+        var result = collect(LocalDate.now());
+        log.info("RD instalment collection finished: {} collected, {} missed", result.collected(), result.missed());
+    }
+
+    public RunResult collect(LocalDate today) {
+        int collected = 0;
+        int missed = 0;
+        long lastId = 0;
+        while (true) {
+            List<Long> ids = jdbc.queryForList(SELECT_DUE_IDS, new MapSqlParameterSource()
+                    .addValue("today", Date.valueOf(today))
+                    .addValue("lastId", lastId)
+                    .addValue("limit", chunkSize), Long.class);
+            if (ids.isEmpty()) break;
+            lastId = ids.get(ids.size() - 1);
+
+            var chunk = transactionTemplate.execute(status -> processChunk(ids, today));
+            if (chunk != null) {
+                collected += chunk.collected();
+                missed += chunk.missed();
+            }
+        }
+        return new RunResult(collected, missed);
+    }
+
+    private RunResult processChunk(List<Long> ids, LocalDate today) {
+        List<DueRd> rds = jdbc.query(LOCK_RDS, new MapSqlParameterSource()
+                        .addValue("ids", ids)
+                        .addValue("today", Date.valueOf(today)),
+                (rs, i) -> new DueRd(
+                        rs.getLong("id"),
+                        rs.getObject("linked_account_id", Long.class),
+                        rs.getBigDecimal("monthly_installment"),
+                        rs.getDate("start_date").toLocalDate(),
+                        rs.getDate("next_installment_date").toLocalDate(),
+                        rs.getInt("installments_paid"),
+                        rs.getInt("missed_installments"),
+                        rs.getInt("tenure_months")));
+        if (rds.isEmpty()) return new RunResult(0, 0);
+
+        // lock linked accounts in id order so concurrent chunks/transfers cannot deadlock with us
+        var accountIds = new TreeSet<Long>();
+        rds.forEach(rd -> { if (rd.accountId() != null) accountIds.add(rd.accountId()); });
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        Set<Long> activeAccounts = new HashSet<>();
+        if (!accountIds.isEmpty()) {
+            jdbc.query(LOCK_ACCOUNTS, new MapSqlParameterSource("ids", accountIds), rs -> {
+                long id = rs.getLong("id");
+                balances.put(id, rs.getBigDecimal("balance"));
+                if ("ACTIVE".equals(rs.getString("status"))) activeAccounts.add(id);
+            });
+        }
+
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        List<MapSqlParameterSource> txRows = new ArrayList<>();
+        List<MapSqlParameterSource> missedRows = new ArrayList<>();
+        List<MapSqlParameterSource> rdRows = new ArrayList<>();
+        Set<Long> touchedAccounts = new TreeSet<>();
+
+        for (DueRd rd : rds) {
+            int installment = rd.paid() + rd.missed() + 1;
+            int paid = rd.paid();
+            int missed = rd.missed();
+
+            String reason = null;
+            BigDecimal balance = rd.accountId() == null ? null : balances.get(rd.accountId());
+            if (rd.accountId() == null) {
+                reason = "No linked account";
+            } else if (balance == null || !activeAccounts.contains(rd.accountId())) {
+                reason = "Linked account not found or not active";
+            } else if (balance.subtract(holdLedger.heldOnAccount(rd.accountId())).compareTo(rd.installment()) < 0) {
+                // money reserved by card authorization holds is not available
+                reason = "Insufficient balance";
+            }
+
+            if (reason == null) {
+                balances.put(rd.accountId(), balance.subtract(rd.installment()));
+                touchedAccounts.add(rd.accountId());
+                txRows.add(new MapSqlParameterSource()
+                        .addValue("reference", "RDINST-" + rd.id() + "-" + installment)
+                        .addValue("accountId", rd.accountId())
+                        .addValue("amount", rd.installment())
+                        .addValue("narration", "RD #" + rd.id() + " instalment " + installment + "/" + rd.tenureMonths())
+                        .addValue("now", now));
+                paid++;
+            } else {
+                missedRows.add(new MapSqlParameterSource()
+                        .addValue("rdId", rd.id())
+                        .addValue("installment", installment)
+                        .addValue("dueDate", Date.valueOf(rd.dueDate()))
+                        .addValue("amount", rd.installment())
+                        .addValue("reason", reason)
+                        .addValue("now", now));
+                missed++;
+            }
+
+            LocalDate next = installment >= rd.tenureMonths() ? null : rd.startDate().plusMonths(installment);
+            rdRows.add(new MapSqlParameterSource()
+                    .addValue("id", rd.id())
+                    .addValue("paid", paid)
+                    .addValue("missed", missed)
+                    .addValue("next", next == null ? null : Date.valueOf(next)));
+        }
+
+        List<MapSqlParameterSource> balanceRows = new ArrayList<>();
+        for (Long accountId : touchedAccounts) {
+            balanceRows.add(new MapSqlParameterSource()
+                    .addValue("id", accountId)
+                    .addValue("balance", balances.get(accountId)));
+        }
+
+        if (!balanceRows.isEmpty()) jdbc.batchUpdate(UPDATE_BALANCE, balanceRows.toArray(MapSqlParameterSource[]::new));
+        if (!txRows.isEmpty()) jdbc.batchUpdate(INSERT_TX, txRows.toArray(MapSqlParameterSource[]::new));
+        if (!missedRows.isEmpty()) jdbc.batchUpdate(INSERT_MISSED, missedRows.toArray(MapSqlParameterSource[]::new));
+        jdbc.batchUpdate(UPDATE_RD, rdRows.toArray(MapSqlParameterSource[]::new));
+
+        return new RunResult(txRows.size(), missedRows.size());
+    }
+}
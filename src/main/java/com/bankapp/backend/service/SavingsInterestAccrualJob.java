@@ -0,0 +1,261 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.config.Bulkhead;
+import com.bankapp.backend.config.Bulkheads;
+import com.bankapp.backend.config.UseBulkhead;
+import com.bankapp.backend.service.InterestCalculator.DayCountConvention;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Nightly interest accrual for SAVINGS accounts.
+ * <p>
+ * The account id range is split into partitions, and each worker streams its
+ * partition with a forward-only cursor (MySQL streaming result set), computing
+ * one day of ACT/365 interest from the day's closing balance and writing accruals
+ * with batched upserts, so a re-run for the same day is harmless. The closing
+ * balance is the current balance less the account's movements since midnight,
+ * read in the same statement so both come from one consistent snapshot.
+ * On the last day of a quarter the quarter's accruals are summed per account
+ * and posted as interest credits (one transaction per account, reference
+ * SBINT-&lt;account&gt;-&lt;year&gt;Q&lt;n&gt;), skipping accounts already posted.
+ * Only whole paise are credited; the remainder is carried onto the first day of
+ * the next quarter.
+ */
+@Slf4j
+@Service
+@UseBulkhead(Bulkhead.BATCH)
+public class SavingsInterestAccrualJob {
+
+    private static final String ID_RANGE =
+            "select min(id) as min_id, max(id) as max_id from accounts where account_type = 'SAVINGS'";
+
+    // every balance change is a SUCCESS transaction; the subqueries seek idx_tx_to/from_created
+    private static final String STREAM_PARTITION = """
+            select a.id, a.balance
+                   - coalesce((select sum(t.amount) from transactions t
+                               where t.to_account_id = a.id and t.status = 'SUCCESS' and t.created_at >= ?), 0)
+                   + coalesce((select sum(t.amount) from transactions t
+                               where t.from_account_id = a.id and t.status = 'SUCCESS' and t.created_at >= ?), 0)
+                   as closing_balance
+            from accounts a
+            where a.account_type = 'SAVINGS' and a.status = 'ACTIVE' and a.id between ? and ?
+            """;
+
+    // leaves carried alone, so the first day of a quarter keeps the remainder written before it
+    private static final String UPSERT_ACCRUAL = """
+            insert into interest_accruals (account_id, accrual_date, amount) values (?, ?, ?) as n
+            on duplicate key update amount = n.amount
+            """;
+
+    private static final String CARRY_REMAINDER = """
+            insert into interest_accruals (account_id, accrual_date, amount, carried)
+            values (:accountId, :date, 0, :carried) as n
+            on duplicate key update carried = n.carried
+            """;
+
+    private static final String SUM_QUARTER = """
+            select account_id, sum(amount + carried) as total from interest_accruals
+            where accrual_date between :from and :to and account_id > :lastId
+            group by account_id
+            order by account_id
+            limit :limit
+            """;
+
+    private static final String EXISTING_REFERENCES =
+            "select reference from transactions where reference in (:refs)";
+
+    private static final String INSERT_CREDIT = """
+            insert into transactions (reference, type, status, to_account_id, amount, narration, created_at, processed_at)
+            values (:reference, 'DEPOSIT', 'SUCCESS', :accountId, :amount, :narration, :now, :now)
+            """;
+
+    private static final String CREDIT_BALANCE =
+            "update accounts set balance = balance + :amount where id = :accountId";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbc;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final InterestCalculator interestCalculator;
+
+    @Value("${app.savings.interest-rate:3.0}")
+    private double annualRatePercent;
+
+    @Value("${app.savings.accrual.workers:8}")
+    private int workers;
+
+    @Value("${app.savings.accrual.batch-size:2000}")
+    private int batchSize;
+
+    public SavingsInterestAccrualJob(DataSource dataSource,
+                                     JdbcTemplate jdbcTemplate,
+                                     NamedParameterJdbcTemplate namedJdbc,
+                                     TransactionTemplate transactionTemplate,
+                                     InterestCalculator interestCalculator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbc = namedJdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.interestCalculator = interestCalculator;
+        // Integer.MIN_VALUE tells Connector/J to stream rows instead of buffering the whole result
+        this.streamingJdbc = new JdbcTemplate(dataSource);
+        this.streamingJdbc.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    // Runs at 00:15 and accrues for the day that just ended
+    @Scheduled(cron = "0 15 0 * * ?")
+    public void runNightly() {
+        LocalDate day = LocalDate.now().minusDays(1);
+        long accrued = accrue(day);
+        log.info("Savings accrual for {}: {} accounts", day, accrued);
+
+        if (isQuarterEnd(day)) {
+            int posted = capitalise(day.withDayOfMonth(1).minusMonths(2), day);
+            log.info("Savings interest capitalised for quarter ending {}: {} accounts", day, posted);
+        }
+    }
+
+    public long accrue(LocalDate day) {
+        Map<String, Object> range = jdbcTemplate.queryForMap(ID_RANGE);
+        Number min = (Number) range.get("min_id");
+        Number max = (Number) range.get("max_id");
+        if (min == null || max == null) return 0;
+
+        long lo = min.longValue();
+        long hi = max.longValue();
+        int parts = Math.max(1, workers);
+        long span = Math.max(1, (hi - lo + parts) / parts);
+
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (long start = lo; start <= hi; start += span) {
+            long from = start;
+            long to = Math.min(hi, start + span - 1);
+            // workers use the batch pool like the job that started them
+            tasks.add(Bulkheads.propagate(() -> accruePartition(day, from, to)));
+        }
+
+        long total = 0;
+        try (ExecutorService pool = Executors.newFixedThreadPool(Math.min(parts, tasks.size()))) {
+            for (Future<Long> f : pool.invokeAll(tasks)) {
+                total += f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Savings accrual interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Savings accrual failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return total;
+    }
+
+    private long accruePartition(LocalDate day, long fromId, long toId) {
+        LocalDate next = day.plusDays(1);
+        Date accrualDate = Date.valueOf(day);
+        Timestamp dayEnd = Timestamp.valueOf(next.atStartOfDay());
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        long[] count = {0};
+
+        streamingJdbc.query(STREAM_PARTITION, rs -> {
+            BigDecimal balance = rs.getBigDecimal("closing_balance");
+            if (balance == null || balance.signum() <= 0) return;
+            BigDecimal interest = interestCalculator
+                    .simpleInterest(balance, annualRatePercent, day, next, DayCountConvention.ACT_365)
+                    .setScale(6, RoundingMode.HALF_UP);
+            batch.add(new Object[]{rs.getLong("id"), accrualDate, interest});
+            count[0]++;
+            if (batch.size() >= batchSize) {
+                // streaming result holds its connection; batches go through the pooled template
+                jdbcTemplate.batchUpdate(UPSERT_ACCRUAL, batch);
+                batch.clear();
+            }
+        }, dayEnd, dayEnd, fromId, toId);
+
+        if (!batch.isEmpty()) jdbcTemplate.batchUpdate(UPSERT_ACCRUAL, batch);
+        return count[0];
+    }
+
+    public int capitalise(LocalDate quarterStart, LocalDate quarterEnd) {
+        String quarter = quarterEnd.getYear() + "Q" + ((quarterEnd.getMonthValue() - 1) / 3 + 1);
+        int posted = 0;
+        long lastId = 0;
+        while (true) {
+            Map<Long, BigDecimal> totals = new LinkedHashMap<>();
+            namedJdbc.query(SUM_QUARTER, new MapSqlParameterSource()
+                    .addValue("from", Date.valueOf(quarterStart))
+                    .addValue("to", Date.valueOf(quarterEnd))
+                    .addValue("lastId", lastId)
+                    .addValue("limit", batchSize), rs -> {
+                totals.put(rs.getLong("account_id"), rs.getBigDecimal("total"));
+            });
+            if (totals.isEmpty()) break;
+            for (Long id : totals.keySet()) lastId = id; // rows come back ordered by account_id
+
+            Integer chunk = transactionTemplate.execute(status -> postChunk(totals, quarter, quarterEnd.plusDays(1)));
+            posted += chunk == null ? 0 : chunk;
+        }
+        return posted;
+    }
+
+    private int postChunk(Map<Long, BigDecimal> totals, String quarter, LocalDate nextQuarterStart) {
+        Map<String, Long> byReference = new LinkedHashMap<>();
+        totals.keySet().forEach(id -> byReference.put("SBINT-" + id + "-" + quarter, id));
+
+        Set<String> alreadyPosted = new HashSet<>(namedJdbc.queryForList(EXISTING_REFERENCES,
+                new MapSqlParameterSource("refs", byReference.keySet()), String.class));
+
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        List<MapSqlParameterSource> rows = new ArrayList<>();
+        List<MapSqlParameterSource> carries = new ArrayList<>();
+        byReference.forEach((reference, accountId) -> {
+            if (alreadyPosted.contains(reference)) return;
+            BigDecimal total = totals.get(accountId);
+            BigDecimal amount = total.setScale(2, RoundingMode.DOWN);
+            BigDecimal remainder = total.subtract(amount);
+            if (remainder.signum() != 0) {
+                carries.add(new MapSqlParameterSource()
+                        .addValue("accountId", accountId)
+                        .addValue("date", Date.valueOf(nextQuarterStart))
+                        .addValue("carried", remainder));
+            }
+            if (amount.signum() <= 0) return;
+            rows.add(new MapSqlParameterSource()
+                    .addValue("reference", reference)
+                    .addValue("accountId", accountId)
+                    .addValue("amount", amount)
+                    .addValue("narration", "Savings interest " + quarter)
+                    .addValue("now", now));
+        });
+        if (!carries.isEmpty()) namedJdbc.batchUpdate(CARRY_REMAINDER, carries.toArray(MapSqlParameterSource[]::new));
+        if (rows.isEmpty()) return 0;
+
+        var batch = rows.toArray(MapSqlParameterSource[]::new);
+        namedJdbc.batchUpdate(INSERT_CREDIT, batch);
+        namedJdbc.batchUpdate(CREDIT_BALANCE, batch);
+        return rows.size();
+    }
+
+    static boolean isQuarterEnd(LocalDate day) {
+        LocalDate next = day.plusDays(1);
+        return next.getDayOfMonth() == 1 && (next.getMonthValue() - 1) % 3 == 0;
+    }
+}
@@ -0,0 +1,54 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.dto.TransactionResponse;
+import com.bankapp.backend.entity.TransactionStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * Size-bounded cache of settled transactions (SUCCESS or FAILED) by reference. Settled
+ * rows never change, so entries need no TTL or eviction; PENDING views are never stored,
+ * so polling a pending reference always reads the database. Entries hold the owner ids,
+ * and callers must check them on every hit.
+ */
+@Component
+public class SettledTransactionCache {
+
+    private final Cache<String, TransactionResponse> cache;
+
+    public SettledTransactionCache(@Value("${app.transactions.settled-cache.max-size:100000}") long maxSize) {
+        this.cache = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    public static boolean isSettled(TransactionStatus status) {
+        return status == TransactionStatus.SUCCESS || status == TransactionStatus.FAILED;
+    }
+
+    public Optional<TransactionResponse> get(String reference) {
+        return Optional.ofNullable(cache.getIfPresent(reference));
+    }
+
+    /**
+     * Stores a settled view; inside a transaction only once it commits, so a rolled-back
+     * settlement is never served.
+     */
+    public void put(TransactionResponse view) {
+        if (!isSettled(view.getStatus())) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.put(view.getReference(), view);
+                }
+            });
+        } else {
+            cache.put(view.getReference(), view);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.bankapp.backend.service;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free count/amount over a sliding time window, kept as a ring of time buckets.
+ * Each slot holds an immutable bucket that is replaced by CAS, so concurrent adds are
+ * never lost and a bucket left over from an earlier revolution is simply overwritten.
+ * Precision is one bucket width.
+ */
+public final class SlidingWindowCounter {
+
+    private record Bucket(long epoch, long count, long amountCents) {
+    }
+
+    public record Totals(long count, long amountCents) {
+        public static final Totals ZERO = new Totals(0, 0);
+    }
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    public SlidingWindowCounter(long windowMillis, int bucketCount) {
+        if (bucketCount <= 0 || windowMillis % bucketCount != 0) {
+            throw new IllegalArgumentException("window must split into whole buckets");
+        }
+        this.bucketMillis = windowMillis / bucketCount;
+        this.bucketCount = bucketCount;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    public void add(long nowMillis, long amountCents) {
+        long epoch = nowMillis / bucketMillis;
+        int slot = (int) (epoch % bucketCount);
+        while (true) {
+            Bucket current = buckets.get(slot);
+            if (current != null && current.epoch() > epoch) return; // clock went backwards; drop
+            Bucket next = current == null || current.epoch() != epoch
+                    ? new Bucket(epoch, 1, amountCents)
+                    : new Bucket(epoch, current.count() + 1, current.amountCents() + amountCents);
+            if (buckets.compareAndSet(slot, current, next)) return;
+        }
+    }
+
+    public Totals totals(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        long oldest = epoch - bucketCount + 1;
+        long count = 0;
+        long cents = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            Bucket b = buckets.get(i);
+            if (b != null && b.epoch() >= oldest && b.epoch() <= epoch) {
+                count += b.count();
+                cents += b.amountCents();
+            }
+        }
+        return count == 0 ? Totals.ZERO : new Totals(count, cents);
+    }
+}
@@ -0,0 +1,193 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.config.Bulkhead;
+import com.bankapp.backend.config.UseBulkhead;
+import com.bankapp.backend.dto.SpendSummaryResponse;
+import com.bankapp.backend.repository.AccountMonthlySpendRepository;
+import com.bankapp.backend.repository.AccountRepository;
+import com.bankapp.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Locale;
+
+/**
+ * Per-account monthly totals by category in account_monthly_spend.
+ * <p>
+ * IMPS transfers, debit card spends and deposits add to their row with an upsert inside
+ * the same transaction, so the aggregate commits or rolls back with the money movement.
+ * Those flows already hold the account row lock, so the upsert adds no new contention.
+ * History is rebuilt one month at a time by {@link #rebuildMonth(YearMonth)}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SpendAggregates {
+
+    public static final String IMPS_OUT = "IMPS";
+    public static final String IMPS_IN = "IMPS_IN";
+    public static final String DEPOSIT = "DEPOSIT";
+    private static final String CARD_PREFIX = "CARD:";
+    private static final int CATEGORY_LENGTH = 80;
+
+    private static final String UPSERT = """
+            insert into account_monthly_spend (account_id, month_start, category, debit_amount, credit_amount, txn_count, updated_at)
+            values (:accountId, :month, :category, :debit, :credit, 1, :now) as n
+            on duplicate key update debit_amount = account_monthly_spend.debit_amount + n.debit_amount,
+                                    credit_amount = account_monthly_spend.credit_amount + n.credit_amount,
+                                    txn_count = account_monthly_spend.txn_count + 1,
+                                    updated_at = n.updated_at
+            """;
+
+    private static final String DELETE_MONTH = "delete from account_monthly_spend where month_start = :month";
+
+    // same category rules as the live path: successful IMPS out/in, debit card spends
+    // (card bill payments excluded), and customer deposits (DEPOSIT-* references);
+    // {tx} is the hot table or its archive (TransactionArchive)
+    private static final String REBUILD_SOURCE = """
+                select t.from_account_id as account_id, 'IMPS' as category, t.amount as debit, 0 as credit
+                from {tx} t
+                where t.type = 'IMPS' and t.status = 'SUCCESS' and t.from_account_id is not null
+                  and t.created_at >= :from and t.created_at < :to
+                union all
+                select t.to_account_id, 'IMPS_IN', 0, t.amount
+                from {tx} t
+                where t.type = 'IMPS' and t.status = 'SUCCESS' and t.to_account_id is not null
+                  and t.created_at >= :from and t.created_at < :to
+                union all
+                select t.from_account_id,
+                       left(concat('CARD:', upper(coalesce(nullif(trim(t.beneficiary_name), ''), 'UNKNOWN'))), 80),
+                       t.amount, 0
+                from {tx} t
+                left join cards c on c.id = t.card_id
+                where t.type = 'CARD' and t.status = 'SUCCESS' and t.from_account_id is not null
+                  and (t.card_id is null or c.card_type = 'DEBIT')
+                  and t.created_at >= :from and t.created_at < :to
+                union all
+                select t.to_account_id, 'DEPOSIT', 0, t.amount
+                from {tx} t
+                where t.type = 'DEPOSIT' and t.status = 'SUCCESS' and t.to_account_id is not null
+                  and t.reference like 'DEPOSIT-%'
+                  and t.created_at >= :from and t.created_at < :to
+            """;
+
+    // a month may be split across both tiers while the archiver is moving it
+    private static final String REBUILD_MONTH = """
+            insert into account_monthly_spend (account_id, month_start, category, debit_amount, credit_amount, txn_count, updated_at)
+            select account_id, :month, category, sum(debit), sum(credit), count(*), :now
+            from (
+            """ + REBUILD_SOURCE.replace("{tx}", "transactions")
+            + "    union all\n"
+            + REBUILD_SOURCE.replace("{tx}", "transactions_archive") + """
+            ) x
+            group by account_id, category
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountMonthlySpendRepository spendRepository;
+    private final AccountRepository accountRepository;
+    private final UserRepository userRepository;
+
+    public static String cardCategory(String merchant) {
+        String name = merchant == null || merchant.isBlank() ? "UNKNOWN" : merchant.trim().toUpperCase(Locale.ROOT);
+        String category = CARD_PREFIX + name;
+        return category.length() > CATEGORY_LENGTH ? category.substring(0, CATEGORY_LENGTH) : category;
+    }
+
+    /** Money leaving the account; call inside the transaction that moves it. */
+    public void recordDebit(Long accountId, String category, BigDecimal amount) {
+        upsert(accountId, category, amount, BigDecimal.ZERO);
+    }
+
+    /** Money arriving in the account; call inside the transaction that moves it. */
+    public void recordCredit(Long accountId, String category, BigDecimal amount) {
+        upsert(accountId, category, BigDecimal.ZERO, amount);
+    }
+
+    private void upsert(Long accountId, String category, BigDecimal debit, BigDecimal credit) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbc.update(UPSERT, new MapSqlParameterSource()
+                .addValue("accountId", accountId)
+                .addValue("month", Date.valueOf(now.toLocalDate().withDayOfMonth(1)))
+                .addValue("category", category)
+                .addValue("debit", debit)
+                .addValue("credit", credit)
+                .addValue("now", Timestamp.valueOf(now)));
+    }
+
+    @UseBulkhead(Bulkhead.READ)
+    @Transactional(readOnly = true)
+    public SpendSummaryResponse summary(Long accountId, YearMonth month, String username) {
+        var user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found: " + username));
+        accountRepository.findByIdAndOwner(accountId, user)
+                .orElseThrow(() -> new RuntimeException("Account not found or not owned by user"));
+
+        var rows = spendRepository.findByAccountIdAndMonthStartOrderByCategory(accountId, month.atDay(1));
+        BigDecimal debits = BigDecimal.ZERO;
+        BigDecimal credits = BigDecimal.ZERO;
+        var categories = new ArrayList<SpendSummaryResponse.Category>(rows.size());
+        for (var r : rows) {
+            debits = debits.add(r.getDebitAmount());
+            credits = credits.add(r.getCreditAmount());
+            categories.add(SpendSummaryResponse.Category.builder()
+                    .category(r.getCategory())
+                    .debitAmount(r.getDebitAmount())
+                    .creditAmount(r.getCreditAmount())
+                    .count(r.getTxnCount())
+                    .build());
+        }
+        return SpendSummaryResponse.builder()
+                .accountId(accountId)
+                .month(month.toString())
+                .totalDebits(debits)
+                .totalCredits(credits)
+                .categories(categories)
+                .build();
+    }
+
+    /**
+     * Recomputes one month from transactions with a single set-based INSERT ... SELECT,
+     * replacing that month's rows. Rebuilding the current month races with live upserts,
+     * so do that only while transfers are quiet.
+     */
+    @UseBulkhead(Bulkhead.BATCH)
+    public int rebuildMonth(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        Integer rows = transactionTemplate.execute(status -> {
+            var params = new MapSqlParameterSource()
+                    .addValue("month", Date.valueOf(from))
+                    .addValue("from", Timestamp.valueOf(from.atStartOfDay()))
+                    .addValue("to", Timestamp.valueOf(from.plusMonths(1).atStartOfDay()))
+                    .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+            jdbc.update(DELETE_MONTH, params);
+            return jdbc.update(REBUILD_MONTH, params);
+        });
+        log.info("Rebuilt spend aggregates for {}: {} rows", month, rows);
+        return rows == null ? 0 : rows;
+    }
+
+    /** Rebuilds every month from {@code from} to {@code to} inclusive; returns rows written. */
+    @UseBulkhead(Bulkhead.BATCH)
+    public int rebuild(YearMonth from, YearMonth to) {
+        if (to.isBefore(from)) throw new RuntimeException("'to' must not be before 'from'");
+        int total = 0;
+        for (YearMonth m = from; !m.isAfter(to); m = m.plusMonths(1)) {
+            total += rebuildMonth(m);
+        }
+        return total;
+    }
+}
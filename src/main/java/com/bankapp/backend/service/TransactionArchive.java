@@ -0,0 +1,191 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.config.Bulkhead;
+import com.bankapp.backend.config.UseBulkhead;
+import com.bankapp.backend.dto.TransactionResponse;
+import com.bankapp.backend.entity.TransactionStatus;
+import com.bankapp.backend.entity.TransactionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Hot/cold tiering of transactions and failed_transactions.
+ * <p>
+ * Settled rows (SUCCESS or FAILED) older than {@code app.transactions.archive.after-months}
+ * are moved to transactions_archive, and failure records of the same age to
+ * failed_transactions_archive. The mover works in small batches: each batch locks a few
+ * hundred rows by id, copies them and deletes them in one short transaction, then pauses,
+ * so live transfers never wait behind it. PENDING rows stay hot until they settle.
+ * <p>
+ * Readers that look up a single transaction fall back to {@link #find(String)}; monthly
+ * rebuilds in {@link SpendAggregates} read both tiers.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@UseBulkhead(Bulkhead.BATCH)
+public class TransactionArchive {
+
+    private static final String PICK_TRANSACTIONS = """
+            select id from transactions
+            where created_at < :cutoff and status in ('SUCCESS', 'FAILED')
+            limit :limit
+            for update skip locked
+            """;
+
+    private static final String COLUMNS = """
+            id, reference, type, status, from_account_id, to_account_id, card_id, beneficiary_name,
+            beneficiary_account_number, beneficiary_ifsc, amount, narration, created_at, processed_at""";
+
+    private static final String COPY_TRANSACTIONS =
+            "insert into transactions_archive (" + COLUMNS + ") select " + COLUMNS + " from transactions where id in (:ids)";
+
+    private static final String DELETE_TRANSACTIONS = "delete from transactions where id in (:ids)";
+
+    private static final String PICK_FAILED = """
+            select id from failed_transactions
+            where occurred_at < :cutoff
+            limit :limit
+            for update skip locked
+            """;
+
+    private static final String COPY_FAILED = """
+            insert into failed_transactions_archive (id, reference, reason, occurred_at)
+            select id, reference, reason, occurred_at from failed_transactions where id in (:ids)
+            """;
+
+    private static final String DELETE_FAILED = "delete from failed_transactions where id in (:ids)";
+
+    private static final String FIND_ARCHIVED = """
+            select t.*, fa.account_number as from_account_number, ta.account_number as to_account_number,
+                   fa.user_id as from_owner_id, ta.user_id as to_owner_id, c.owner_id as card_owner_id
+            from transactions_archive t
+            left join accounts fa on fa.id = t.from_account_id
+            left join accounts ta on ta.id = t.to_account_id
+            left join cards c on c.id = t.card_id
+            where t.reference = :reference
+            """;
+
+    // card statements read back to the last statement date, so never archive the last quarter
+    private static final int MIN_AFTER_MONTHS = 3;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.transactions.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.transactions.archive.after-months:12}")
+    private int afterMonths;
+
+    @Value("${app.transactions.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.transactions.archive.pause-ms:50}")
+    private long pauseMs;
+
+    // Runs at 02:30, after the interest and billing jobs
+    @Scheduled(cron = "${app.transactions.archive.cron:0 30 2 * * ?}")
+    public void runNightly() {
+        if (!enabled) return;
+        LocalDateTime cutoff = cutoff();
+        long moved = archiveTransactions(cutoff);
+        long failed = archiveFailures(cutoff);
+        log.info("Archived transactions older than {}: {} transactions, {} failure records", cutoff, moved, failed);
+    }
+
+    /** Rows created before this instant are eligible for the cold tier. */
+    public LocalDateTime cutoff() {
+        return LocalDateTime.now().toLocalDate().withDayOfMonth(1)
+                .minusMonths(Math.max(MIN_AFTER_MONTHS, afterMonths)).atStartOfDay();
+    }
+
+    public long archiveTransactions(LocalDateTime cutoff) {
+        return move(PICK_TRANSACTIONS, COPY_TRANSACTIONS, DELETE_TRANSACTIONS, cutoff);
+    }
+
+    public long archiveFailures(LocalDateTime cutoff) {
+        return move(PICK_FAILED, COPY_FAILED, DELETE_FAILED, cutoff);
+    }
+
+    private long move(String pick, String copy, String delete, LocalDateTime cutoff) {
+        var params = new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("limit", batchSize);
+        long total = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Long> ids = jdbc.queryForList(pick, params, Long.class);
+                if (ids.isEmpty()) return 0;
+                var batch = new MapSqlParameterSource("ids", ids);
+                int copied = jdbc.update(copy, batch);
+                int deleted = jdbc.update(delete, batch);
+                if (copied != deleted) {
+                    throw new IllegalStateException("Archive copied " + copied + " rows but deleted " + deleted);
+                }
+                return deleted;
+            });
+            if (moved == null || moved == 0) return total;
+            total += moved;
+            if (moved < batchSize) return total;
+            pause();
+        }
+    }
+
+    private void pause() {
+        if (pauseMs <= 0) return;
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Transaction archiving interrupted", e);
+        }
+    }
+
+    /** Looks a transaction up in the cold tier. */
+    public Optional<TransactionResponse> find(String reference) {
+        return jdbc.query(FIND_ARCHIVED, new MapSqlParameterSource("reference", reference), TransactionArchive::toResponse)
+                .stream().findFirst();
+    }
+
+    private static TransactionResponse toResponse(ResultSet rs, int row) throws SQLException {
+        return TransactionResponse.builder()
+                .id(rs.getLong("id"))
+                .reference(rs.getString("reference"))
+                .type(enumOf(TransactionType.class, rs.getString("type")))
+                .status(enumOf(TransactionStatus.class, rs.getString("status")))
+                .fromAccountId(rs.getObject("from_account_id", Long.class))
+                .fromAccountNumber(rs.getString("from_account_number"))
+                .toAccountId(rs.getObject("to_account_id", Long.class))
+                .toAccountNumber(rs.getString("to_account_number"))
+                .cardId(rs.getObject("card_id", Long.class))
+                .beneficiaryName(rs.getString("beneficiary_name"))
+                .beneficiaryAccountNumber(rs.getString("beneficiary_account_number"))
+                .beneficiaryIfsc(rs.getString("beneficiary_ifsc"))
+                .amount(rs.getBigDecimal("amount"))
+                .narration(rs.getString("narration"))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .processedAt(rs.getObject("processed_at", LocalDateTime.class))
+                .fromOwnerId(rs.getObject("from_owner_id", Long.class))
+                .toOwnerId(rs.getObject("to_owner_id", Long.class))
+                .cardOwnerId(rs.getObject("card_owner_id", Long.class))
+                .build();
+    }
+
+    private static <E extends Enum<E>> E enumOf(Class<E> type, String name) {
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+}
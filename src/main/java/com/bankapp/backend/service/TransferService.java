@@ -1,10 +1,14 @@
 package com.bankapp.backend.service;
 
+import com.bankapp.backend.config.Bulkhead;
+import com.bankapp.backend.config.UseBulkhead;
+import com.bankapp.backend.dto.TransactionResponse;
 import com.bankapp.backend.dto.TransferRequest;
 import com.bankapp.backend.dto.TransferResponse;
 import com.bankapp.backend.entity.*;
 import com.bankapp.backend.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +18,7 @@ import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@UseBulkhead(Bulkhead.WRITE)
 public class TransferService {
 
     private final AccountRepository accountRepository;
@@ -21,6 +26,12 @@ public class TransferService {
     private final TransactionRecordRepository txRepo;
     private final FailedTransactionRepository failedRepo;
     private final BeneficiaryRepository beneficiaryRepository; // optional, if you have it
+    private final SpendAggregates spendAggregates;
+    private final IfscDirectory ifscDirectory;
+    private final PaymentAliasRepository aliasRepository;
+    private final TransactionArchive transactionArchive;
+    private final SettledTransactionCache settledCache;
+    private final HoldLedger holdLedger;
 
     // Example transfer limits (can be loaded from config)
     private final BigDecimal SINGLE_TRANSFER_LIMIT = BigDecimal.valueOf(1000000); // e.g. 1,000,000
@@ -54,12 +65,17 @@ public class TransferService {
 
         // Resolve "to" account (internal destination) — optional
         Account toAccount = null;
-        if (req.getToAccountNumber() != null && !req.getToAccountNumber().isBlank()) {
+        if (req.getToAlias() != null && !req.getToAlias().isBlank()) {
+            toAccount = lockAliasAccount(req.getToAlias());
+        } else if (req.getToAccountNumber() != null && !req.getToAccountNumber().isBlank()) {
             // try find and lock destination account (internal transfer)
             toAccount = accountRepository.findByAccountNumberForUpdate(req.getToAccountNumber()).orElse(null);
         } else if (req.getToAccountId() != null) {
             toAccount = accountRepository.findByIdForUpdate(req.getToAccountId()).orElse(null);
         } // else external beneficiary (we will keep beneficiaryAccountNumber)
+        if (req.getBeneficiaryIfsc() != null && !req.getBeneficiaryIfsc().isBlank()) {
+            ifscDirectory.validate(req.getBeneficiaryIfsc());
+        }
 
         // Validate amount & limits (same as before)
         if (req.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
@@ -78,8 +94,9 @@ public class TransferService {
                 .fromAccount(fromAccount)
                 .toAccount(toAccount)
                 .beneficiaryName(req.getBeneficiaryName())
-                .beneficiaryAccountNumber(req.getToAccountNumber() != null ? req.getToAccountNumber() : req.getBeneficiaryAccountNumber())
-                .beneficiaryIfsc(req.getBeneficiaryIfsc())
+                .beneficiaryAccountNumber(toAccount != null ? toAccount.getAccountNumber()
+                        : req.getToAccountNumber() != null ? req.getToAccountNumber() : req.getBeneficiaryAccountNumber())
+                .beneficiaryIfsc(IfscDirectory.normalise(req.getBeneficiaryIfsc()))
                 .amount(req.getAmount())
                 .narration(req.getNarration())
                 .createdAt(LocalDateTime.now())
@@ -87,7 +104,9 @@ public class TransferService {
         tx = txRepo.save(tx);
 
         try {
-            if (fromAccount.getBalance().compareTo(req.getAmount()) < 0) {
+            // money reserved by card authorization holds is not available for transfers
+            BigDecimal available = fromAccount.getBalance().subtract(holdLedger.heldOnAccount(fromAccount.getId()));
+            if (available.compareTo(req.getAmount()) < 0) {
                 tx.setStatus(TransactionStatus.FAILED);
                 txRepo.save(tx);
                 failedRepo.save(FailedTransaction.builder()
@@ -109,9 +128,17 @@ public class TransferService {
                 // external: integrate with switch/gateway
             }
 
+            // monthly aggregates, committed together with the transfer
+            spendAggregates.recordDebit(fromAccount.getId(), SpendAggregates.IMPS_OUT, req.getAmount());
+            if (toAccount != null) {
+                spendAggregates.recordCredit(toAccount.getId(), SpendAggregates.IMPS_IN, req.getAmount());
+            }
+
             tx.setStatus(TransactionStatus.SUCCESS);
             tx.setProcessedAt(LocalDateTime.now());
             txRepo.save(tx);
+            // status polls for this reference are served from memory once this commits
+            settledCache.put(toView(tx));
 
             return TransferResponse.builder()
                     .reference(reference)
@@ -152,6 +179,11 @@ public class TransferService {
         if (req.getAmount().compareTo(SINGLE_TRANSFER_LIMIT) > 0) {
             throw new RuntimeException("Exceeds single transfer limit");
         }
+        // NEFT settles through the beneficiary's branch, so the code must be present and known
+        if (req.getBeneficiaryIfsc() == null || req.getBeneficiaryIfsc().isBlank()) {
+            throw new RuntimeException("beneficiaryIfsc is required for NEFT");
+        }
+        ifscDirectory.validate(req.getBeneficiaryIfsc());
 
         String reference = generateReference(req.getType());
 
@@ -162,7 +194,7 @@ public class TransferService {
                 .fromAccount(fromAccount)
                 .beneficiaryName(req.getBeneficiaryName())
                 .beneficiaryAccountNumber(req.getBeneficiaryAccountNumber())
-                .beneficiaryIfsc(req.getBeneficiaryIfsc())
+                .beneficiaryIfsc(IfscDirectory.normalise(req.getBeneficiaryIfsc()))
                 .amount(req.getAmount())
                 .narration(req.getNarration())
                 .createdAt(LocalDateTime.now())
@@ -179,6 +211,14 @@ public class TransferService {
                 .build();
     }
 
+    // one unique-index lookup, then the row lock; the alias table is the only source of truth
+    private Account lockAliasAccount(String alias) {
+        Long accountId = aliasRepository.findAccountIdByAlias(PaymentAliasService.normalise(alias))
+                .orElseThrow(() -> new RuntimeException("Unknown payment alias"));
+        return accountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> new RuntimeException("Unknown payment alias"));
+    }
+
     private String generateReference(String type) {
         // e.g. IMPS-20251130-uuidShort
         String shortId = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
@@ -186,7 +226,51 @@ public class TransferService {
         return type + "-" + date + "-" + shortId;
     }
 
-    public TransactionRecord findByReference(String reference) {
-        return txRepo.findByReference(reference).orElseThrow(() -> new RuntimeException("Transaction not found"));
+    /**
+     * Settled transactions come from {@link SettledTransactionCache} without touching the
+     * database; PENDING ones are read every time. Only a party to the transaction (owner
+     * of either account or of the card) may read it, checked on hits too.
+     */
+    @UseBulkhead(Bulkhead.READ)
+    public TransactionResponse findByReference(String reference, Long userId) {
+        var view = settledCache.get(reference).orElseGet(() -> {
+            // hot table first; settled rows older than the archive cutoff live in the cold tier
+            var loaded = txRepo.findViewByReference(reference)
+                    .or(() -> transactionArchive.find(reference))
+                    .orElseThrow(() -> new RuntimeException("Transaction not found"));
+            settledCache.put(loaded);
+            return loaded;
+        });
+        if (!userId.equals(view.getFromOwnerId()) && !userId.equals(view.getToOwnerId())
+                && !userId.equals(view.getCardOwnerId())) {
+            throw new AccessDeniedException("Not a party to this transaction");
+        }
+        return view;
+    }
+
+    private static TransactionResponse toView(TransactionRecord tx) {
+        Account from = tx.getFromAccount();
+        Account to = tx.getToAccount();
+        return TransactionResponse.builder()
+                .id(tx.getId())
+                .reference(tx.getReference())
+                .type(tx.getType())
+                .status(tx.getStatus())
+                .fromAccountId(from != null ? from.getId() : null)
+                .fromAccountNumber(from != null ? from.getAccountNumber() : null)
+                .toAccountId(to != null ? to.getId() : null)
+                .toAccountNumber(to != null ? to.getAccountNumber() : null)
+                .cardId(tx.getCard() != null ? tx.getCard().getId() : null)
+                .beneficiaryName(tx.getBeneficiaryName())
+                .beneficiaryAccountNumber(tx.getBeneficiaryAccountNumber())
+                .beneficiaryIfsc(tx.getBeneficiaryIfsc())
+                .amount(tx.getAmount())
+                .narration(tx.getNarration())
+                .createdAt(tx.getCreatedAt())
+                .processedAt(tx.getProcessedAt())
+                .fromOwnerId(from != null ? from.getOwner().getId() : null)
+                .toOwnerId(to != null ? to.getOwner().getId() : null)
+                .cardOwnerId(tx.getCard() != null ? tx.getCard().getOwner().getId() : null)
+                .build();
     }
 }
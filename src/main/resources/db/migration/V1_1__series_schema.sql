@@ -0,0 +1,162 @@
+-- Schema changes of the performance series on top of the V1 baseline. Databases created
+-- by ddl-auto=update are baselined at V1 and start here, so this only adds to what that
+-- created. ddl-auto=update made enum columns native MySQL enums; they become varchar like
+-- the rest of the schema so new enum constants need no DDL.
+
+alter table users modify role varchar(20) not null;
+alter table accounts modify account_type varchar(20) not null, modify status varchar(20) not null;
+alter table cards modify card_type varchar(20), modify status varchar(20);
+alter table transactions modify type varchar(20), modify status varchar(20);
+alter table fixed_deposits modify status varchar(20);
+alter table recurring_deposits modify status varchar(20);
+
+-- card numbers are canonicalised and hashed by PanAllocator at startup; credit cards get a
+-- billing day from CardBillingJob
+alter table cards
+    add column pan_hash varchar(64) after card_number,
+    add column block_reason varchar(200) after status,
+    add column billing_cycle_day int after outstanding_amount,
+    add column last_statement_date date after billing_cycle_day,
+    add column linked_account_id bigint after owner_id,
+    add constraint uk_cards_pan_hash unique (pan_hash),
+    add constraint fk_cards_linked_account foreign key (linked_account_id) references accounts (id);
+create index idx_card_billing_day on cards (card_type, billing_cycle_day);
+
+alter table transactions
+    add column card_id bigint after to_account_id,
+    add constraint fk_tx_card foreign key (card_id) references cards (id);
+create index idx_tx_card_created on transactions (card_id, created_at);
+
+-- fails if an owner already saved the same account twice; remove the duplicates first
+alter table beneficiaries
+    add column nickname varchar(60) after beneficiary_name,
+    add constraint uk_beneficiary_owner_account unique (owner_id, account_number);
+
+alter table fixed_deposits
+    add column compounding varchar(20) after maturity_amount,
+    add column renewed_from_id bigint after linked_account_id;
+
+-- RDs opened before this have no next_installment_date and are not collected
+alter table recurring_deposits
+    add column installments_paid int not null default 0 after status,
+    add column missed_installments int not null default 0 after installments_paid,
+    add column next_installment_date date after missed_installments;
+
+create table payment_aliases (
+    id          bigint      not null auto_increment,
+    alias       varchar(64) not null,
+    account_id  bigint      not null,
+    owner_id    bigint      not null,
+    created_at  datetime(6) not null,
+    primary key (id),
+    constraint uk_payment_aliases_alias unique (alias),
+    constraint fk_alias_account foreign key (account_id) references accounts (id),
+    constraint fk_alias_owner foreign key (owner_id) references users (id)
+) engine = InnoDB;
+create index idx_alias_owner on payment_aliases (owner_id);
+
+create table rd_missed_installments (
+    id                    bigint        not null auto_increment,
+    recurring_deposit_id  bigint        not null,
+    installment_number    int           not null,
+    due_date              date          not null,
+    amount                decimal(18,2) not null,
+    reason                varchar(200),
+    penalty_applied       bit(1)        not null,
+    recorded_at           datetime(6),
+    primary key (id),
+    constraint uk_rd_missed_installment unique (recurring_deposit_id, installment_number),
+    constraint fk_rd_missed_rd foreign key (recurring_deposit_id) references recurring_deposits (id)
+) engine = InnoDB;
+
+create table interest_accruals (
+    account_id    bigint        not null,
+    accrual_date  date          not null,
+    amount        decimal(18,6) not null,
+    primary key (account_id, accrual_date)
+) engine = InnoDB;
+
+create table deposit_rate_slabs (
+    id                    bigint        not null auto_increment,
+    product_type          varchar(10)   not null,
+    min_tenure_months     int           not null,
+    max_tenure_months     int           not null,
+    min_amount            decimal(18,2) not null,
+    max_amount            decimal(18,2),
+    annual_interest_rate  double        not null,
+    active                bit(1)        not null,
+    updated_by            varchar(50),
+    updated_at            datetime(6),
+    primary key (id)
+) engine = InnoDB;
+
+create table deposit_rate_audit (
+    id          bigint       not null auto_increment,
+    slab_id     bigint       not null,
+    action      varchar(20)  not null,
+    old_rate    double,
+    new_rate    double,
+    detail      varchar(300),
+    changed_by  varchar(50)  not null,
+    changed_at  datetime(6),
+    primary key (id)
+) engine = InnoDB;
+
+create table authorization_holds (
+    id                     bigint        not null auto_increment,
+    reference              varchar(64)   not null,
+    card_id                bigint        not null,
+    account_id             bigint,
+    amount                 decimal(18,2) not null,
+    captured_amount        decimal(18,2),
+    merchant               varchar(120),
+    status                 varchar(20)   not null,
+    transaction_reference  varchar(64),
+    created_at             datetime(6)   not null,
+    expires_at             datetime(6)   not null,
+    closed_at              datetime(6),
+    primary key (id),
+    constraint uk_authorization_holds_reference unique (reference),
+    constraint fk_hold_card foreign key (card_id) references cards (id),
+    constraint fk_hold_account foreign key (account_id) references accounts (id)
+) engine = InnoDB;
+create index idx_hold_status_expires on authorization_holds (status, expires_at);
+
+create table pan_ranges (
+    id             bigint      not null auto_increment,
+    bin            varchar(6)  not null,
+    card_type      varchar(20) not null,
+    next_sequence  bigint      not null,
+    updated_at     datetime(6),
+    primary key (id),
+    constraint uk_pan_ranges_bin unique (bin)
+) engine = InnoDB;
+
+create table card_statements (
+    id               bigint        not null auto_increment,
+    card_id          bigint        not null,
+    cycle_start      date          not null,
+    cycle_end        date          not null,
+    opening_balance  decimal(18,2) not null,
+    total_charges    decimal(18,2) not null,
+    total_payments   decimal(18,2) not null,
+    finance_charge   decimal(18,2) not null,
+    closing_balance  decimal(18,2) not null,
+    minimum_due      decimal(18,2) not null,
+    due_date         date          not null,
+    created_at       datetime(6)   not null,
+    primary key (id),
+    constraint uk_statement_card_cycle unique (card_id, cycle_end),
+    constraint fk_statement_card foreign key (card_id) references cards (id)
+) engine = InnoDB;
+
+create table account_monthly_spend (
+    account_id     bigint        not null,
+    month_start    date          not null,
+    category       varchar(80)   not null,
+    debit_amount   decimal(18,2) not null,
+    credit_amount  decimal(18,2) not null,
+    txn_count      bigint        not null,
+    updated_at     datetime(6),
+    primary key (account_id, month_start, category)
+) engine = InnoDB;
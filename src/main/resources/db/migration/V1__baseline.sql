@@ -0,0 +1,130 @@
+-- Baseline: the schema of the entity model before the series of performance changes,
+-- as ddl-auto=update created it. Databases created that way already have these tables and
+-- are baselined at this version (spring.flyway.baseline-on-migrate), so they start from
+-- V1_1. Enum columns are varchar so new enum constants need no DDL.
+
+create table users (
+    id          bigint       not null auto_increment,
+    username    varchar(50)  not null,
+    email       varchar(120) not null,
+    password    varchar(255) not null,
+    full_name   varchar(120) not null,
+    role        varchar(20)  not null,
+    created_at  datetime(6),
+    updated_at  datetime(6),
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+) engine = InnoDB;
+
+create table accounts (
+    id              bigint        not null auto_increment,
+    account_number  varchar(30),
+    account_type    varchar(20)   not null,
+    status          varchar(20)   not null,
+    balance         decimal(18,2) not null,
+    opened_at       datetime(6)   not null,
+    user_id         bigint        not null,
+    primary key (id),
+    constraint uk_accounts_number unique (account_number),
+    constraint fk_accounts_user foreign key (user_id) references users (id)
+) engine = InnoDB;
+
+create table cards (
+    id                          bigint        not null auto_increment,
+    card_number                 varchar(19),
+    last4                       varchar(4),
+    expiry                      varchar(5),
+    cvv_masked                  varchar(3),
+    card_type                   varchar(20),
+    status                      varchar(20),
+    international_usage_enabled bit(1)        not null,
+    credit_limit                decimal(18,2),
+    outstanding_amount          decimal(18,2),
+    owner_id                    bigint        not null,
+    applied_at                  datetime(6)   not null,
+    issued_at                   datetime(6),
+    updated_at                  datetime(6),
+    primary key (id),
+    constraint uk_cards_number unique (card_number),
+    constraint fk_cards_owner foreign key (owner_id) references users (id)
+) engine = InnoDB;
+
+create table transactions (
+    id                          bigint        not null auto_increment,
+    reference                   varchar(64)   not null,
+    type                        varchar(20),
+    status                      varchar(20),
+    from_account_id             bigint,
+    to_account_id               bigint,
+    beneficiary_name            varchar(120),
+    beneficiary_account_number  varchar(30),
+    beneficiary_ifsc            varchar(64),
+    amount                      decimal(18,2) not null,
+    narration                   varchar(200),
+    created_at                  datetime(6),
+    processed_at                datetime(6),
+    primary key (id),
+    constraint uk_transactions_reference unique (reference),
+    constraint fk_tx_from_account foreign key (from_account_id) references accounts (id),
+    constraint fk_tx_to_account foreign key (to_account_id) references accounts (id)
+) engine = InnoDB;
+
+create table failed_transactions (
+    id           bigint       not null auto_increment,
+    reference    varchar(255),
+    reason       varchar(255),
+    occurred_at  datetime(6),
+    primary key (id)
+) engine = InnoDB;
+
+create table beneficiaries (
+    id                   bigint       not null auto_increment,
+    owner_id             bigint       not null,
+    beneficiary_name     varchar(120) not null,
+    account_number       varchar(50)  not null,
+    bank_name            varchar(80),
+    ifsc                 varchar(20),
+    internal             bit(1)       not null,
+    beneficiary_user_id  bigint,
+    created_at           datetime(6),
+    primary key (id),
+    constraint fk_beneficiaries_owner foreign key (owner_id) references users (id)
+) engine = InnoDB;
+
+create table fixed_deposits (
+    id                    bigint        not null auto_increment,
+    owner_id              bigint        not null,
+    principal             decimal(18,2) not null,
+    annual_interest_rate  double        not null,
+    tenure_months         int           not null,
+    start_date            date          not null,
+    maturity_date         date          not null,
+    maturity_amount       decimal(18,2),
+    status                varchar(20),
+    auto_renew            bit(1)        not null,
+    linked_account_id     bigint,
+    created_at            datetime(6),
+    matured_at            datetime(6),
+    primary key (id),
+    constraint fk_fd_owner foreign key (owner_id) references users (id),
+    constraint fk_fd_linked_account foreign key (linked_account_id) references accounts (id)
+) engine = InnoDB;
+
+create table recurring_deposits (
+    id                     bigint        not null auto_increment,
+    owner_id               bigint        not null,
+    monthly_installment    decimal(18,2) not null,
+    annual_interest_rate   double        not null,
+    tenure_months          int           not null,
+    start_date             date          not null,
+    maturity_date          date          not null,
+    maturity_amount        decimal(18,2),
+    status                 varchar(20),
+    linked_account_id      bigint,
+    created_at             datetime(6),
+    matured_at             datetime(6),
+    primary key (id),
+    constraint fk_rd_owner foreign key (owner_id) references users (id),
+    constraint fk_rd_linked_account foreign key (linked_account_id) references accounts (id)
+) engine = InnoDB;
@@ -0,0 +1,29 @@
+-- Indexes for every repository finder and batch-job scan (checked by RepositoryIndexUsageTests).
+-- Where an index leads with a foreign key column, InnoDB drops the implicit FK index it made.
+
+-- AccountRepository.findByOwner / existsByOwnerAndAccountType
+create index idx_accounts_owner_type on accounts (user_id, account_type);
+
+-- statement and history reads by account, newest first; archiving and aggregate rebuilds by date
+create index idx_tx_from_created on transactions (from_account_id, created_at);
+create index idx_tx_to_created on transactions (to_account_id, created_at);
+create index idx_tx_created on transactions (created_at);
+
+-- CardRepository.findByOwner / findViewByIdAndOwner
+create index idx_cards_owner on cards (owner_id);
+
+-- FixedDepositRepository.findByMaturityDateAndStatus / findMaturingChunk (keyset on id)
+create index idx_fd_maturity_status on fixed_deposits (maturity_date, status, id);
+-- FixedDepositRepository.findByOwner
+create index idx_fd_owner on fixed_deposits (owner_id);
+-- FdRenewalService: renewals already made for a batch of matured deposits
+create index idx_fd_renewed_from on fixed_deposits (renewed_from_id);
+
+-- RecurringDepositRepository.findByMaturityDateAndStatus / findByOwner
+create index idx_rd_maturity_status on recurring_deposits (maturity_date, status);
+create index idx_rd_owner on recurring_deposits (owner_id);
+-- RdInstallmentCollector: due instalments
+create index idx_rd_status_next_due on recurring_deposits (status, next_installment_date);
+
+-- DepositRateAuditRepository.findBySlabIdOrderByChangedAtDesc
+create index idx_rate_audit_slab on deposit_rate_audit (slab_id, changed_at);
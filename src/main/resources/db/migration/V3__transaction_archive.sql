@@ -0,0 +1,9 @@
+-- cold tier for settled transactions older than app.transactions.archive.after-months
+-- (TransactionArchive). CREATE TABLE ... LIKE copies columns and indexes but not the
+-- foreign keys, so archived rows never block changes to accounts or cards.
+create table transactions_archive like transactions;
+
+create index idx_failed_tx_occurred on failed_transactions (occurred_at);
+create index idx_failed_tx_reference on failed_transactions (reference);
+
+create table failed_transactions_archive like failed_transactions;
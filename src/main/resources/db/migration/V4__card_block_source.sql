@@ -0,0 +1,3 @@
+-- who put a card in TEMP_BLOCKED (CardBlockSource): the owner may lift only OWNER blocks,
+-- BANK blocks from the compromise list are lifted by an admin
+alter table cards add column block_source varchar(10);
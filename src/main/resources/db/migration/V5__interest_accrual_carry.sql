@@ -0,0 +1,3 @@
+-- sub-paisa remainder of a quarter's capitalised savings interest (SavingsInterestAccrualJob),
+-- carried onto the first day of the next quarter so it is paid with that quarter's interest
+alter table interest_accruals add column carried decimal(18,6) not null default 0;
@@ -0,0 +1,2 @@
+-- CardAuthorizationCache polls for cards changed through other instances
+create index idx_cards_updated on cards (updated_at);
@@ -0,0 +1,19 @@
+-- default FD/RD rate slabs (DepositRateCatalog), so deposits can be opened on a fresh install;
+-- every tenure from 1 to 120 months is covered, and a 2 crore+ FD band pays more for 1-2 years.
+-- Skipped where slabs were already configured. Rates are changed through the admin API.
+insert into deposit_rate_slabs (product_type, min_tenure_months, max_tenure_months, min_amount, max_amount,
+                                annual_interest_rate, active, updated_by, updated_at)
+select s.* from (
+    select 'FD' as product_type, 1 as min_tenure_months, 5 as max_tenure_months, 0.00 as min_amount,
+           null as max_amount, 4.00 as annual_interest_rate, 1 as active, 'migration' as updated_by,
+           now(6) as updated_at
+    union all select 'FD', 6, 11, 0.00, null, 5.75, 1, 'migration', now(6)
+    union all select 'FD', 12, 23, 0.00, null, 6.50, 1, 'migration', now(6)
+    union all select 'FD', 12, 23, 20000000.00, null, 7.00, 1, 'migration', now(6)
+    union all select 'FD', 24, 60, 0.00, null, 6.75, 1, 'migration', now(6)
+    union all select 'FD', 61, 120, 0.00, null, 6.25, 1, 'migration', now(6)
+    union all select 'RD', 1, 11, 0.00, null, 5.50, 1, 'migration', now(6)
+    union all select 'RD', 12, 35, 0.00, null, 6.50, 1, 'migration', now(6)
+    union all select 'RD', 36, 120, 0.00, null, 6.75, 1, 'migration', now(6)
+) s
+where not exists (select 1 from deposit_rate_slabs);
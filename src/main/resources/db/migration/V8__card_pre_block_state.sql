@@ -0,0 +1,5 @@
+-- what a card was before a BANK block (CardBulkBlockService), restored when an admin lifts it
+alter table cards
+    add column pre_block_status varchar(20),
+    add column pre_block_source varchar(10),
+    add column pre_block_reason varchar(200);
@@ -0,0 +1,87 @@
+package com.bankapp.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadsTests {
+
+    @UseBulkhead(Bulkhead.WRITE)
+    public static class Lanes {
+        Lanes self;
+
+        public Bulkhead write() {
+            return Bulkheads.current();
+        }
+
+        @UseBulkhead(Bulkhead.READ)
+        public Bulkhead read() {
+            return Bulkheads.current();
+        }
+
+        @UseBulkhead(Bulkhead.BATCH)
+        public Bulkhead batchCallingWrite() {
+            return self.write();
+        }
+
+        @UseBulkhead(Bulkhead.READ)
+        public void hold(CountDownLatch entered, CountDownLatch release) throws InterruptedException {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Lanes proxy(Bulkheads bulkheads) {
+        var target = new Lanes();
+        var factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice((MethodInterceptor) bulkheads::invoke);
+        target.self = (Lanes) factory.getProxy();
+        return target.self;
+    }
+
+    @Test
+    void methodAnnotationOverridesClassAndNestedCallsStayInTheCallersBulkhead() {
+        var lanes = proxy(new Bulkheads(new BulkheadProperties(), new SimpleMeterRegistry()));
+
+        assertEquals(Bulkhead.WRITE, lanes.write());
+        assertEquals(Bulkhead.READ, lanes.read());
+        assertEquals(Bulkhead.BATCH, lanes.batchCallingWrite());
+        assertNull(Bulkheads.current());
+    }
+
+    @Test
+    void rejectsCallersOnceTheBulkheadIsFull() throws Exception {
+        var properties = new BulkheadProperties();
+        properties.setRead(new BulkheadProperties.Limits(1, 1, 0));
+        var registry = new SimpleMeterRegistry();
+        var lanes = proxy(new Bulkheads(properties, registry));
+
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var holder = CompletableFuture.runAsync(() -> {
+            try {
+                lanes.hold(entered, release);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        assertEquals(1.0, registry.get("bulkhead.utilisation").tag("bulkhead", "read").gauge().value());
+        assertThrows(RuntimeException.class, lanes::read);
+        assertEquals(Bulkhead.WRITE, lanes.write()); // other bulkheads are unaffected
+        assertEquals(1, registry.get("bulkhead.rejected").tag("bulkhead", "read").counter().count());
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertEquals(Bulkhead.READ, lanes.read());
+    }
+}
@@ -0,0 +1,58 @@
+package com.bankapp.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test stand-in for {@link SqlStatementMetrics} that also records every statement the
+ * calling thread issues inside {@link #capture(Runnable)}, with its bind values.
+ * Import {@link Registration} to put it in front of the real one.
+ */
+class CapturingStatementMetrics extends SqlStatementMetrics {
+
+    record Captured(String method, String sql, Object[] params) {
+        String kind() {
+            return SqlStatementMetrics.kind(sql);
+        }
+    }
+
+    @TestConfiguration
+    static class Registration {
+        @Bean
+        @Primary
+        CapturingStatementMetrics capturingStatementMetrics(MeterRegistry registry) {
+            return new CapturingStatementMetrics(registry);
+        }
+    }
+
+    // only the capturing thread is recorded, so scheduled jobs running meanwhile do not count
+    private final ThreadLocal<List<Captured>> captured = new ThreadLocal<>();
+
+    CapturingStatementMetrics(MeterRegistry registry) {
+        super(registry, 200, 0);
+    }
+
+    @Override
+    void record(String method, String sql, long nanos, Object[] params) {
+        List<Captured> sink = captured.get();
+        if (sink != null) sink.add(new Captured(method, sql, params == null ? new Object[0] : params.clone()));
+        super.record(method, sql, nanos, params);
+    }
+
+    /** Runs the action and returns the statements it issued on this thread, in order. */
+    List<Captured> capture(Runnable action) {
+        List<Captured> sink = new ArrayList<>();
+        captured.set(sink);
+        try {
+            action.run();
+        } finally {
+            captured.remove();
+        }
+        return sink;
+    }
+}
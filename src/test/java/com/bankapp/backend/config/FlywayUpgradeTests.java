@@ -0,0 +1,75 @@
+package com.bankapp.backend.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Builds a scratch schema the way ddl-auto=update did before the migrations existed and
+ * checks that Flyway baselines it at V1 and brings it to the current schema.
+ * Runs against the configured MySQL database, like BackendApplicationTests; the user needs
+ * the right to create and drop a schema.
+ */
+@SpringBootTest
+class FlywayUpgradeTests {
+
+    private static final String SCHEMA = "bank_app_upgrade_test";
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("drop schema if exists " + SCHEMA);
+    }
+
+    @Test
+    void databaseCreatedByDdlAutoMigratesToTheCurrentSchema() throws Exception {
+        jdbc.execute("drop schema if exists " + SCHEMA);
+        jdbc.execute("create schema " + SCHEMA);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setCatalog(SCHEMA);
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/ddl-auto-baseline.sql"));
+        }
+
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(SCHEMA)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+        flyway.migrate();
+
+        assertEquals(0, flyway.info().pending().length);
+        for (List<String> column : List.of(
+                List.of("cards", "pan_hash"), List.of("cards", "block_source"), List.of("transactions", "card_id"),
+                List.of("fixed_deposits", "renewed_from_id"), List.of("recurring_deposits", "next_installment_date"),
+                List.of("interest_accruals", "carried"), List.of("deposit_rate_slabs", "annual_interest_rate"),
+                List.of("authorization_holds", "expires_at"), List.of("account_monthly_spend", "category"))) {
+            assertEquals(1, count("select count(*) from information_schema.columns"
+                    + " where table_schema = ? and table_name = ? and column_name = ?",
+                    SCHEMA, column.get(0), column.get(1)), String.join(".", column));
+        }
+        // native enums are gone, so later enum constants need no DDL
+        assertEquals(0, count("select count(*) from information_schema.columns"
+                + " where table_schema = ? and data_type = 'enum'", SCHEMA));
+    }
+
+    private int count(String sql, Object... args) {
+        Integer n = jdbc.queryForObject(sql, Integer.class, args);
+        return n == null ? 0 : n;
+    }
+}
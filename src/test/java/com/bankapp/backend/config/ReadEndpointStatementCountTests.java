@@ -0,0 +1,141 @@
+package com.bankapp.backend.config;
+
+import com.bankapp.backend.controller.*;
+import com.bankapp.backend.entity.*;
+import com.bankapp.backend.security.CustomUserDetails;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Calls each read endpoint for a customer with several rows of everything and counts the
+ * SELECTs it issues. Every endpoint must answer with one query however many rows there
+ * are, so a lazy association touched per row (N+1) fails here.
+ * Runs against the configured MySQL database, like BackendApplicationTests; the fixture
+ * is rolled back.
+ */
+@SpringBootTest
+@Import(CapturingStatementMetrics.Registration.class)
+class ReadEndpointStatementCountTests {
+
+    private static final int ROWS = 3;
+
+    @Autowired
+    private CapturingStatementMetrics statements;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AccountController accountController;
+    @Autowired
+    private BeneficiaryController beneficiaryController;
+    @Autowired
+    private CardController cardController;
+    @Autowired
+    private DepositController depositController;
+    @Autowired
+    private PaymentAliasController aliasController;
+    @Autowired
+    private TransferController transferController;
+
+    private record Fixture(Authentication auth, Account account, Beneficiary beneficiary, Card card,
+                           FixedDeposit fd, RecurringDeposit rd, TransactionRecord tx) {}
+
+    @Test
+    void everyReadEndpointIssuesOneSelect() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            Fixture f = seed();
+            // nothing may come from the persistence context; lazy loads must show up as SQL
+            entityManager.flush();
+            entityManager.clear();
+            var auth = f.auth();
+
+            assertOneSelect("GET /api/accounts/my", () -> accountController.getMyAccounts(auth));
+            assertOneSelect("GET /api/accounts/{id}", () -> accountController.getAccount(f.account().getId(), auth));
+            assertOneSelect("GET /api/beneficiaries/my", () -> beneficiaryController.listMy(auth));
+            assertOneSelect("GET /api/beneficiaries/{id}", () -> beneficiaryController.getOne(f.beneficiary().getId(), auth));
+            assertOneSelect("GET /api/cards/my", () -> cardController.listMy(auth));
+            assertOneSelect("GET /api/cards/{id}", () -> cardController.getOne(f.card().getId(), auth,
+                    new ServletWebRequest(new MockHttpServletRequest())));
+            assertOneSelect("GET /api/deposits/fd/my", () -> depositController.listMyFDs(auth));
+            assertOneSelect("GET /api/deposits/fd/{id}", () -> depositController.getFD(f.fd().getId(), auth));
+            assertOneSelect("GET /api/deposits/rd/my", () -> depositController.listMyRDs(auth));
+            assertOneSelect("GET /api/deposits/rd/{id}", () -> depositController.getRD(f.rd().getId(), auth));
+            assertOneSelect("GET /api/aliases/my", () -> aliasController.listMy(auth));
+            assertOneSelect("GET /api/transfers/{reference}", () -> transferController.getByReference(f.tx().getReference(), auth));
+        });
+    }
+
+    private void assertOneSelect(String endpoint, Runnable call) {
+        var selects = statements.capture(call).stream()
+                .filter(s -> s.kind().equals("select"))
+                .map(CapturingStatementMetrics.Captured::sql)
+                .toList();
+        assertEquals(1, selects.size(), endpoint + " issued " + selects.size() + " selects: " + selects);
+    }
+
+    private Fixture seed() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        var now = LocalDateTime.now();
+        var user = persist(User.builder()
+                .username("n1-" + suffix).email("n1-" + suffix + "@example.com").password("x")
+                .fullName("Statement Count").role(Role.CUSTOMER).build());
+
+        Account account = null;
+        Beneficiary beneficiary = null;
+        Card card = null;
+        FixedDeposit fd = null;
+        RecurringDeposit rd = null;
+        for (int i = 0; i < ROWS; i++) {
+            account = persist(Account.builder()
+                    .accountNumber("N1" + suffix + i).accountType(AccountType.SAVINGS).status(AccountStatus.ACTIVE)
+                    .balance(BigDecimal.TEN).openedAt(now).owner(user).build());
+            beneficiary = persist(Beneficiary.builder()
+                    .owner(user).beneficiaryName("Payee " + i).accountNumber("EXT" + suffix + i)
+                    .ifsc("SBIN0000001").createdAt(now).build());
+            card = persist(Card.builder()
+                    .owner(user).linkedAccount(account).cardType(CardType.DEBIT).status(CardStatus.ACTIVE)
+                    .last4("000" + i).internationalUsageEnabled(false).appliedAt(now).build());
+            fd = persist(FixedDeposit.builder()
+                    .owner(user).linkedAccount(account).principal(BigDecimal.TEN).annualInterestRate(6.5)
+                    .tenureMonths(12).startDate(LocalDate.now()).maturityDate(LocalDate.now().plusYears(1))
+                    .status(DepositStatus.ACTIVE).autoRenew(false).createdAt(now).build());
+            rd = persist(RecurringDeposit.builder()
+                    .owner(user).linkedAccount(account).monthlyInstallment(BigDecimal.TEN).annualInterestRate(6.5)
+                    .tenureMonths(12).startDate(LocalDate.now()).maturityDate(LocalDate.now().plusYears(1))
+                    .status(DepositStatus.ACTIVE).createdAt(now).build());
+            persist(PaymentAlias.builder()
+                    .alias("n1-" + suffix + "-" + i).account(account).owner(user).createdAt(now).build());
+        }
+        var tx = persist(TransactionRecord.builder()
+                .reference("N1-" + suffix).type(TransactionType.IMPS).status(TransactionStatus.SUCCESS)
+                .fromAccount(account).amount(BigDecimal.ONE).build());
+
+        var auth = new UsernamePasswordAuthenticationToken(new CustomUserDetails(user), null, List.of());
+        return new Fixture(auth, account, beneficiary, card, fd, rd, tx);
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,117 @@
+package com.bankapp.backend.config;
+
+import com.bankapp.backend.repository.*;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every query method declared on our repositories (inside a rolled-back transaction),
+ * captures the SQL it issues with its bind values, and EXPLAINs each statement. Fails when
+ * MySQL would scan a whole table because no index could serve the query.
+ * Runs against the configured MySQL database, like BackendApplicationTests.
+ */
+@SpringBootTest
+@Import(CapturingStatementMetrics.Registration.class)
+class RepositoryIndexUsageTests {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            AccountRepository.class, AccountMonthlySpendRepository.class, AuthorizationHoldRepository.class,
+            BeneficiaryRepository.class, CardRepository.class, DepositRateAuditRepository.class,
+            DepositRateSlabRepository.class, FailedTransactionRepository.class, FixedDepositRepository.class,
+            PanRangeRepository.class, PaymentAliasRepository.class, RecurringDepositRepository.class,
+            TransactionRecordRepository.class, UserRepository.class);
+
+    // small reference tables where a scan is the right plan
+    private static final Set<String> ALLOWED_SCANS = Set.of("DepositRateSlabRepository.findByActiveTrue");
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private CapturingStatementMetrics metrics;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void everyRepositoryQueryCanUseAnIndex() {
+        List<String> failures = new ArrayList<>();
+        int explained = 0;
+        for (Class<?> repositoryType : REPOSITORIES) {
+            Object repository = context.getBean(repositoryType);
+            for (Method method : repositoryType.getDeclaredMethods()) {
+                if (method.isDefault() || method.isSynthetic()) continue;
+                String name = repositoryType.getSimpleName() + "." + method.getName();
+                for (CapturingStatementMetrics.Captured statement : run(repository, method, name)) {
+                    if (statement.kind().equals("insert")) continue;
+                    explained++;
+                    if (ALLOWED_SCANS.contains(name)) continue;
+                    failures.addAll(fullScans(name, statement));
+                }
+            }
+        }
+        assertTrue(explained > 0, "no statements captured");
+        assertTrue(failures.isEmpty(), "Full table scans:\n" + String.join("\n", failures));
+    }
+
+    private List<CapturingStatementMetrics.Captured> run(Object repository, Method method, String name) {
+        var tx = new TransactionTemplate(transactionManager);
+        return tx.execute(status -> {
+            status.setRollbackOnly();
+            Object[] args = Arrays.stream(method.getParameterTypes()).map(this::sample).toArray();
+            return metrics.capture(() -> {
+                try {
+                    method.invoke(repository, args);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(name + " failed", e);
+                }
+            }).stream().filter(c -> c.method().equals(name)).toList();
+        });
+    }
+
+    private List<String> fullScans(String name, CapturingStatementMetrics.Captured statement) {
+        List<String> scans = new ArrayList<>();
+        jdbc.query("explain " + statement.sql(), ps -> {
+            Object[] params = statement.params();
+            for (int i = 0; i < params.length; i++) ps.setObject(i + 1, params[i]);
+        }, rs -> {
+            String type = rs.getString("type");
+            if ("ALL".equals(type) && rs.getString("possible_keys") == null) {
+                scans.add(name + ": table " + rs.getString("table") + " <- " + statement.sql());
+            }
+        });
+        return scans;
+    }
+
+    private Object sample(Class<?> type) {
+        if (type == Long.class || type == long.class) return 1L;
+        if (type == String.class) return "X";
+        if (type == BigDecimal.class) return BigDecimal.ONE;
+        if (type == LocalDate.class) return LocalDate.now();
+        if (type == LocalDateTime.class) return LocalDateTime.now();
+        if (type.isEnum()) return type.getEnumConstants()[0];
+        if (Collection.class.isAssignableFrom(type)) return List.of(1L, 2L);
+        if (type == Limit.class) return Limit.of(10);
+        if (type.isAnnotationPresent(Entity.class)) return entityManager.getReference(type, 1L);
+        throw new IllegalArgumentException("No sample value for " + type);
+    }
+}
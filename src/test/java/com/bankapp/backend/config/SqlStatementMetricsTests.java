@@ -0,0 +1,34 @@
+package com.bankapp.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementMetricsTests {
+
+    @Test
+    void classifiesStatementsBehindComments() {
+        assertEquals("select", SqlStatementMetrics.kind("/* CardRepository.findByIdForUpdate */ select c1_0.id from cards c1_0"));
+        assertEquals("update", SqlStatementMetrics.kind("  update cards set status=? where id=?"));
+        assertEquals("insert", SqlStatementMetrics.kind("INSERT into beneficiaries values (?)"));
+        assertEquals("select", SqlStatementMetrics.kind("(select 1) union (select 2)"));
+        assertEquals("other", SqlStatementMetrics.kind("/* unterminated select 1"));
+        assertEquals("other", SqlStatementMetrics.kind("set autocommit=0"));
+    }
+
+    @Test
+    void recordsOneTimerPerMethodAndKind() {
+        var registry = new SimpleMeterRegistry();
+        var metrics = new SqlStatementMetrics(registry, 200, 0);
+        metrics.record("CardRepository.findByIdForUpdate", "select 1", TimeUnit.MILLISECONDS.toNanos(3), null);
+        metrics.record("CardRepository.findByIdForUpdate", "select 2", TimeUnit.MILLISECONDS.toNanos(5), null);
+        metrics.record("none", "update cards set status = 'X'", TimeUnit.MILLISECONDS.toNanos(300), new Object[]{"4111111111111111"});
+
+        var select = registry.get("db.statement").tag("method", "CardRepository.findByIdForUpdate").tag("kind", "select").timer();
+        assertEquals(2, select.count());
+        assertEquals(1, registry.get("db.statement").tag("method", "none").tag("kind", "update").timer().count());
+    }
+}
@@ -0,0 +1,63 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.dto.BeneficiaryResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BeneficiarySearchIndexTests {
+
+    private static BeneficiaryResponse payee(long id, String name, String nickname, String accountNumber) {
+        return BeneficiaryResponse.builder().id(id).beneficiaryName(name).nickname(nickname).accountNumber(accountNumber).build();
+    }
+
+    private static BeneficiarySearchIndex.UserIndex index() {
+        var idx = new BeneficiarySearchIndex.UserIndex();
+        idx.put(payee(1, "Ramesh Kumar", "landlord", "50100234567890"));
+        idx.put(payee(2, "Suresh Raman", null, "00112233445566"));
+        idx.put(payee(3, "Anita Desai", "Mom", "SB-20251129-000042"));
+        idx.put(payee(4, "Acme Traders Pvt Ltd", "office supplies", "912010044556677"));
+        return idx;
+    }
+
+    private static List<Long> ids(List<BeneficiaryResponse> results) {
+        return results.stream().map(BeneficiaryResponse::getId).toList();
+    }
+
+    @Test
+    void prefixOfAWordRanksFirst() {
+        assertEquals(List.of(1L, 2L), ids(index().search("ram", 10)));
+        assertEquals(List.of(1L, 2L), ids(index().search("Ra", 10)));
+    }
+
+    @Test
+    void matchesNicknameAndPartialAccountNumber() {
+        assertEquals(List.of(3L), ids(index().search("mom", 10)));
+        assertEquals(List.of(1L), ids(index().search("4567", 10)));
+        assertEquals(List.of(3L), ids(index().search("sb-2025", 10)));
+    }
+
+    @Test
+    void toleratesASmallTypo() {
+        assertEquals(1L, ids(index().search("ramesh kumr", 10)).get(0));
+        assertEquals(4L, ids(index().search("acme tradres", 10)).get(0));
+    }
+
+    @Test
+    void reflectsAddsAndDeletes() {
+        var idx = index();
+        idx.remove(1L);
+        assertEquals(List.of(2L), ids(idx.search("ram", 10)));
+        idx.put(payee(5, "Ram Prasad", null, "111122223333"));
+        assertEquals(List.of(5L, 2L), ids(idx.search("ram", 10)));
+        assertEquals(4, idx.size());
+    }
+
+    @Test
+    void respectsLimitAndIgnoresEmptyQueries() {
+        assertEquals(1, index().search("ra", 1).size());
+        assertTrue(index().search("  ", 10).isEmpty());
+    }
+}
@@ -0,0 +1,34 @@
+package com.bankapp.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTests {
+
+    @Test
+    void addedKeysAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) filter.add("SB-20251129-%06d".formatted(i));
+        for (int i = 0; i < 10_000; i++) assertTrue(filter.mightContain("SB-20251129-%06d".formatted(i)));
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) filter.add("SB-20251129-%06d".formatted(i));
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("EXT" + i)) falsePositives++;
+        }
+        assertTrue(falsePositives < probes * 0.02, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        assertFalse(filter.mightContain("SB-20251129-000001"));
+    }
+}
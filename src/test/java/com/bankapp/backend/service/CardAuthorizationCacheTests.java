@@ -0,0 +1,108 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.entity.Card;
+import com.bankapp.backend.entity.CardStatus;
+import com.bankapp.backend.entity.CardType;
+import com.bankapp.backend.entity.User;
+import com.bankapp.backend.repository.CardRepository;
+import com.bankapp.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// runs against the configured MySQL database, like BackendApplicationTests
+@SpringBootTest
+class CardAuthorizationCacheTests {
+
+    @Autowired
+    private CardAuthorizationCache cache;
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private User user;
+    private Card card;
+
+    @BeforeEach
+    void setUp() {
+        String name = "ac-" + UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(User.builder()
+                .username(name)
+                .email(name + "@test.local")
+                .password("x")
+                .fullName("Auth Cache Test")
+                .build());
+        card = cardRepository.save(Card.builder()
+                .cardType(CardType.CREDIT)
+                .status(CardStatus.ISSUED)
+                .owner(user)
+                .internationalUsageEnabled(false)
+                .creditLimit(new BigDecimal("1000.00"))
+                .outstandingAmount(BigDecimal.ZERO)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("delete from cards where id = ?", card.getId());
+        jdbc.update("delete from users where id = ?", user.getId());
+    }
+
+    @Test
+    void activateEvictsTheCachedState() {
+        assertEquals(CardStatus.ISSUED, cachedStatus());
+        cardService.activateCard(card.getId(), user.getUsername());
+        assertEquals(CardStatus.ACTIVE, cachedStatus());
+    }
+
+    @Test
+    void blockAndUnblockEvictTheCachedState() {
+        cardService.activateCard(card.getId(), user.getUsername());
+        assertEquals(CardStatus.ACTIVE, cachedStatus());
+
+        cardService.blockCard(card.getId(), user.getUsername(), "lost");
+        assertEquals(CardStatus.TEMP_BLOCKED, cachedStatus());
+
+        cardService.unblockCard(card.getId(), user.getUsername());
+        assertEquals(CardStatus.ACTIVE, cachedStatus());
+    }
+
+    @Test
+    void internationalUsageChangeEvictsTheCachedState() {
+        assertEquals(false, cache.get(card.getId()).orElseThrow().internationalUsageEnabled());
+        cardService.setInternationalUsage(card.getId(), user.getUsername(), true);
+        assertTrue(cache.get(card.getId()).orElseThrow().internationalUsageEnabled());
+    }
+
+    @Test
+    void blockMadeThroughAnotherInstanceIsEvictedByThePoll() {
+        cardService.activateCard(card.getId(), user.getUsername());
+        assertEquals(CardStatus.ACTIVE, cachedStatus());
+
+        // another instance blocks the card: the row changes, this instance gets no eviction call
+        jdbc.update("update cards set status = 'TEMP_BLOCKED', block_source = 'OWNER', updated_at = ? where id = ?",
+                LocalDateTime.now(), card.getId());
+
+        cache.evictChangedElsewhere();
+        assertEquals(CardStatus.TEMP_BLOCKED, cachedStatus());
+    }
+
+    private CardStatus cachedStatus() {
+        return cache.get(card.getId()).orElseThrow().status();
+    }
+}
@@ -0,0 +1,188 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.dto.BulkBlockResponse;
+import com.bankapp.backend.entity.*;
+import com.bankapp.backend.repository.CardRepository;
+import com.bankapp.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// runs against the configured MySQL database, like BackendApplicationTests
+@SpringBootTest
+class CardBulkBlockServiceTests {
+
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CardAuthorizationCache cardAuthCache;
+    @Autowired
+    private PanHasher panHasher;
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbc;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private CardBulkBlockService service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        // two PANs per chunk, so every list below spans several chunks
+        service = new CardBulkBlockService(namedJdbc, transactionTemplate, panHasher, cardAuthCache, 2);
+        String name = "bb-" + UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(User.builder()
+                .username(name)
+                .email(name + "@test.local")
+                .password("x")
+                .fullName("Bulk Block Test")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("delete from cards where owner_id = ?", user.getId());
+        jdbc.update("delete from users where id = ?", user.getId());
+    }
+
+    @Test
+    void blocksEveryListedCardAcrossChunksAndCountsTheLines() {
+        String pan1 = randomPan(), pan2 = randomPan(), pan3 = randomPan();
+        Card c1 = card(pan1, CardStatus.ACTIVE);
+        Card c2 = card(pan2, CardStatus.ACTIVE);
+        Card c3 = card(pan3, CardStatus.ISSUED);
+        Card untouched = card(randomPan(), CardStatus.ACTIVE);
+
+        // formatted numbers are canonicalised before hashing; unknown and malformed lines are counted
+        BulkBlockResponse result = blockAll(format(pan1, " ") + "\n" + format(pan2, "-")
+                + "\n\n" + pan3 + "\n" + randomPan() + "\nnot-a-card\n");
+
+        assertEquals(5, result.getLinesRead());
+        assertEquals(1, result.getInvalidLines());
+        assertEquals(3, result.getMatchedCards());
+        assertEquals(3, result.getBlockedCards());
+        for (Card c : new Card[]{c1, c2, c3}) {
+            assertEquals("TEMP_BLOCKED", row(c).get("status"));
+            assertEquals("BANK", row(c).get("block_source"));
+            assertEquals("compromised", row(c).get("block_reason"));
+        }
+        assertEquals("ACTIVE", row(untouched).get("status"));
+    }
+
+    @Test
+    void closedAndRejectedCardsAreMatchedButNotBlocked() {
+        String closedPan = randomPan(), rejectedPan = randomPan();
+        Card closed = card(closedPan, CardStatus.CLOSED);
+        Card rejected = card(rejectedPan, CardStatus.REJECTED);
+
+        BulkBlockResponse result = blockAll(closedPan + "\n" + rejectedPan + "\n");
+
+        assertEquals(2, result.getMatchedCards());
+        assertEquals(0, result.getBlockedCards());
+        assertEquals("CLOSED", row(closed).get("status"));
+        assertEquals("REJECTED", row(rejected).get("status"));
+    }
+
+    @Test
+    void bankBlockOverridesAnOwnerBlockAndLiftingRestoresIt() {
+        String pan = randomPan();
+        Card c = card(pan, CardStatus.ACTIVE);
+        cardService.blockCard(c.getId(), user.getUsername(), "lost it");
+
+        blockAll(pan + "\n");
+        assertEquals("BANK", row(c).get("block_source"));
+        assertThrows(AccessDeniedException.class, () -> cardService.unblockCard(c.getId(), user.getUsername()));
+
+        // a second list containing the card keeps the state from before the first block
+        blockAll(pan + "\n");
+
+        cardService.liftBankBlock(c.getId());
+        Map<String, Object> lifted = row(c);
+        assertEquals("TEMP_BLOCKED", lifted.get("status"));
+        assertEquals("OWNER", lifted.get("block_source"));
+        assertEquals("lost it", lifted.get("block_reason"));
+        assertNull(lifted.get("pre_block_status"));
+
+        // the owner's own block is theirs to lift again
+        cardService.unblockCard(c.getId(), user.getUsername());
+        assertEquals("ACTIVE", row(c).get("status"));
+    }
+
+    @Test
+    void liftingRestoresTheStatusBeforeTheBlock() {
+        String activePan = randomPan(), issuedPan = randomPan();
+        Card active = card(activePan, CardStatus.ACTIVE);
+        Card issued = card(issuedPan, CardStatus.ISSUED);
+        blockAll(activePan + "\n" + issuedPan + "\n");
+
+        cardService.liftBankBlock(active.getId());
+        cardService.liftBankBlock(issued.getId());
+
+        assertEquals("ACTIVE", row(active).get("status"));
+        assertNull(row(active).get("block_source"));
+        assertEquals("ISSUED", row(issued).get("status"));
+        assertThrows(RuntimeException.class, () -> cardService.liftBankBlock(active.getId()));
+    }
+
+    @Test
+    void blockedCardsAreEvictedFromTheAuthorizationCache() {
+        String pan = randomPan();
+        Card c = card(pan, CardStatus.ACTIVE);
+        assertEquals(CardStatus.ACTIVE, cardAuthCache.get(c.getId()).orElseThrow().status());
+
+        blockAll(pan + "\n");
+
+        assertEquals(CardStatus.TEMP_BLOCKED, cardAuthCache.get(c.getId()).orElseThrow().status());
+    }
+
+    private BulkBlockResponse blockAll(String list) {
+        return service.blockAll(new ByteArrayInputStream(list.getBytes(StandardCharsets.US_ASCII)),
+                "compromised", "admin");
+    }
+
+    private Card card(String pan, CardStatus status) {
+        return cardRepository.save(Card.builder()
+                .cardNumber(pan)
+                .panHash(panHasher.hash(pan))
+                .last4(pan.substring(pan.length() - 4))
+                .cardType(CardType.DEBIT)
+                .status(status)
+                .owner(user)
+                .internationalUsageEnabled(false)
+                .build());
+    }
+
+    private Map<String, Object> row(Card c) {
+        return jdbc.queryForMap("select status, block_source, block_reason, pre_block_status from cards where id = ?",
+                c.getId());
+    }
+
+    private static String randomPan() {
+        return "9" + String.format("%015d", ThreadLocalRandom.current().nextLong(1_000_000_000_000_000L));
+    }
+
+    private static String format(String pan, String separator) {
+        return pan.replaceAll("(\\d{4})(?=\\d)", "$1" + separator);
+    }
+}
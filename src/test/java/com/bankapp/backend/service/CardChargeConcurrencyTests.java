@@ -0,0 +1,113 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.dto.AddChargeRequest;
+import com.bankapp.backend.entity.Card;
+import com.bankapp.backend.entity.CardStatus;
+import com.bankapp.backend.entity.CardType;
+import com.bankapp.backend.entity.User;
+import com.bankapp.backend.repository.CardRepository;
+import com.bankapp.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// runs against the configured MySQL database, like BackendApplicationTests
+@SpringBootTest
+class CardChargeConcurrencyTests {
+
+    private static final int CHARGES = 3000;
+    private static final int THREADS = 32;
+    private static final BigDecimal LIMIT = new BigDecimal("2000.00");
+
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private User user;
+    private Card card;
+
+    @BeforeEach
+    void setUp() {
+        String name = "cc-" + UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(User.builder()
+                .username(name)
+                .email(name + "@test.local")
+                .password("x")
+                .fullName("Concurrency Test")
+                .build());
+        card = cardRepository.save(Card.builder()
+                .cardType(CardType.CREDIT)
+                .status(CardStatus.ACTIVE)
+                .owner(user)
+                .internationalUsageEnabled(false)
+                .creditLimit(LIMIT)
+                .outstandingAmount(BigDecimal.ZERO)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("delete from transactions where card_id = ?", card.getId());
+        jdbc.update("delete from cards where id = ?", card.getId());
+        jdbc.update("delete from users where id = ?", user.getId());
+    }
+
+    @Test
+    void parallelChargesNeverLoseUpdatesOrExceedTheLimit() throws Exception {
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger limitDeclines = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>(CHARGES);
+            for (int i = 0; i < CHARGES; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    var req = new AddChargeRequest();
+                    req.setCardId(card.getId());
+                    req.setAmount(BigDecimal.ONE);
+                    try {
+                        cardService.addCharge(req, user.getUsername());
+                        approved.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        if (!"Credit limit exceeded".equals(e.getMessage())) throw e;
+                        limitDeclines.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) f.get(2, TimeUnit.MINUTES);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int expected = LIMIT.intValue();
+        assertEquals(expected, approved.get());
+        assertEquals(CHARGES - expected, limitDeclines.get());
+
+        BigDecimal outstanding = cardRepository.findById(card.getId()).orElseThrow().getOutstandingAmount();
+        assertEquals(0, LIMIT.compareTo(outstanding));
+
+        Integer txCount = jdbc.queryForObject("select count(*) from transactions where card_id = ?", Integer.class, card.getId());
+        assertEquals(expected, txCount);
+    }
+}
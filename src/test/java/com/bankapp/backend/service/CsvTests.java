@@ -0,0 +1,23 @@
+package com.bankapp.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvTests {
+
+    @Test
+    void plainFieldsKeepEmptyOnes() {
+        assertEquals(List.of("a", "", "c", ""), Csv.split("a,,c,"));
+        assertEquals(List.of(""), Csv.split(""));
+    }
+
+    @Test
+    void quotedFieldsMayContainCommasAndQuotes() {
+        assertEquals(List.of("SBIN0000001", "STATE BANK OF INDIA", "MUMBAI MAIN, FORT", "MUMBAI"),
+                Csv.split("SBIN0000001,STATE BANK OF INDIA,\"MUMBAI MAIN, FORT\",MUMBAI"));
+        assertEquals(List.of("say \"hi\"", "x"), Csv.split("\"say \"\"hi\"\"\",x"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.entity.DepositProductType;
+import com.bankapp.backend.entity.DepositRateSlab;
+import com.bankapp.backend.repository.DepositRateSlabRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DepositRateCatalogTests {
+
+    private final DepositRateSlabRepository repository = mock(DepositRateSlabRepository.class);
+    private final DepositRateCatalog catalog = new DepositRateCatalog(repository);
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findByActiveTrue()).thenReturn(List.of(
+                slab(1L, DepositProductType.FD, 12, 23, "0.00", null, 6.5),
+                slab(2L, DepositProductType.FD, 12, 23, "1000000.00", null, 7.0),
+                slab(3L, DepositProductType.FD, 24, 60, "0.00", "1000000.00", 6.75),
+                slab(4L, DepositProductType.RD, 12, 60, "0.00", null, 6.25)));
+        catalog.reload();
+    }
+
+    @Test
+    void tenureBoundsAreInclusive() {
+        assertEquals(6.5, catalog.rateFor(DepositProductType.FD, 12, amount("5000.00")));
+        assertEquals(6.5, catalog.rateFor(DepositProductType.FD, 23, amount("5000.00")));
+        assertEquals(6.75, catalog.rateFor(DepositProductType.FD, 24, amount("5000.00")));
+        assertTrue(catalog.find(DepositProductType.FD, 11, amount("5000.00")).isEmpty());
+        assertTrue(catalog.find(DepositProductType.FD, 61, amount("5000.00")).isEmpty());
+    }
+
+    @Test
+    void amountFloorIsInclusiveAndCeilingExclusive() {
+        assertEquals(6.75, catalog.rateFor(DepositProductType.FD, 36, amount("0.00")));
+        assertEquals(6.75, catalog.rateFor(DepositProductType.FD, 36, amount("999999.99")));
+        assertTrue(catalog.find(DepositProductType.FD, 36, amount("1000000.00")).isEmpty());
+    }
+
+    @Test
+    void mostSpecificSlabWins() {
+        assertEquals(6.5, catalog.rateFor(DepositProductType.FD, 12, amount("999999.99")));
+        assertEquals(7.0, catalog.rateFor(DepositProductType.FD, 12, amount("1000000.00")));
+        assertEquals(2L, catalog.find(DepositProductType.FD, 18, amount("5000000.00")).orElseThrow().id());
+    }
+
+    @Test
+    void productsDoNotShareSlabs() {
+        assertEquals(6.25, catalog.rateFor(DepositProductType.RD, 12, amount("1000000.00")));
+        assertTrue(catalog.find(DepositProductType.RD, 6, amount("500.00")).isEmpty());
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> catalog.rateFor(DepositProductType.RD, 6, amount("500.00")));
+        assertEquals("No RD rate offered for 6 months and amount 500.00", e.getMessage());
+    }
+
+    @Test
+    void reloadSwapsTheWholeSnapshot() {
+        when(repository.findByActiveTrue()).thenReturn(List.of(
+                slab(5L, DepositProductType.FD, 1, 120, "0.00", null, 5.0)));
+        catalog.reload();
+
+        assertEquals(5.0, catalog.rateFor(DepositProductType.FD, 12, amount("5000.00")));
+        assertEquals(5.0, catalog.rateFor(DepositProductType.FD, 12, amount("1000000.00")));
+        assertTrue(catalog.find(DepositProductType.RD, 12, amount("5000.00")).isEmpty());
+        assertEquals(1, catalog.listSlabs().size());
+    }
+
+    private static DepositRateSlab slab(long id, DepositProductType type, int minTenure, int maxTenure,
+                                        String minAmount, String maxAmount, double rate) {
+        return DepositRateSlab.builder()
+                .id(id)
+                .productType(type)
+                .minTenureMonths(minTenure)
+                .maxTenureMonths(maxTenure)
+                .minAmount(amount(minAmount))
+                .maxAmount(maxAmount == null ? null : amount(maxAmount))
+                .annualInterestRate(rate)
+                .active(true)
+                .build();
+    }
+
+    private static BigDecimal amount(String value) {
+        return new BigDecimal(value);
+    }
+}
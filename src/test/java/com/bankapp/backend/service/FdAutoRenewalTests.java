@@ -0,0 +1,101 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.entity.*;
+import com.bankapp.backend.repository.AccountRepository;
+import com.bankapp.backend.repository.FixedDepositRepository;
+import com.bankapp.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// runs against the configured MySQL database, like BackendApplicationTests
+@SpringBootTest
+class FdAutoRenewalTests {
+
+    // far enough in the past that no other deposit matures on or before it
+    private static final LocalDate MATURITY = LocalDate.of(2001, 1, 1);
+
+    @Autowired
+    private DepositService depositService;
+    @Autowired
+    private FixedDepositRepository fdRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private User user;
+    private Account account;
+    private FixedDeposit fd;
+
+    @BeforeEach
+    void setUp() {
+        String name = "fd-" + UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(User.builder()
+                .username(name)
+                .email(name + "@test.local")
+                .password("x")
+                .fullName("Renewal Test")
+                .build());
+        account = accountRepository.save(Account.builder()
+                .accountNumber("T" + System.nanoTime())
+                .accountType(AccountType.SAVINGS)
+                .status(AccountStatus.ACTIVE)
+                .balance(BigDecimal.ZERO)
+                .openedAt(LocalDateTime.now())
+                .owner(user)
+                .build());
+        fd = fdRepository.save(FixedDeposit.builder()
+                .owner(user)
+                .principal(new BigDecimal("10000.00"))
+                .annualInterestRate(6.5)
+                .tenureMonths(12)
+                .startDate(MATURITY.minusMonths(12))
+                .maturityDate(MATURITY)
+                .compounding(CompoundingFrequency.MONTHLY)
+                .status(DepositStatus.ACTIVE)
+                .autoRenew(true)
+                .linkedAccount(account)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("delete from fixed_deposits where owner_id = ? and renewed_from_id is not null", user.getId());
+        jdbc.update("delete from fixed_deposits where owner_id = ?", user.getId());
+        jdbc.update("delete from failed_transactions where reference = ?", "FDRENEW-" + fd.getId());
+        jdbc.update("delete from transactions where to_account_id = ?", account.getId());
+        jdbc.update("delete from accounts where id = ?", account.getId());
+        jdbc.update("delete from users where id = ?", user.getId());
+    }
+
+    @Test
+    void maturedAutoRenewDepositIsRolledIntoASuccessor() {
+        depositService.processMaturities(MATURITY);
+
+        List<Map<String, Object>> successors = jdbc.queryForList(
+                "select status, start_date from fixed_deposits where renewed_from_id = ?", fd.getId());
+        assertEquals(1, successors.size());
+        assertEquals(DepositStatus.ACTIVE.name(), successors.get(0).get("status"));
+        assertEquals(java.sql.Date.valueOf(MATURITY), successors.get(0).get("start_date"));
+
+        assertEquals(DepositStatus.RENEWED, fdRepository.findById(fd.getId()).orElseThrow().getStatus());
+        assertEquals(0, jdbc.queryForObject(
+                "select count(*) from failed_transactions where reference = ?", Integer.class, "FDRENEW-" + fd.getId()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.config.FraudProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of FraudScreen.screen on the spend path (budget: under 50 us), with a warm
+ * population of cards and merchants. Run like InterestCalculatorBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class FraudScreenBenchmark {
+
+    private static final int CARDS = 100_000;
+    private static final int MERCHANTS = 2_000;
+
+    private FraudScreen screen;
+    private final BigDecimal amount = new BigDecimal("499.99");
+
+    @Setup
+    public void setUp() {
+        var props = new FraudProperties();
+        for (FraudProperties.Window w : FraudProperties.Window.values()) {
+            for (FraudProperties.Scope s : FraudProperties.Scope.values()) {
+                var rule = new FraudProperties.Rule();
+                rule.setName(s + "-" + w);
+                rule.setScope(s);
+                rule.setWindow(w);
+                rule.setMaxCount(Integer.MAX_VALUE);
+                rule.setMaxAmount(new BigDecimal("1000000000"));
+                props.getRules().add(rule);
+            }
+        }
+        screen = new FraudScreen(props, new SimpleMeterRegistry());
+        for (long card = 0; card < CARDS; card++) {
+            screen.screen(card, "M" + (card % MERCHANTS), amount);
+        }
+    }
+
+    @Benchmark
+    public FraudScreen.Decision screenSpend() {
+        var rnd = ThreadLocalRandom.current();
+        return screen.screen((long) rnd.nextInt(CARDS), "M" + rnd.nextInt(MERCHANTS), amount);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FraudScreenBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,93 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.config.FraudProperties;
+import com.bankapp.backend.config.FraudProperties.Action;
+import com.bankapp.backend.config.FraudProperties.Scope;
+import com.bankapp.backend.config.FraudProperties.Window;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FraudScreenTests {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void windowForgetsAttemptsOlderThanItsLength() {
+        var counter = new SlidingWindowCounter(60_000, 12);
+        counter.add(0, 100);
+        counter.add(30_000, 250);
+        assertEquals(new SlidingWindowCounter.Totals(2, 350), counter.totals(59_999));
+        assertEquals(new SlidingWindowCounter.Totals(1, 250), counter.totals(60_000));
+        assertEquals(SlidingWindowCounter.Totals.ZERO, counter.totals(95_000));
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws InterruptedException {
+        var counter = new SlidingWindowCounter(60_000, 12);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) counter.add(1_000, 1);
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) t.join();
+        assertEquals(new SlidingWindowCounter.Totals(80_000, 80_000), counter.totals(1_000));
+    }
+
+    @Test
+    void burstRuleDeclinesUntilTheWindowSlides() {
+        var screen = screen(rule("burst", Scope.CARD, Window.MINUTE, 3, null, Action.DECLINE));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(FraudScreen.Outcome.APPROVE, screen.screen(1L, "shop", BigDecimal.TEN).outcome());
+        }
+        var declined = screen.screen(1L, "shop", BigDecimal.TEN);
+        assertEquals(FraudScreen.Outcome.DECLINE, declined.outcome());
+        assertEquals("burst", declined.rule());
+
+        // other cards are unaffected, and the card recovers once the minute has passed
+        assertEquals(FraudScreen.Outcome.APPROVE, screen.screen(2L, "shop", BigDecimal.TEN).outcome());
+        now.addAndGet(61_000);
+        assertEquals(FraudScreen.Outcome.APPROVE, screen.screen(1L, "shop", BigDecimal.TEN).outcome());
+    }
+
+    @Test
+    void amountRuleStepsUpAndDeclineWins() {
+        var screen = screen(
+                rule("big", Scope.CARD, Window.HOUR, null, new BigDecimal("1000"), Action.STEP_UP),
+                rule("merchant", Scope.MERCHANT, Window.DAY, 2, null, Action.DECLINE));
+
+        assertEquals(FraudScreen.Outcome.APPROVE, screen.screen(1L, "Acme", new BigDecimal("600")).outcome());
+        assertEquals(FraudScreen.Outcome.STEP_UP, screen.screen(1L, "other", new BigDecimal("600")).outcome());
+        // third attempt at ACME (case-insensitive) trips both rules
+        screen.screen(2L, "acme ", BigDecimal.ONE);
+        var decision = screen.screen(1L, "ACME", new BigDecimal("600"));
+        assertEquals(FraudScreen.Outcome.DECLINE, decision.outcome());
+        assertEquals("merchant", decision.rule());
+    }
+
+    private FraudScreen screen(FraudProperties.Rule... rules) {
+        var props = new FraudProperties();
+        props.setRules(List.of(rules));
+        return new FraudScreen(props, new SimpleMeterRegistry(), now::get);
+    }
+
+    private static FraudProperties.Rule rule(String name, Scope scope, Window window, Integer maxCount,
+                                             BigDecimal maxAmount, Action action) {
+        var r = new FraudProperties.Rule();
+        r.setName(name);
+        r.setScope(scope);
+        r.setWindow(window);
+        r.setMaxCount(maxCount);
+        r.setMaxAmount(maxAmount);
+        r.setAction(action);
+        return r;
+    }
+}
@@ -0,0 +1,106 @@
+package com.bankapp.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HoldExpiryWheelTests {
+
+    private static final long TICK = 1_000;
+
+    @Test
+    void holdsFireOnceTheirDeadlinePasses() {
+        var wheel = new HoldExpiryWheel(TICK, 8, 0);
+        wheel.schedule(1, 2_500);
+        wheel.schedule(2, 4_000);
+
+        assertTrue(wheel.advance(2_000).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(3_000));
+        assertEquals(List.of(2L), wheel.advance(4_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlinesBeyondOneRevolutionWaitForTheirRound() {
+        var wheel = new HoldExpiryWheel(TICK, 4, 0);
+        wheel.schedule(7, 10_000); // 2.5 revolutions away
+
+        for (long now = 1_000; now < 10_000; now += 1_000) {
+            assertTrue(wheel.advance(now).isEmpty(), "fired early at " + now);
+        }
+        assertEquals(List.of(7L), wheel.advance(10_000));
+    }
+
+    @Test
+    void overdueHoldsFireOnTheNextTick() {
+        var wheel = new HoldExpiryWheel(TICK, 8, 5_000);
+        wheel.schedule(3, 1_000);
+
+        assertEquals(List.of(3L), wheel.advance(6_000));
+    }
+
+    @Test
+    void aLongPauseStillDrainsEverySlot() {
+        var wheel = new HoldExpiryWheel(TICK, 4, 0);
+        for (long id = 1; id <= 4; id++) wheel.schedule(id, id * 1_000);
+
+        assertEquals(4, wheel.advance(60_000).size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void holdsScheduledWhileTheSweeperAdvancesAreNotSkipped() throws Exception {
+        final int threads = 8;
+        final int perThread = 50_000;
+        var wheel = new HoldExpiryWheel(TICK, 64, 0);
+        var clock = new AtomicLong();
+        var fired = new HashSet<Long>();
+        var stop = new AtomicBoolean();
+        var start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+        try {
+            // the sweeper keeps ticking while already-due holds (next tick) are scheduled
+            Future<?> sweeper = pool.submit(() -> {
+                start.await();
+                while (!stop.get()) {
+                    fired.addAll(wheel.advance(clock.addAndGet(TICK)));
+                }
+                return null;
+            });
+            List<Future<?>> schedulers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long base = (long) t * perThread;
+                schedulers.add(pool.submit(() -> {
+                    start.await();
+                    for (long id = base; id < base + perThread; id++) {
+                        wheel.schedule(id, clock.get());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : schedulers) f.get();
+            stop.set(true);
+            sweeper.get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // every hold is due within two ticks, far less than a revolution
+        fired.addAll(wheel.advance(clock.get() + 2 * TICK));
+        assertEquals(threads * perThread, fired.size());
+        assertEquals(0, wheel.size());
+    }
+}
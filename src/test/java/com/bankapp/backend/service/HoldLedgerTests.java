@@ -0,0 +1,71 @@
+package com.bankapp.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HoldLedgerTests {
+
+    private static final BigDecimal TEN = new BigDecimal("10.00");
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void reloadReplacesTotalsWithTheDatabaseRows() {
+        var ledger = new HoldLedger();
+        ledger.reserve(1L, 100L, TEN);
+        ledger.reserve(null, 200L, TEN);
+
+        // another instance placed a hold on account 2; account 1's hold was released there
+        ledger.reload(() -> List.<Object[]>of(new Object[]{2L, null, new BigDecimal("25.00")},
+                new Object[]{null, 200L, TEN}));
+
+        assertEquals(BigDecimal.ZERO, ledger.heldOnAccount(1L));
+        assertEquals(new BigDecimal("25.00"), ledger.heldOnAccount(2L));
+        assertEquals(TEN, ledger.heldOnCard(200L));
+    }
+
+    @Test
+    void uncommittedHoldsSurviveAReloadThatCannotSeeThem() {
+        var ledger = new HoldLedger();
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.reserve(1L, 100L, TEN);
+
+        ledger.reload(List::of);
+        assertEquals(TEN, ledger.heldOnAccount(1L));
+
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(BigDecimal.ZERO, ledger.heldOnAccount(1L));
+    }
+
+    @Test
+    void holdsCommittedDuringAReloadAreKept() {
+        var ledger = new HoldLedger();
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.reserve(1L, 100L, TEN);
+
+        // the read started before the hold committed, so it does not contain it
+        ledger.reload(() -> {
+            completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+            return List.of();
+        });
+        assertEquals(TEN, ledger.heldOnAccount(1L));
+    }
+
+    private static void completeTransaction(int status) {
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(status));
+    }
+}
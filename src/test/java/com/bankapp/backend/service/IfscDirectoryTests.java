@@ -0,0 +1,89 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.dto.IfscBranch;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IfscDirectoryTests {
+
+    private static final String CSV = """
+            IFSC,BANK,BRANCH,CITY
+            SBIN0000300,STATE BANK OF INDIA,MUMBAI MAIN,MUMBAI
+            hdfc0000060,HDFC BANK,BANGALORE KORAMANGALA,BANGALORE
+            HDFC0000001,HDFC BANK,SANDOZ HOUSE,MUMBAI
+            HDFC0000001,HDFC BANK,DUPLICATE,MUMBAI
+            BAD,SOME BANK,NOWHERE,NOWHERE
+            BARB0CONNAU,BANK OF BARODA,CONNAUGHT PLACE,NEW DELHI
+            """;
+
+    private static IfscDirectory.Index index() throws IOException {
+        return IfscDirectory.Index.parse(new StringReader(CSV));
+    }
+
+    @Test
+    void findsKnownCodesAndSkipsBadRows() throws IOException {
+        var idx = index();
+        assertEquals(4, idx.size());
+        assertEquals(new IfscBranch("HDFC0000001", "HDFC BANK", "SANDOZ HOUSE", "MUMBAI"), idx.find("HDFC0000001"));
+        assertEquals("BANGALORE KORAMANGALA", idx.find("HDFC0000060").branch());
+        assertNotNull(idx.find("BARB0CONNAU"));
+        assertNull(idx.find("HDFC0000002"));
+        assertNull(idx.find("ZZZZ0000000"));
+        assertNull(idx.find("AAAA0000000"));
+    }
+
+    @Test
+    void quotedFieldsMayContainCommas() throws IOException {
+        var idx = IfscDirectory.Index.parse(new StringReader("""
+                IFSC,BANK,BRANCH,CITY
+                "ICIC0000007",ICICI BANK,"NEW DELHI, CONNAUGHT PLACE",NEW DELHI
+                """));
+        assertEquals(new IfscBranch("ICIC0000007", "ICICI BANK", "NEW DELHI, CONNAUGHT PLACE", "NEW DELHI"),
+                idx.find("ICIC0000007"));
+    }
+
+    @Test
+    void prefixSearchIsOrderedAndLimited() throws IOException {
+        var idx = index();
+        var hdfc = idx.search("HDFC", 10);
+        assertEquals(2, hdfc.size());
+        assertEquals("HDFC0000001", hdfc.get(0).ifsc());
+        assertEquals("HDFC0000060", hdfc.get(1).ifsc());
+        assertEquals(1, idx.search("HDFC", 1).size());
+        assertEquals(1, idx.search("HDFC0000060", 10).size());
+        assertTrue(idx.search("ICIC", 10).isEmpty());
+    }
+
+    @Test
+    void withoutAFileOnlyTheFormatIsChecked() {
+        var directory = new IfscDirectory(new DefaultResourceLoader(), "");
+        directory.reload();
+        assertFalse(directory.isLoaded());
+        assertTrue(directory.validate("ICIC0001234").isEmpty());
+        assertThrows(RuntimeException.class, () -> directory.validate("ICIC1001234"));
+    }
+
+    @Test
+    void loadedFileRejectsUnknownCodes() {
+        var directory = new IfscDirectory(new DefaultResourceLoader(), "classpath:ifsc/ifsc.csv");
+        directory.reload();
+        assertTrue(directory.isLoaded());
+        assertEquals("MUMBAI MAIN", directory.validate("sbin0000300").orElseThrow().branch());
+        assertThrows(RuntimeException.class, () -> directory.validate("SBIN0999999"));
+    }
+
+    @Test
+    void checksFormat() {
+        assertTrue(IfscDirectory.isWellFormed("SBIN0000300"));
+        assertTrue(IfscDirectory.isWellFormed("BARB0CONNAU"));
+        assertFalse(IfscDirectory.isWellFormed("SBIN1000300"));
+        assertFalse(IfscDirectory.isWellFormed("SBIN000030"));
+        assertFalse(IfscDirectory.isWellFormed(null));
+        assertEquals("SBIN0000300", IfscDirectory.normalise(" sbin0000300 "));
+    }
+}
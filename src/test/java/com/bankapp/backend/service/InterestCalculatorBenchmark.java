@@ -0,0 +1,68 @@
+package com.bankapp.backend.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the old linear-loop FD/RD calculators against InterestCalculator.
+ * Run from the IDE or with: java -cp target/test-classes:<test classpath> ...InterestCalculatorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterestCalculatorBenchmark {
+
+    @Param({"12", "60", "120"})
+    public int months;
+
+    private final BigDecimal principal = new BigDecimal("250000.50");
+    private final double rate = 7.25;
+
+    private InterestCalculator calculator;
+
+    @Setup
+    public void setUp() {
+        calculator = new InterestCalculator();
+    }
+
+    @Benchmark
+    public BigDecimal fdLegacyLoop() {
+        BigDecimal r = BigDecimal.valueOf(rate).divide(BigDecimal.valueOf(100), 10, RoundingMode.HALF_UP);
+        BigDecimal base = BigDecimal.ONE.add(r.divide(BigDecimal.valueOf(12), 10, RoundingMode.HALF_UP));
+        BigDecimal exponent = BigDecimal.ONE;
+        for (int i = 0; i < months; i++) exponent = exponent.multiply(base);
+        return principal.multiply(exponent).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public BigDecimal fdCached() {
+        return calculator.fdMaturityAmount(principal, rate, months);
+    }
+
+    @Benchmark
+    public BigDecimal fdUncachedPow() {
+        BigDecimal r = BigDecimal.valueOf(rate).divide(BigDecimal.valueOf(100), 10, RoundingMode.HALF_UP);
+        BigDecimal base = BigDecimal.ONE.add(r.divide(BigDecimal.valueOf(12), 10, RoundingMode.HALF_UP));
+        return principal.multiply(InterestCalculator.pow(base, months)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public BigDecimal rdCached() {
+        return calculator.rdMaturityAmount(principal, rate, months);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InterestCalculatorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
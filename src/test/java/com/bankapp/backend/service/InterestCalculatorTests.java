@@ -0,0 +1,82 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.entity.CompoundingFrequency;
+import com.bankapp.backend.service.InterestCalculator.DayCountConvention;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InterestCalculatorTests {
+
+    private final InterestCalculator calculator = new InterestCalculator();
+
+    // golden values produced by the original linear-loop calculators in DepositService
+    @ParameterizedTest
+    @CsvSource({
+            "100000,    6.5,  12, 106697.19",
+            "250000.50, 7.25, 60, 358838.44",
+            "100,       0.01, 1,  100.00",
+            "1000000,   8.1,  120, 2241798.60",
+            "5000,      5.0,  7,  5147.67",
+            "75000,     6.8,  36, 91919.42"
+    })
+    void fdMatchesLegacyResults(String principal, double rate, int months, String expected) {
+        assertEquals(new BigDecimal(expected), calculator.fdMaturityAmount(new BigDecimal(principal), rate, months));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1000,  6.5,  12,  12431.01",
+            "2500,  7.1,  60,  180508.00",
+            "100,   0.01, 1,   100.00",
+            "10000, 8.0,  120, 1841656.76",
+            "500,   5.5,  24,  12712.28"
+    })
+    void rdMatchesLegacyResults(String monthly, double rate, int months, String expected) {
+        assertEquals(new BigDecimal(expected), calculator.rdMaturityAmount(new BigDecimal(monthly), rate, months));
+    }
+
+    @Test
+    void cachedFactorGivesSameResult() {
+        var first = calculator.fdMaturityAmount(new BigDecimal("100000"), 6.5, 12);
+        var second = calculator.fdMaturityAmount(new BigDecimal("100000"), 6.5, 12);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void quarterlyCompounding() {
+        // 100000 * (1 + 0.08/4)^4
+        assertEquals(new BigDecimal("108243.22"),
+                calculator.fdMaturityAmount(new BigDecimal("100000"), 8.0, 12, CompoundingFrequency.QUARTERLY));
+        // one full quarter compounded, then 2 months simple: 100000 * 1.02 * (1 + 0.08 * 2/12)
+        assertEquals(new BigDecimal("103360.00"),
+                calculator.fdMaturityAmount(new BigDecimal("100000"), 8.0, 5, CompoundingFrequency.QUARTERLY));
+    }
+
+    @Test
+    void powBySquaringMatchesRepeatedMultiplication() {
+        var base = new BigDecimal("1.0054166667");
+        var expected = BigDecimal.ONE;
+        for (int i = 0; i < 97; i++) expected = expected.multiply(base);
+        assertEquals(0, expected.round(MathContext.DECIMAL64).compareTo(
+                InterestCalculator.pow(base, 97).round(MathContext.DECIMAL64)));
+    }
+
+    @Test
+    void dayCountConventions() {
+        var from = LocalDate.of(2026, 1, 31);
+        var to = LocalDate.of(2026, 3, 1);
+        assertEquals(29, InterestCalculator.dayCount(from, to, DayCountConvention.ACT_365));
+        assertEquals(31, InterestCalculator.dayCount(from, to, DayCountConvention.THIRTY_360));
+
+        var oneDay = calculator.simpleInterest(new BigDecimal("100000"), 3.65,
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 2), DayCountConvention.ACT_365);
+        assertEquals(0, new BigDecimal("10").compareTo(oneDay));
+    }
+}
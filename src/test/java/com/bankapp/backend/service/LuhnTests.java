@@ -0,0 +1,51 @@
+package com.bankapp.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LuhnTests {
+
+    @Test
+    void knownNumbers() {
+        assertTrue(Luhn.isValid("4111111111111111"));
+        assertTrue(Luhn.isValid("79927398713"));
+        assertFalse(Luhn.isValid("4111111111111112"));
+        assertFalse(Luhn.isValid("4111 1111 1111 1111"));
+        assertEquals(3, Luhn.checkDigit("7992739871"));
+    }
+
+    @Test
+    void singleDigitErrorsAreDetected() {
+        String pan = "4111111111111111";
+        for (int i = 0; i < pan.length(); i++) {
+            for (char c = '0'; c <= '9'; c++) {
+                if (c == pan.charAt(i)) continue;
+                String typo = pan.substring(0, i) + c + pan.substring(i + 1);
+                assertFalse(Luhn.isValid(typo), typo);
+            }
+        }
+    }
+
+    @Test
+    void allocatedNumbersAreValidAndDistinct() {
+        Set<String> seen = new HashSet<>();
+        for (long seq = 0; seq < 200_000; seq++) {
+            String pan = PanAllocator.panFor("412345", seq);
+            assertEquals(16, pan.length());
+            assertTrue(pan.startsWith("412345"));
+            assertTrue(Luhn.isValid(pan), pan);
+            assertTrue(seen.add(pan), "duplicate " + pan);
+        }
+    }
+
+    @Test
+    void lastSequenceOfTheRangeStillMapsIntoNineDigits() {
+        String pan = PanAllocator.panFor("524310", PanAllocator.ACCOUNT_SPACE - 1);
+        assertEquals(16, pan.length());
+        assertTrue(Luhn.isValid(pan));
+    }
+}
@@ -0,0 +1,26 @@
+package com.bankapp.backend.service;
+
+import com.bankapp.backend.dto.TransactionResponse;
+import com.bankapp.backend.entity.TransactionStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SettledTransactionCacheTests {
+
+    private static TransactionResponse view(String reference, TransactionStatus status) {
+        return TransactionResponse.builder().reference(reference).status(status).fromOwnerId(7L).build();
+    }
+
+    @Test
+    void keepsSettledTransactionsOnly() {
+        var cache = new SettledTransactionCache(100);
+        cache.put(view("NEFT-1", TransactionStatus.PENDING));
+        cache.put(view("IMPS-1", TransactionStatus.SUCCESS));
+        cache.put(view("IMPS-2", TransactionStatus.FAILED));
+
+        assertTrue(cache.get("NEFT-1").isEmpty());
+        assertEquals(7L, cache.get("IMPS-1").orElseThrow().getFromOwnerId());
+        assertTrue(cache.get("IMPS-2").isPresent());
+    }
+}
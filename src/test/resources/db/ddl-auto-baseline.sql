@@ -0,0 +1,26 @@
+-- Schema as ddl-auto=update created it for the entity model before the performance series
+-- (Hibernate 6 on MySQL: native enum columns, generated unique key names). Used by
+-- FlywayUpgradeTests to check that such a database migrates to the current schema.
+
+create table users (id bigint not null auto_increment, created_at datetime(6), email varchar(120) not null, full_name varchar(120) not null, password varchar(255) not null, role enum ('ADMIN','CUSTOMER') not null, updated_at datetime(6), username varchar(50) not null, primary key (id)) engine=InnoDB;
+create table accounts (id bigint not null auto_increment, account_number varchar(30), account_type enum ('CURRENT','SAVINGS') not null, balance decimal(18,2) not null, opened_at datetime(6) not null, status enum ('ACTIVE','BLOCKED','CLOSED') not null, user_id bigint not null, primary key (id)) engine=InnoDB;
+create table cards (id bigint not null auto_increment, applied_at datetime(6) not null, card_number varchar(19), card_type enum ('CREDIT','DEBIT'), credit_limit decimal(18,2), cvv_masked varchar(3), expiry varchar(5), international_usage_enabled bit not null, issued_at datetime(6), last4 varchar(4), outstanding_amount decimal(18,2), status enum ('ACTIVE','APPLIED','CLOSED','ISSUED','REJECTED','TEMP_BLOCKED'), updated_at datetime(6), owner_id bigint not null, primary key (id)) engine=InnoDB;
+create table transactions (id bigint not null auto_increment, amount decimal(18,2) not null, beneficiary_account_number varchar(30), beneficiary_ifsc varchar(64), beneficiary_name varchar(120), created_at datetime(6), narration varchar(200), processed_at datetime(6), reference varchar(64) not null, status enum ('FAILED','PENDING','SUCCESS'), type enum ('CARD','DEPOSIT','IMPS','NEFT'), from_account_id bigint, to_account_id bigint, primary key (id)) engine=InnoDB;
+create table failed_transactions (id bigint not null auto_increment, occurred_at datetime(6), reason varchar(255), reference varchar(255), primary key (id)) engine=InnoDB;
+create table beneficiaries (id bigint not null auto_increment, account_number varchar(50) not null, bank_name varchar(80), beneficiary_name varchar(120) not null, beneficiary_user_id bigint, created_at datetime(6), ifsc varchar(20), internal bit not null, owner_id bigint not null, primary key (id)) engine=InnoDB;
+create table fixed_deposits (id bigint not null auto_increment, annual_interest_rate float(53) not null, auto_renew bit not null, created_at datetime(6), matured_at datetime(6), maturity_amount decimal(18,2), maturity_date date not null, principal decimal(18,2) not null, start_date date not null, status enum ('ACTIVE','CANCELLED','MATURED','RENEWED'), tenure_months integer not null, linked_account_id bigint, owner_id bigint not null, primary key (id)) engine=InnoDB;
+create table recurring_deposits (id bigint not null auto_increment, annual_interest_rate float(53) not null, created_at datetime(6), matured_at datetime(6), maturity_amount decimal(18,2), maturity_date date not null, monthly_installment decimal(18,2) not null, start_date date not null, status enum ('ACTIVE','CANCELLED','MATURED','RENEWED'), tenure_months integer not null, linked_account_id bigint, owner_id bigint not null, primary key (id)) engine=InnoDB;
+alter table users add constraint UK_r43af9ap4edm43mmtq01oddj6 unique (username);
+alter table users add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table accounts add constraint UK_3nt3yh4ltxbb6dc0p0c3gfqc1 unique (account_number);
+alter table cards add constraint UK_8kcsm6xs0dm8cm7wtsyt10sqk unique (card_number);
+alter table transactions add constraint UK_odn4v0gbx0l5n1vsfbmcqlhrb unique (reference);
+alter table accounts add constraint FKnjuop33mo69pd79ctplkck40n foreign key (user_id) references users (id);
+alter table cards add constraint FK7q1c1hb5q6c0xkjsm7ymrh2fq foreign key (owner_id) references users (id);
+alter table transactions add constraint FK2v8f9j5k2j7l7d1u1f6b3kq1a foreign key (from_account_id) references accounts (id);
+alter table transactions add constraint FKm4p1q9gq1b6vyuw0c3c5r8w2e foreign key (to_account_id) references accounts (id);
+alter table beneficiaries add constraint FK8y3p5x2w1n0q7l4k6j9h2g1f0 foreign key (owner_id) references users (id);
+alter table fixed_deposits add constraint FKq8y6r2k0m7n5c3x1v9b4d2f6a foreign key (linked_account_id) references accounts (id);
+alter table fixed_deposits add constraint FKd5s7h1j3l9k2m4n6b8v0c2x4z foreign key (owner_id) references users (id);
+alter table recurring_deposits add constraint FKa1s3d5f7g9h2j4k6l8z0x2c4v foreign key (linked_account_id) references accounts (id);
+alter table recurring_deposits add constraint FKz9x7c5v3b1n2m4l6k8j0h2g4f foreign key (owner_id) references users (id);